@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkRunner Description:
+ *  运行全部基准并附带 GC profiler 输出分配速率，命令行参数与 JMH 相同，例如
+ *  java -jar target/benchmarks.jar -p partitionCount=2000 dataSortParallel
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 11:50
+ * @since JDK 1.8
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine).addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(DataSortBenchmark.class.getSimpleName());
+        }
+        new Runner(builder.build()).run();
+    }
+}
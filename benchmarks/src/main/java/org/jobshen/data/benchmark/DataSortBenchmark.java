@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.module.DataPartition;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.module.LongDataPartition;
+import org.jobshen.data.sorts.DataSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * DataSortBenchmark Description:
+ *  DataSort 各策略在不同数据形态下的吞吐量与延迟分布
+ *  输入由 MockData.generatorIntDatas 按固定种子生成，同一组参数每次运行数据相同；
+ *  profile 为 CUSTOM 时按 overlap、duplicateRatio 生成，否则按 MockProfile 生成并忽略这两个参数
+ *  64 位键的输入由 MockData.generatorLongDatas 按相同的分区形状和 overlap 生成，附带载荷
+ *  分配速率通过 GC profiler 获得，见 BenchmarkRunner
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 11:30
+ * @since JDK 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DataSortBenchmark {
+
+    private static final long SEED = 20180726L;
+
+    private static final long EXTERNAL_MEMORY_BUDGET = 64L << 20;
+
+    @Param({"64", "1024"})
+    public int partitionCount;
+
+    @Param({"16"})
+    public int blocksPerPartition;
+
+    @Param({"256"})
+    public int blockSize;
+
+    @Param({"0.0", "0.5", "1.0"})
+    public double overlap;
+
+    @Param({"0.0", "0.1"})
+    public double duplicateRatio;
+
+    @Param({"CUSTOM"})
+    public String profile;
+
+    @Param({"false"})
+    public boolean allowDuplicate;
+
+    private List<IntDataPartition> intPartitions;
+
+    private List<DataPartition> partitions;
+
+    private List<LongDataPartition> longPartitions;
+
+    private DataSort dataSort;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        intPartitions = "CUSTOM".equals(profile)
+            ? MockData.generatorIntDatas(SEED, partitionCount, blocksPerPartition, blockSize, overlap, duplicateRatio)
+            : MockData.generatorIntDatas(SEED, MockProfile.valueOf(profile), partitionCount, blocksPerPartition, blockSize);
+        partitions = new ArrayList<>(intPartitions.size());
+        for (IntDataPartition intPartition : intPartitions) {
+            partitions.add(intPartition.toDataPartition());
+        }
+        longPartitions = MockData.generatorLongDatas(SEED, partitionCount, blocksPerPartition, blockSize, overlap, true);
+        dataSort = new DataSort();
+    }
+
+    @Benchmark
+    public Object dataSortSimple() {
+        return dataSort.dataSortSimple(partitions);
+    }
+
+    @Benchmark
+    public Object dataSort2() throws Exception {
+        return dataSort.dataSort2(partitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public Object dataSort3() throws Exception {
+        return dataSort.dataSort3(partitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public Object dataSort4() throws Exception {
+        return dataSort.dataSort4(partitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public int[] dataSortInt() {
+        return dataSort.dataSortInt(intPartitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public int[] dataSortFence() {
+        return dataSort.dataSortFence(intPartitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public long[] dataSortLong() {
+        return dataSort.dataSortLong(longPartitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public Object dataSortRecords() {
+        return dataSort.dataSortRecords(longPartitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public int[] dataSortParallel() {
+        return dataSort.dataSortParallel(intPartitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public int[] dataSortRadix() {
+        return dataSort.dataSortRadix(intPartitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public int[] dataSortMergeTree() {
+        return dataSort.dataSortMergeTree(intPartitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public int[] dataSortAdaptive() {
+        return dataSort.dataSortAdaptive(intPartitions, allowDuplicate);
+    }
+
+    @Benchmark
+    public long dataSortStreamSum() {
+        return dataSort.dataSortStream(intPartitions, allowDuplicate).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long dataSortStreamTop100() {
+        return dataSort.dataSortStream(intPartitions, allowDuplicate).limit(100).asLongStream().sum();
+    }
+
+    @Benchmark
+    public void dataSortExternal(Blackhole blackhole) throws Exception {
+        dataSort.dataSortExternal(intPartitions.iterator(), allowDuplicate, EXTERNAL_MEMORY_BUDGET,
+            (buffer, offset, length) -> blackhole.consume(buffer[offset + length - 1]));
+    }
+
+    @Benchmark
+    public void dataSortPipelined(Blackhole blackhole) throws Exception {
+        dataSort.dataSortPipelined(intPartitions, allowDuplicate,
+            (buffer, offset, length) -> blackhole.consume(buffer[offset + length - 1]));
+    }
+}
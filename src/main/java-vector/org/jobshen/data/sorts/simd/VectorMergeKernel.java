@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts.simd;
+
+import org.jobshen.data.sorts.TwoWayMergeKernel;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorMergeKernel Description:
+ *  基于 Vector API 双调归并网络的两路归并，每次输出一个向量宽度（AVX2 为 8 个、AVX-512 为 16 个）的元素：
+ *  当前向量与下一段输入的逆序拼成双调序列，min/max 分出较小和较大的一半，各自经 log W 层蝶形比较排好序，
+ *  较小的一半输出，较大的一半留作下一轮的当前向量；下一段从头元素较小的输入读取，保证已输出的元素都不大于剩余元素
+ *  不足一个向量的尾部用标量归并
+ *  由 vector profile 以 JDK 17 编译，运行需要 --add-modules jdk.incubator.vector，由 MergeKernels 反射加载
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 19:30
+ * @since JDK 17
+ */
+public final class VectorMergeKernel implements TwoWayMergeKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private static final int WIDTH = SPECIES.length();
+
+    private static final VectorShuffle<Integer> REVERSE = VectorShuffle.fromOp(SPECIES, i -> WIDTH - 1 - i);
+
+    /**
+     * 蝶形比较第 k 层：与下标异或 stride 的元素配对，下标含 stride 位的取较大值
+     */
+    private static final VectorShuffle<Integer>[] PARTNERS;
+
+    private static final VectorMask<Integer>[] UPPER;
+
+    static {
+        int levels = Integer.numberOfTrailingZeros(WIDTH);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        VectorShuffle<Integer>[] partners = new VectorShuffle[levels];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        VectorMask<Integer>[] upper = new VectorMask[levels];
+        for (int level = 0; level < levels; level++) {
+            int stride = WIDTH >>> (level + 1);
+            partners[level] = VectorShuffle.fromOp(SPECIES, i -> i ^ stride);
+            boolean[] bits = new boolean[WIDTH];
+            for (int i = 0; i < WIDTH; i++) {
+                bits[i] = (i & stride) != 0;
+            }
+            upper[level] = VectorMask.fromArray(SPECIES, bits, 0);
+        }
+        PARTNERS = partners;
+        UPPER = upper;
+    }
+
+    @Override
+    public void merge(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] dst, int dstFrom) {
+        if (aTo - aFrom < WIDTH || bTo - bFrom < WIDTH) {
+            scalarMerge(a, aFrom, aTo, b, bFrom, bTo, dst, dstFrom);
+            return;
+        }
+        IntVector current = IntVector.fromArray(SPECIES, a, aFrom);
+        IntVector next = IntVector.fromArray(SPECIES, b, bFrom);
+        int i = aFrom + WIDTH;
+        int j = bFrom + WIDTH;
+        int k = dstFrom;
+        while (true) {
+            IntVector reversed = next.rearrange(REVERSE);
+            IntVector low = sortBitonic(current.min(reversed));
+            current = sortBitonic(current.max(reversed));
+            low.intoArray(dst, k);
+            k += WIDTH;
+            boolean takeA;
+            if (i < aTo && j < bTo) {
+                takeA = a[i] <= b[j];
+            } else if (i < aTo || j < bTo) {
+                takeA = i < aTo;
+            } else {
+                break;
+            }
+            if (takeA) {
+                if (i + WIDTH > aTo) {
+                    break;
+                }
+                next = IntVector.fromArray(SPECIES, a, i);
+                i += WIDTH;
+            } else {
+                if (j + WIDTH > bTo) {
+                    break;
+                }
+                next = IntVector.fromArray(SPECIES, b, j);
+                j += WIDTH;
+            }
+        }
+        // 当前向量与两个输入的剩余部分做标量三路归并
+        int[] held = new int[WIDTH];
+        current.intoArray(held, 0);
+        int[] merged = new int[WIDTH + Math.min(aTo - i, bTo - j)];
+        if (aTo - i <= bTo - j) {
+            scalarMerge(held, 0, WIDTH, a, i, aTo, merged, 0);
+            scalarMerge(merged, 0, merged.length, b, j, bTo, dst, k);
+        } else {
+            scalarMerge(held, 0, WIDTH, b, j, bTo, merged, 0);
+            scalarMerge(merged, 0, merged.length, a, i, aTo, dst, k);
+        }
+    }
+
+    /**
+     * 将双调序列排成升序
+     */
+    private static IntVector sortBitonic(IntVector v) {
+        for (int level = 0; level < PARTNERS.length; level++) {
+            IntVector partner = v.rearrange(PARTNERS[level]);
+            v = v.min(partner).blend(v.max(partner), UPPER[level]);
+        }
+        return v;
+    }
+
+    private static void scalarMerge(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] dst, int dstFrom) {
+        int i = aFrom;
+        int j = bFrom;
+        int k = dstFrom;
+        while (i < aTo && j < bTo) {
+            int x = a[i];
+            int y = b[j];
+            if (x <= y) {
+                dst[k++] = x;
+                i++;
+            } else {
+                dst[k++] = y;
+                j++;
+            }
+        }
+        System.arraycopy(a, i, dst, k, aTo - i);
+        System.arraycopy(b, j, dst, k + aTo - i, bTo - j);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.jobshen.data.data.MockData;
 import org.jobshen.data.module.DataPartition;
+import org.jobshen.data.module.IntDataPartition;
 import org.jobshen.data.sorts.DataSort;
 
 /**
@@ -33,5 +34,10 @@ public class App {
        dataSort.dataSort4(list, false);
         end = System.currentTimeMillis();
         System.out.println("dataSort4 cost : " + (end - start));
+        final List<IntDataPartition> intList = IntDataPartition.of(list);
+        start = System.currentTimeMillis();
+        dataSort.dataSortInt(intList, false);
+        end = System.currentTimeMillis();
+        System.out.println("dataSortInt cost : " + (end - start));
     }
 }
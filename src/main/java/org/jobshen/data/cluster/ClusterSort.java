@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jobshen.data.module.DataPartition;
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.sorts.IntPartitionFences;
+import org.jobshen.data.sorts.IntRangeMerge;
+
+/**
+ * ClusterSort Description:
+ *  多进程分布式样本排序的协调者：
+ *  由数据块栅栏采样出全局分割值，把键值空间切成与工作进程个数相同的范围，分区按大小均衡地分配给各工作进程，
+ *  工作进程之间按范围交换有序片段并各自归并，协调者按范围顺序拼接各工作进程的结果
+ *  工作进程只通过 host:port 互相连接，launchLocal 在本机启动 JVM 子进程，
+ *  其它机器上的工作进程只需以 SortWorker 启动并连接到协调者地址，算法不变
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 15:30
+ * @since JDK 1.8
+ */
+public class ClusterSort implements Closeable {
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 等待工作进程连接的超时
+     */
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+
+    private final int workerCount;
+
+    private final DataInputStream[] inputs;
+
+    private final DataOutputStream[] outputs;
+
+    private final Socket[] sockets;
+
+    private final List<Process> processes;
+
+    private int nextJobId;
+
+    /**
+     * 已关闭，或某次排序通信失败后未读的结果帧使连接无法再用
+     */
+    private volatile boolean closed;
+
+    /**
+     * 启动工作进程的方式
+     */
+    @FunctionalInterface
+    public interface Launcher {
+
+        /**
+         * @param workerId 工作进程编号
+         * @param coordinator 协调者地址
+         * @return 子进程，不是本机子进程时返回 null
+         * @throws IOException 启动失败
+         */
+        Process launch(int workerId, InetSocketAddress coordinator) throws IOException;
+    }
+
+    /**
+     * @param workerCount 工作进程个数
+     * @param launcher 启动方式
+     * @param bindAddress 协调者监听地址，工作进程都在本机时为回环地址
+     * @throws IOException 启动或连接失败
+     */
+    public ClusterSort(int workerCount, Launcher launcher, InetAddress bindAddress) throws IOException {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("worker count must be positive: " + workerCount);
+        }
+        this.workerCount = workerCount;
+        this.inputs = new DataInputStream[workerCount];
+        this.outputs = new DataOutputStream[workerCount];
+        this.sockets = new Socket[workerCount];
+        this.processes = new ArrayList<>(workerCount);
+        try (ServerSocket server = new ServerSocket(0, workerCount, bindAddress)) {
+            server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            InetSocketAddress address = new InetSocketAddress(bindAddress, server.getLocalPort());
+            for (int w = 0; w < workerCount; w++) {
+                Process process = launcher.launch(w, address);
+                if (process != null) {
+                    processes.add(process);
+                }
+            }
+            String[] hosts = new String[workerCount];
+            int[] ports = new int[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                Socket socket = server.accept();
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), IO_BUFFER_SIZE));
+                Frames.Frame hello = Frames.read(in);
+                if (hello.type != Frames.HELLO) {
+                    socket.close();
+                    throw new IOException("unexpected frame type " + hello.type + " during handshake");
+                }
+                int w = hello.payload.getInt();
+                if (w < 0 || w >= workerCount || sockets[w] != null) {
+                    socket.close();
+                    throw new IOException("invalid or duplicate worker id " + w);
+                }
+                sockets[w] = socket;
+                inputs[w] = in;
+                outputs[w] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), IO_BUFFER_SIZE));
+                hosts[w] = socket.getInetAddress().getHostAddress();
+                ports[w] = hello.payload.getInt();
+            }
+            broadcastPeers(hosts, ports);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * 在本机启动 workerCount 个 JVM 子进程，使用当前进程的 java 和 classpath
+     * @param workerCount 工作进程个数
+     * @param jvmOptions 子进程 JVM 参数，如 -Xmx2g
+     * @return 协调者
+     * @throws IOException 启动或连接失败
+     */
+    public static ClusterSort launchLocal(int workerCount, String... jvmOptions) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classPath = System.getProperty("java.class.path");
+        return new ClusterSort(workerCount, (workerId, coordinator) -> {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(Arrays.asList(jvmOptions));
+            command.add("-cp");
+            command.add(classPath);
+            command.add(SortWorker.class.getName());
+            command.add(coordinator.getAddress().getHostAddress());
+            command.add(String.valueOf(coordinator.getPort()));
+            command.add(String.valueOf(workerId));
+            return new ProcessBuilder(command).inheritIO().start();
+        }, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * 工作进程以线程运行在当前 JVM 中，协议与网络交互不变，便于调试
+     * @param workerCount 工作进程个数
+     * @return 协调者
+     * @throws IOException 连接失败
+     */
+    public static ClusterSort inProcess(int workerCount) throws IOException {
+        return new ClusterSort(workerCount, (workerId, coordinator) -> {
+            Thread thread = new Thread(new SortWorker(coordinator, workerId), "sort-worker-" + workerId);
+            thread.setDaemon(true);
+            thread.start();
+            return null;
+        }, InetAddress.getLoopbackAddress());
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * 装箱分区的排序
+     * @param dataPartitions 分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     * @throws IOException 通信失败或工作进程出错
+     */
+    public int[] dataSort(List<DataPartition> dataPartitions, boolean allowDuplicate) throws IOException {
+        return sort(IntDataPartition.of(dataPartitions), allowDuplicate);
+    }
+
+    /**
+     * 同一个协调者上的排序依次执行
+     * 通信失败或工作进程出错时其它工作进程的结果帧仍留在连接中，出错的工作进程也已退出，
+     * 因此协调者随即关闭，之后的排序抛出 IllegalStateException
+     * @param dataPartitions 分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     * @throws IOException 通信失败或工作进程出错
+     */
+    public synchronized int[] sort(List<IntDataPartition> dataPartitions, boolean allowDuplicate) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("cluster sort is closed");
+        }
+        int jobId = nextJobId++;
+        List<IntPartitionFences> fences = new ArrayList<>(dataPartitions.size());
+        long total = 0;
+        for (IntDataPartition dataPartition : dataPartitions) {
+            IntPartitionFences fence = new IntPartitionFences(dataPartition);
+            fences.add(fence);
+            total += fence.size();
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many elements for a single array: " + total);
+        }
+        long[] splitters = IntRangeMerge.splitters(fences, workerCount);
+        List<List<IntDataPartition>> assignment = assign(dataPartitions, fences);
+        int[] result = new int[(int) total];
+        int size = 0;
+        try {
+            for (int w = 0; w < workerCount; w++) {
+                sendJob(w, jobId, allowDuplicate, splitters, assignment.get(w));
+            }
+            for (int w = 0; w < workerCount; w++) {
+                size = receiveResult(w, jobId, result, size);
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 分区从大到小依次分给当前元素最少的工作进程
+     */
+    private List<List<IntDataPartition>> assign(List<IntDataPartition> dataPartitions, List<IntPartitionFences> fences) {
+        Integer[] order = new Integer[dataPartitions.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(fences.get(b).size(), fences.get(a).size()));
+        List<List<IntDataPartition>> assignment = new ArrayList<>(workerCount);
+        long[] loads = new long[workerCount];
+        for (int w = 0; w < workerCount; w++) {
+            assignment.add(new ArrayList<>());
+        }
+        for (int p : order) {
+            int target = 0;
+            for (int w = 1; w < workerCount; w++) {
+                if (loads[w] < loads[target]) {
+                    target = w;
+                }
+            }
+            assignment.get(target).add(dataPartitions.get(p));
+            loads[target] += fences.get(p).size();
+        }
+        return assignment;
+    }
+
+    private void sendJob(int worker, int jobId, boolean allowDuplicate, long[] splitters, List<IntDataPartition> partitions) throws IOException {
+        DataOutputStream out = outputs[worker];
+        ByteBuffer job = ByteBuffer.allocate(2 * Integer.BYTES + 1 + splitters.length * Long.BYTES);
+        job.putInt(jobId).put((byte) (allowDuplicate ? 1 : 0)).putInt(splitters.length);
+        for (long splitter : splitters) {
+            job.putLong(splitter);
+        }
+        Frames.write(out, Frames.JOB, job);
+        int[] chunk = new int[Frames.CHUNK_SIZE];
+        for (int p = 0; p < partitions.size(); p++) {
+            for (IntDataBlock block : partitions.get(p).getDataBlocks()) {
+                // 大数据块拆成多帧，工作进程按顺序拼接为相邻的数据块
+                for (int from = 0; from < block.size(); from += Frames.CHUNK_SIZE) {
+                    int length = Math.min(Frames.CHUNK_SIZE, block.size() - from);
+                    block.copyTo(from, chunk, 0, length);
+                    Frames.writeInts(out, Frames.BLOCK, new int[] {p}, chunk, 0, length);
+                }
+            }
+        }
+        ByteBuffer end = ByteBuffer.allocate(Integer.BYTES);
+        end.putInt(jobId);
+        Frames.write(out, Frames.END, end);
+        out.flush();
+    }
+
+    private int receiveResult(int worker, int jobId, int[] result, int size) throws IOException {
+        DataInputStream in = inputs[worker];
+        while (true) {
+            Frames.Frame frame = Frames.read(in);
+            switch (frame.type) {
+                case Frames.RESULT:
+                    int[] values = frame.ints();
+                    if (size + values.length > result.length) {
+                        throw new IOException("worker " + worker + " returned more elements than sent");
+                    }
+                    System.arraycopy(values, 0, result, size, values.length);
+                    size += values.length;
+                    break;
+                case Frames.RESULT_END:
+                    if (frame.payload.getInt() != jobId) {
+                        throw new IOException("worker " + worker + " finished an unexpected job");
+                    }
+                    return size;
+                case Frames.ERROR:
+                    throw new IOException("worker " + worker + " failed: " + frame.string());
+                default:
+                    throw new IOException("unexpected frame type " + frame.type + " from worker " + worker);
+            }
+        }
+    }
+
+    private void broadcastPeers(String[] hosts, int[] ports) throws IOException {
+        int bytes = Integer.BYTES;
+        for (String host : hosts) {
+            bytes += 2 * Integer.BYTES + host.getBytes(StandardCharsets.UTF_8).length;
+        }
+        for (DataOutputStream out : outputs) {
+            ByteBuffer peers = ByteBuffer.allocate(bytes);
+            peers.putInt(workerCount);
+            for (int w = 0; w < workerCount; w++) {
+                Frames.putString(peers, hosts[w]);
+                peers.putInt(ports[w]);
+            }
+            Frames.write(out, Frames.PEERS, peers);
+            out.flush();
+        }
+    }
+
+    /**
+     * 通知工作进程退出，等待本机子进程结束，超时则强制结束
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (int w = 0; w < workerCount; w++) {
+            if (outputs[w] != null) {
+                try {
+                    Frames.write(outputs[w], Frames.SHUTDOWN);
+                    outputs[w].flush();
+                } catch (IOException e) {
+                    // 工作进程已退出
+                }
+            }
+            if (sockets[w] != null) {
+                try {
+                    sockets[w].close();
+                } catch (IOException e) {
+                    // 忽略
+                }
+            }
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.cluster;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Frames Description:
+ *  协调者与工作进程、工作进程之间的二进制帧协议，大端字节序
+ *  帧 = 类型（1 字节）+ 负载长度（int）+ 负载；数据帧每帧最多 CHUNK_SIZE 个 int
+ *
+ *  HELLO       工作进程 -> 协调者   workerId, peerPort
+ *  PEERS       协调者 -> 工作进程   workerCount, (host, port) * workerCount
+ *  JOB         协调者 -> 工作进程   jobId, allowDuplicate, splitterCount, splitters(long)
+ *  BLOCK       协调者 -> 工作进程   partition, ints    分配给该工作进程的分区数据块，partition 为本地下标
+ *  END         协调者 -> 工作进程   jobId              分区发送完毕
+ *  RUN_BLOCK   工作进程 -> 工作进程 jobId, source, run, ints    属于接收方键值范围的有序片段
+ *  RUN_END     工作进程 -> 工作进程 jobId, source
+ *  RESULT      工作进程 -> 协调者   ints               本范围归并结果
+ *  RESULT_END  工作进程 -> 协调者   jobId, count
+ *  ERROR       工作进程 -> 协调者   message
+ *  SHUTDOWN    协调者 -> 工作进程
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 14:10
+ * @since JDK 1.8
+ */
+final class Frames {
+
+    static final byte HELLO = 1;
+
+    static final byte PEERS = 2;
+
+    static final byte JOB = 3;
+
+    static final byte BLOCK = 4;
+
+    static final byte END = 5;
+
+    static final byte RUN_BLOCK = 6;
+
+    static final byte RUN_END = 7;
+
+    static final byte RESULT = 8;
+
+    static final byte RESULT_END = 9;
+
+    static final byte ERROR = 10;
+
+    static final byte SHUTDOWN = 11;
+
+    /**
+     * 数据帧最多携带的 int 个数
+     */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * 负载长度上限，超过视为协议错误
+     */
+    private static final int MAX_PAYLOAD = CHUNK_SIZE * Integer.BYTES + 1024;
+
+    private Frames() {
+    }
+
+    /**
+     * 读取到的一帧
+     */
+    static final class Frame {
+
+        final byte type;
+
+        final ByteBuffer payload;
+
+        Frame(byte type, ByteBuffer payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+        int[] ints() {
+            IntBuffer view = payload.asIntBuffer();
+            int[] values = new int[view.remaining()];
+            view.get(values);
+            return values;
+        }
+
+        String string() {
+            byte[] bytes = new byte[payload.getInt()];
+            payload.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    static Frame read(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD) {
+            throw new IOException("corrupted frame length: " + length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return new Frame(type, ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * @param type 帧类型
+     * @param payload 已写入负载的缓冲，写出 [0, position)
+     */
+    static void write(DataOutputStream out, byte type, ByteBuffer payload) throws IOException {
+        out.writeByte(type);
+        out.writeInt(payload.position());
+        out.write(payload.array(), 0, payload.position());
+    }
+
+    static void write(DataOutputStream out, byte type) throws IOException {
+        out.writeByte(type);
+        out.writeInt(0);
+    }
+
+    /**
+     * 写出带 int 头字段的数据帧
+     * @param header 头字段
+     * @param values 数据
+     * @param offset 起始下标
+     * @param length 个数，不超过 CHUNK_SIZE
+     */
+    static void writeInts(DataOutputStream out, byte type, int[] header, int[] values, int offset, int length) throws IOException {
+        ByteBuffer payload = ByteBuffer.allocate((header.length + length) * Integer.BYTES);
+        for (int field : header) {
+            payload.putInt(field);
+        }
+        payload.asIntBuffer().put(values, offset, length);
+        ((Buffer) payload).position(payload.capacity());
+        write(out, type, payload);
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    static void writeString(DataOutputStream out, byte type, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+        putString(payload, value);
+        write(out, type, payload);
+    }
+}
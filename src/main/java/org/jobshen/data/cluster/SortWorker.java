@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.sorts.IntCursor;
+import org.jobshen.data.sorts.IntMerger;
+import org.jobshen.data.sorts.IntPartitionCursor;
+import org.jobshen.data.sorts.IntPartitionFences;
+
+/**
+ * SortWorker Description:
+ *  分布式样本排序的工作进程：
+ *  接收协调者分配的分区和全局分割值，按分割值把每个分区切成各工作进程负责的有序片段，
+ *  发给对应的工作进程（属于自己的留在本地），收齐所有工作进程的片段后归并，结果发回协调者
+ *  工作进程之间单向连接：每个工作进程向其它进程各建一条发送连接，由对方的接收线程读取，读取从不等待发送，不会互相阻塞
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 14:40
+ * @since JDK 1.8
+ */
+public class SortWorker implements Runnable {
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final InetSocketAddress coordinator;
+
+    private final int workerId;
+
+    /**
+     * 按作业编号收集其它工作进程发来的片段
+     */
+    private final ConcurrentMap<Integer, Inbox> inboxes = new ConcurrentHashMap<>();
+
+    private int workerCount;
+
+    private DataOutputStream[] peers;
+
+    /**
+     * 有接收连接断开，等待中的作业无法收齐片段
+     */
+    private volatile boolean peerLost;
+
+    public SortWorker(InetSocketAddress coordinator, int workerId) {
+        this.coordinator = coordinator;
+        this.workerId = workerId;
+    }
+
+    /**
+     * 独立进程入口
+     * @param args 协调者地址、端口、工作进程编号
+     */
+    public static void main(String[] args) {
+        new SortWorker(new InetSocketAddress(args[0], Integer.parseInt(args[1])), Integer.parseInt(args[2])).run();
+    }
+
+    @Override
+    public void run() {
+        try (Socket socket = new Socket(coordinator.getAddress(), coordinator.getPort());
+             ServerSocket peerServer = new ServerSocket(0, 50, socket.getLocalAddress())) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), IO_BUFFER_SIZE));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), IO_BUFFER_SIZE));
+            ByteBuffer hello = ByteBuffer.allocate(2 * Integer.BYTES);
+            hello.putInt(workerId).putInt(peerServer.getLocalPort());
+            Frames.write(out, Frames.HELLO, hello);
+            out.flush();
+            Thread acceptor = new Thread(() -> accept(peerServer), "sort-worker-" + workerId + "-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+            try {
+                serve(in, out);
+            } catch (IOException | RuntimeException e) {
+                String message = e.toString();
+                Frames.writeString(out, Frames.ERROR, message.length() > 1024 ? message.substring(0, 1024) : message);
+                out.flush();
+                throw e;
+            } finally {
+                closePeers();
+            }
+        } catch (EOFException | SocketException e) {
+            // 协调者已关闭
+        } catch (IOException e) {
+            throw new IllegalStateException("sort worker " + workerId + " failed", e);
+        }
+    }
+
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        List<List<IntDataBlock>> partitions = new ArrayList<>();
+        int jobId = -1;
+        boolean allowDuplicate = false;
+        long[] splitters = new long[0];
+        while (true) {
+            Frames.Frame frame = Frames.read(in);
+            switch (frame.type) {
+                case Frames.PEERS:
+                    connectPeers(frame.payload);
+                    break;
+                case Frames.JOB:
+                    jobId = frame.payload.getInt();
+                    allowDuplicate = frame.payload.get() != 0;
+                    splitters = new long[frame.payload.getInt()];
+                    for (int i = 0; i < splitters.length; i++) {
+                        splitters[i] = frame.payload.getLong();
+                    }
+                    partitions.clear();
+                    break;
+                case Frames.BLOCK:
+                    int partition = frame.payload.getInt();
+                    while (partitions.size() <= partition) {
+                        partitions.add(new ArrayList<>());
+                    }
+                    partitions.get(partition).add(new IntDataBlock(frame.ints()));
+                    break;
+                case Frames.END:
+                    exchange(jobId, partitions, splitters);
+                    partitions.clear();
+                    merge(jobId, allowDuplicate, out);
+                    break;
+                case Frames.SHUTDOWN:
+                    return;
+                default:
+                    throw new IOException("unexpected frame type " + frame.type);
+            }
+        }
+    }
+
+    private void connectPeers(ByteBuffer payload) throws IOException {
+        workerCount = payload.getInt();
+        peers = new DataOutputStream[workerCount];
+        for (int w = 0; w < workerCount; w++) {
+            byte[] host = new byte[payload.getInt()];
+            payload.get(host);
+            int port = payload.getInt();
+            if (w != workerId) {
+                Socket socket = new Socket(new String(host, StandardCharsets.UTF_8), port);
+                peers[w] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), IO_BUFFER_SIZE));
+            }
+        }
+    }
+
+    /**
+     * 按分割值切分本地分区，各片段发给负责该范围的工作进程，自己负责的直接放入本地收件箱
+     */
+    private void exchange(int jobId, List<List<IntDataBlock>> partitions, long[] splitters) throws IOException {
+        Inbox own = inbox(jobId);
+        for (int p = 0; p < partitions.size(); p++) {
+            List<IntDataBlock> blocks = partitions.get(p);
+            IntPartitionFences fences = new IntPartitionFences(new IntDataPartition(new ArrayList<>(blocks)));
+            long from = 0;
+            for (int range = 0; range <= splitters.length; range++) {
+                long to = range < splitters.length ? fences.rank(splitters[range]) : fences.size();
+                if (to > from) {
+                    if (range == workerId) {
+                        own.add(workerId, p, slice(blocks, from, to));
+                    } else {
+                        send(peers[range], jobId, p, blocks, from, to);
+                    }
+                }
+                from = to;
+            }
+        }
+        for (int w = 0; w < workerCount; w++) {
+            if (w != workerId) {
+                Frames.writeInts(peers[w], Frames.RUN_END, new int[] {jobId, workerId}, new int[0], 0, 0);
+                peers[w].flush();
+            }
+        }
+        own.finish();
+    }
+
+    /**
+     * 发送分区下标区间 [from, to)，按数据块边界和 CHUNK_SIZE 分帧
+     */
+    private void send(DataOutputStream out, int jobId, int run, List<IntDataBlock> blocks, long from, long to) throws IOException {
+        int[] header = {jobId, workerId, run};
+        int[] chunk = new int[Frames.CHUNK_SIZE];
+        long start = 0;
+        for (IntDataBlock block : blocks) {
+            long end = start + block.size();
+            long low = Math.max(from, start);
+            long high = Math.min(to, end);
+            for (long position = low; position < high; position += Frames.CHUNK_SIZE) {
+                int length = (int) Math.min(Frames.CHUNK_SIZE, high - position);
+                block.copyTo((int) (position - start), chunk, 0, length);
+                Frames.writeInts(out, Frames.RUN_BLOCK, header, chunk, 0, length);
+            }
+            start = end;
+        }
+    }
+
+    private static List<IntDataBlock> slice(List<IntDataBlock> blocks, long from, long to) {
+        List<IntDataBlock> slice = new ArrayList<>();
+        long start = 0;
+        for (IntDataBlock block : blocks) {
+            long end = start + block.size();
+            long low = Math.max(from, start);
+            long high = Math.min(to, end);
+            if (low < high) {
+                int[] data = new int[(int) (high - low)];
+                block.copyTo((int) (low - start), data, 0, data.length);
+                slice.add(new IntDataBlock(data));
+            }
+            start = end;
+        }
+        return slice;
+    }
+
+    /**
+     * 等待所有工作进程的片段到齐后归并，分段发回协调者
+     */
+    private void merge(int jobId, boolean allowDuplicate, DataOutputStream out) throws IOException {
+        Inbox inbox = inbox(jobId);
+        List<List<IntDataBlock>> runs = inbox.await(workerCount);
+        inboxes.remove(jobId);
+        IntCursor[] cursors = new IntCursor[runs.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            List<IntDataBlock> run = runs.get(i);
+            cursors[i] = new IntPartitionCursor(run, 0, 0, run.size(), 0);
+        }
+        IntMerger merger = new IntMerger(cursors, allowDuplicate, true);
+        int[] chunk = new int[Frames.CHUNK_SIZE];
+        long count = 0;
+        int n;
+        while ((n = merger.drain(chunk, 0, chunk.length)) > 0) {
+            Frames.writeInts(out, Frames.RESULT, new int[0], chunk, 0, n);
+            count += n;
+        }
+        ByteBuffer end = ByteBuffer.allocate(Integer.BYTES + Long.BYTES);
+        end.putInt(jobId).putLong(count);
+        Frames.write(out, Frames.RESULT_END, end);
+        out.flush();
+    }
+
+    private void accept(ServerSocket peerServer) {
+        while (true) {
+            Socket socket;
+            try {
+                socket = peerServer.accept();
+            } catch (IOException e) {
+                return;
+            }
+            Thread reader = new Thread(() -> receive(socket), "sort-worker-" + workerId + "-receiver");
+            reader.setDaemon(true);
+            reader.start();
+        }
+    }
+
+    private void receive(Socket socket) {
+        try (Socket s = socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), IO_BUFFER_SIZE));
+            while (true) {
+                Frames.Frame frame = Frames.read(in);
+                int jobId = frame.payload.getInt();
+                int source = frame.payload.getInt();
+                if (frame.type == Frames.RUN_BLOCK) {
+                    int run = frame.payload.getInt();
+                    inbox(jobId).add(source, run, frame.ints());
+                } else if (frame.type == Frames.RUN_END) {
+                    inbox(jobId).finish();
+                } else {
+                    throw new IOException("unexpected peer frame type " + frame.type);
+                }
+            }
+        } catch (IOException e) {
+            // 对端关闭连接，正在等待片段的作业不会再收齐
+            peerLost = true;
+            for (Inbox inbox : inboxes.values()) {
+                inbox.wake();
+            }
+        }
+    }
+
+    private Inbox inbox(int jobId) {
+        return inboxes.computeIfAbsent(jobId, id -> new Inbox());
+    }
+
+    private void closePeers() {
+        if (peers == null) {
+            return;
+        }
+        for (DataOutputStream peer : peers) {
+            if (peer != null) {
+                try {
+                    peer.close();
+                } catch (IOException e) {
+                    // 忽略
+                }
+            }
+        }
+    }
+
+    /**
+     * 一个作业收到的片段，键为 (来源工作进程, 来源分区)，同一片段的数据块按到达顺序拼接
+     */
+    private final class Inbox {
+
+        private final Map<Long, List<IntDataBlock>> runs = new TreeMap<>();
+
+        private int finished;
+
+        synchronized void add(int source, int run, int[] data) {
+            runs.computeIfAbsent(key(source, run), k -> new ArrayList<>()).add(new IntDataBlock(data));
+        }
+
+        synchronized void add(int source, int run, List<IntDataBlock> blocks) {
+            runs.computeIfAbsent(key(source, run), k -> new ArrayList<>()).addAll(blocks);
+        }
+
+        synchronized void finish() {
+            finished++;
+            notifyAll();
+        }
+
+        synchronized void wake() {
+            notifyAll();
+        }
+
+        synchronized List<List<IntDataBlock>> await(int sources) throws IOException {
+            while (finished < sources) {
+                if (peerLost) {
+                    throw new IOException("peer connection lost");
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while waiting for peers", e);
+                }
+            }
+            return new ArrayList<>(runs.values());
+        }
+
+        private long key(int source, int run) {
+            return (long) source << 32 | run;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.compress;
+
+import java.util.Arrays;
+
+/**
+ * BitPacking Description:
+ *  按固定位宽将无符号 int 紧凑存入 int[]，低位在前
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 21:10
+ * @since JDK 1.8
+ */
+final class BitPacking {
+
+    private BitPacking() {
+    }
+
+    /**
+     * @param values 数据
+     * @param count 个数
+     * @return 容纳所有数据所需的最小位宽，[0, 32]
+     */
+    static int width(int[] values, int count) {
+        int or = 0;
+        for (int i = 0; i < count; i++) {
+            or |= values[i];
+        }
+        return 32 - Integer.numberOfLeadingZeros(or);
+    }
+
+    /**
+     * @return count 个 width 位数据占用的 int 个数
+     */
+    static int words(int count, int width) {
+        return (int) (((long) count * width + 31) >>> 5);
+    }
+
+    /**
+     * 写入 words(count, width) 个 int
+     * @param values 数据
+     * @param count 个数
+     * @param width 位宽
+     * @param dst 目标数组
+     * @param offset 目标起始下标
+     */
+    static void pack(int[] values, int count, int width, int[] dst, int offset) {
+        if (width == 0) {
+            return;
+        }
+        long buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < count; i++) {
+            buffer |= (values[i] & 0xFFFFFFFFL) << bits;
+            bits += width;
+            if (bits >= 32) {
+                dst[offset++] = (int) buffer;
+                buffer >>>= 32;
+                bits -= 32;
+            }
+        }
+        if (bits > 0) {
+            dst[offset] = (int) buffer;
+        }
+    }
+
+    /**
+     * @param src 打包数据
+     * @param offset 起始下标
+     * @param width 位宽
+     * @param values 解码结果
+     * @param count 个数
+     */
+    static void unpack(int[] src, int offset, int width, int[] values, int count) {
+        if (width == 0) {
+            Arrays.fill(values, 0, count, 0);
+            return;
+        }
+        long mask = (1L << width) - 1;
+        long buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < count; i++) {
+            if (bits < width) {
+                buffer |= (src[offset++] & 0xFFFFFFFFL) << bits;
+                bits += 32;
+            }
+            values[i] = (int) (buffer & mask);
+            buffer >>>= width;
+            bits -= width;
+        }
+    }
+}
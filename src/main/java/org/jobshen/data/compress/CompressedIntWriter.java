@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.compress;
+
+import java.util.Arrays;
+
+import org.jobshen.data.sorts.IntSink;
+
+import static org.jobshen.data.compress.CompressedSortedInts.BLOCK_SIZE;
+
+/**
+ * CompressedIntWriter Description:
+ *  按升序接收 int 并编码为 CompressedSortedInts，可以直接作为归并的 IntSink
+ *  只缓冲当前数据块的不同值和重复次数，满 BLOCK_SIZE 个不同值即打包
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 21:35
+ * @since JDK 1.8
+ */
+public class CompressedIntWriter implements IntSink {
+
+    private final int[] values = new int[BLOCK_SIZE];
+
+    private final int[] counts = new int[BLOCK_SIZE];
+
+    private final int[] deltas = new int[BLOCK_SIZE];
+
+    /**
+     * 当前数据块的不同值个数
+     */
+    private int runs;
+
+    private int blockCount;
+
+    private int[] firstValues = new int[16];
+
+    private int[] headers = new int[16];
+
+    private int[] wordOffsets = new int[17];
+
+    private long[] elementStarts = new long[17];
+
+    private int[] words = new int[256];
+
+    private boolean finished;
+
+    /**
+     * @param value 不小于上一个写入的值
+     */
+    public void add(int value) {
+        if (runs > 0) {
+            int last = values[runs - 1];
+            if (value == last) {
+                counts[runs - 1]++;
+                return;
+            }
+            if (value < last) {
+                throw new IllegalArgumentException("input not sorted: " + value + " after " + last);
+            }
+            if (runs == BLOCK_SIZE) {
+                flush();
+            }
+        } else if (finished) {
+            throw new IllegalStateException("writer finished");
+        }
+        values[runs] = value;
+        counts[runs++] = 0;
+    }
+
+    @Override
+    public void write(int[] buffer, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            add(buffer[i]);
+        }
+    }
+
+    /**
+     * 打包剩余数据，之后不能再写入
+     * @return 压缩序列
+     */
+    public CompressedSortedInts finish() {
+        if (runs > 0) {
+            flush();
+        }
+        finished = true;
+        return new CompressedSortedInts(blockCount, firstValues, headers, wordOffsets, elementStarts, words);
+    }
+
+    private void flush() {
+        if (finished) {
+            throw new IllegalStateException("writer finished");
+        }
+        long elements = runs;
+        for (int i = 1; i < runs; i++) {
+            deltas[i - 1] = values[i] - values[i - 1];
+        }
+        for (int i = 0; i < runs; i++) {
+            elements += counts[i];
+        }
+        int deltaWidth = BitPacking.width(deltas, runs - 1);
+        int countWidth = BitPacking.width(counts, runs);
+        int deltaWords = BitPacking.words(runs - 1, deltaWidth);
+        int countWords = BitPacking.words(runs, countWidth);
+
+        if (blockCount == firstValues.length) {
+            int capacity = blockCount * 2;
+            firstValues = Arrays.copyOf(firstValues, capacity);
+            headers = Arrays.copyOf(headers, capacity);
+            wordOffsets = Arrays.copyOf(wordOffsets, capacity + 1);
+            elementStarts = Arrays.copyOf(elementStarts, capacity + 1);
+        }
+        int offset = wordOffsets[blockCount];
+        if (offset + deltaWords + countWords > words.length) {
+            words = Arrays.copyOf(words, Math.max(words.length * 2, offset + deltaWords + countWords));
+        }
+        BitPacking.pack(deltas, runs - 1, deltaWidth, words, offset);
+        BitPacking.pack(counts, runs, countWidth, words, offset + deltaWords);
+
+        firstValues[blockCount] = values[0];
+        headers[blockCount] = CompressedSortedInts.header(runs, deltaWidth, countWidth);
+        wordOffsets[blockCount + 1] = offset + deltaWords + countWords;
+        elementStarts[blockCount + 1] = elementStarts[blockCount] + elements;
+        blockCount++;
+        runs = 0;
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.compress;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.jobshen.data.sorts.IntCursor;
+
+/**
+ * CompressedSortedInts Description:
+ *  压缩存储的有序 int 序列，由 CompressedIntWriter 生成，生成后不可变
+ *  每个数据块最多 BLOCK_SIZE 个不同值：首元素记入跳表索引，其余存相邻差值，
+ *  连续重复的元素只存一次并记录重复次数，差值和重复次数各自按块内最大位宽打包；
+ *  没有重复元素时重复次数位宽为 0，不占空间
+ *  跳表索引记录每块首元素、元素起始下标和数据偏移，随机访问只解码一个数据块
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 21:20
+ * @since JDK 1.8
+ */
+public final class CompressedSortedInts {
+
+    /**
+     * 每个数据块最多包含的不同值个数
+     */
+    public static final int BLOCK_SIZE = 128;
+
+    private static final int FORMAT_MAGIC = 0x44505343;
+
+    private final int blockCount;
+
+    /**
+     * 各数据块首元素
+     */
+    private final int[] firstValues;
+
+    /**
+     * 各数据块不同值个数、差值位宽、重复次数位宽，见 header
+     */
+    private final int[] headers;
+
+    /**
+     * wordOffsets[b] 为第 b 块在 words 中的起始下标，wordOffsets[blockCount] 为 words 有效长度
+     */
+    private final int[] wordOffsets;
+
+    /**
+     * elementStarts[b] 为第 b 块之前的元素个数，elementStarts[blockCount] 为元素总数
+     */
+    private final long[] elementStarts;
+
+    private final int[] words;
+
+    CompressedSortedInts(int blockCount, int[] firstValues, int[] headers, int[] wordOffsets, long[] elementStarts, int[] words) {
+        this.blockCount = blockCount;
+        this.firstValues = firstValues;
+        this.headers = headers;
+        this.wordOffsets = wordOffsets;
+        this.elementStarts = elementStarts;
+        this.words = words;
+    }
+
+    static int header(int runs, int deltaWidth, int countWidth) {
+        return runs | deltaWidth << 8 | countWidth << 16;
+    }
+
+    /**
+     * @return 元素总数，含重复元素
+     */
+    public long size() {
+        return elementStarts[blockCount];
+    }
+
+    public int blockCount() {
+        return blockCount;
+    }
+
+    /**
+     * @return 压缩数据及跳表索引占用的字节数
+     */
+    public long sizeInBytes() {
+        return (long) wordOffsets[blockCount] * Integer.BYTES
+            + (long) blockCount * (Integer.BYTES * 3 + Long.BYTES);
+    }
+
+    /**
+     * 随机访问，二分跳表索引后只解码一个数据块
+     * @param index 下标，[0, size())
+     * @return 元素
+     */
+    public int get(long index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + " out of range [0, " + size() + ")");
+        }
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (elementStarts[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int[] values = new int[BLOCK_SIZE];
+        int[] counts = new int[BLOCK_SIZE];
+        int runs = decode(low, values, counts);
+        long remaining = index - elementStarts[low];
+        for (int i = 0; i < runs; i++) {
+            remaining -= counts[i] + 1L;
+            if (remaining < 0) {
+                return values[i];
+            }
+        }
+        throw new IllegalStateException("corrupted block " + low);
+    }
+
+    /**
+     * 解码一个数据块
+     * @param block 数据块下标
+     * @param values 各不同值
+     * @param counts 各值的重复次数减 1
+     * @return 不同值个数
+     */
+    int decode(int block, int[] values, int[] counts) {
+        int header = headers[block];
+        int runs = header & 0xFF;
+        int deltaWidth = header >>> 8 & 0xFF;
+        int countWidth = header >>> 16 & 0xFF;
+        int offset = wordOffsets[block];
+        BitPacking.unpack(words, offset, deltaWidth, values, runs - 1);
+        BitPacking.unpack(words, offset + BitPacking.words(runs - 1, deltaWidth), countWidth, counts, runs);
+        // 差值前缀和还原为绝对值，从后往前原地移动一位
+        int value = firstValues[block];
+        for (int i = runs - 1; i > 0; i--) {
+            values[i] = values[i - 1];
+        }
+        values[0] = value;
+        for (int i = 1; i < runs; i++) {
+            value += values[i];
+            values[i] = value;
+        }
+        return runs;
+    }
+
+    /**
+     * @return 顺序解码的游标，可以作为归并输入
+     */
+    public IntCursor cursor() {
+        return new Decoder();
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        IntCursor cursor = cursor();
+        return new PrimitiveIterator.OfInt() {
+
+            private long next = cursor.next();
+
+            @Override
+            public boolean hasNext() {
+                return next != IntCursor.EXHAUSTED;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next == IntCursor.EXHAUSTED) {
+                    throw new NoSuchElementException();
+                }
+                int value = (int) next;
+                next = cursor.next();
+                return value;
+            }
+        };
+    }
+
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), size(),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * @return 解压后的数组
+     */
+    public int[] toArray() {
+        if (size() > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many elements for a single array: " + size());
+        }
+        int[] result = new int[(int) size()];
+        int[] values = new int[BLOCK_SIZE];
+        int[] counts = new int[BLOCK_SIZE];
+        int position = 0;
+        for (int b = 0; b < blockCount; b++) {
+            int runs = decode(b, values, counts);
+            for (int i = 0; i < runs; i++) {
+                for (int c = counts[i]; c >= 0; c--) {
+                    result[position++] = values[i];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按压缩格式写出，便于落盘或网络传输
+     * @param out 输出流
+     * @throws IOException 写出失败
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        int wordCount = wordOffsets[blockCount];
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(blockCount);
+        out.writeInt(wordCount);
+        for (int b = 0; b < blockCount; b++) {
+            out.writeInt(firstValues[b]);
+            out.writeInt(headers[b]);
+            out.writeInt(wordOffsets[b]);
+            out.writeLong(elementStarts[b]);
+        }
+        out.writeLong(elementStarts[blockCount]);
+        for (int i = 0; i < wordCount; i++) {
+            out.writeInt(words[i]);
+        }
+    }
+
+    /**
+     * @param in 输入流，内容由 writeTo 写出
+     * @return 压缩序列
+     * @throws IOException 读取失败或格式不正确
+     */
+    public static CompressedSortedInts readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC) {
+            throw new IOException("not a compressed sorted int stream");
+        }
+        int blockCount = in.readInt();
+        int wordCount = in.readInt();
+        if (blockCount < 0 || wordCount < 0) {
+            throw new IOException("corrupted compressed sorted int header");
+        }
+        int[] firstValues = new int[blockCount];
+        int[] headers = new int[blockCount];
+        int[] wordOffsets = new int[blockCount + 1];
+        long[] elementStarts = new long[blockCount + 1];
+        for (int b = 0; b < blockCount; b++) {
+            firstValues[b] = in.readInt();
+            headers[b] = in.readInt();
+            wordOffsets[b] = in.readInt();
+            elementStarts[b] = in.readLong();
+        }
+        wordOffsets[blockCount] = wordCount;
+        elementStarts[blockCount] = in.readLong();
+        int[] words = new int[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = in.readInt();
+        }
+        return new CompressedSortedInts(blockCount, firstValues, headers, wordOffsets, elementStarts, words);
+    }
+
+    /**
+     * 逐块解码，每块解码到两个 BLOCK_SIZE 大小的缓冲
+     */
+    private final class Decoder extends IntCursor {
+
+        private final int[] values = new int[BLOCK_SIZE];
+
+        private final int[] counts = new int[BLOCK_SIZE];
+
+        private int block;
+
+        private int runs;
+
+        private int run;
+
+        /**
+         * 当前值剩余的输出次数
+         */
+        private int repeat;
+
+        @Override
+        public long next() {
+            while (repeat == 0) {
+                if (++run >= runs) {
+                    if (block == blockCount) {
+                        return EXHAUSTED;
+                    }
+                    runs = decode(block++, values, counts);
+                    run = 0;
+                }
+                repeat = counts[run] + 1;
+            }
+            repeat--;
+            return values[run];
+        }
+    }
+}
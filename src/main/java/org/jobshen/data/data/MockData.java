@@ -18,23 +18,24 @@
 package org.jobshen.data.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
-import java.util.TreeSet;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import org.jobshen.data.module.DataBlock;
 import org.jobshen.data.module.DataPartition;
-
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.module.LongDataBlock;
+import org.jobshen.data.module.LongDataPartition;
 
 /**
  * MockData Description:
+ *  测试数据生成，每个分区使用由种子和分区下标确定的独立随机数，同一组参数总是得到相同的数据
+ *  各分区在 ForkJoinPool.commonPool() 上并行生成到 int[]，排序去重后切分数据块，结果按分区下标写入
  *
  * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
  * @version 1.0
@@ -43,52 +44,258 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
  */
 public class MockData {
 
-    public static List<DataPartition> generatorDatas(int partitionSize, int blockMaxSize, int blockMinSize, int arrayMaxSize, int arrayMinSize) throws InterruptedException {
-        int cpuSize = Runtime.getRuntime().availableProcessors();
-        ThreadPoolExecutor executor = new ThreadPoolExecutor(
-            cpuSize * 2,
-            cpuSize * 2,
-            0L,
-            TimeUnit.MILLISECONDS,
-            new LinkedBlockingDeque<>(partitionSize),
-            new ThreadFactoryBuilder().setNameFormat("data-mock-pool-%d").setDaemon(true).build(),
-            new AbortPolicy()
-        );
-        CountDownLatch countDownLatch = new CountDownLatch(partitionSize);
-        Random random = new Random();
-
-        List<DataPartition> list = new ArrayList<>(partitionSize);
-        AtomicInteger count = new AtomicInteger(0);
-        for (int i=0;i<partitionSize;i++) {
-            executor.execute(() -> {
-                TreeSet<Integer> set = new TreeSet<>();
-                DataPartition dp = new DataPartition();
-                int blockSize = random.nextInt(blockMaxSize)%(blockMaxSize-blockMinSize+1) + blockMinSize;
-                int tmp = Integer.MAX_VALUE / blockSize;
-                int tmpSize = 0;
-                ArrayList<DataBlock> blockList = new ArrayList<>(blockSize);
-                for (int j=0;j<blockSize;j++) {
-                    int min = tmp * j;
-                    int max = tmp * (j+1);
-                    DataBlock block = new DataBlock();
-                    int arraySize = random.nextInt(arrayMaxSize)%(arrayMaxSize-arrayMinSize+1) + arrayMinSize;
-                    for (int k=0;k<arraySize;k++) {
-                        set.add(random.nextInt(max)%(max-min+1) + min);
+    /**
+     * 键的取值空间 [0, Integer.MAX_VALUE)
+     */
+    private static final long SPACE = Integer.MAX_VALUE;
+
+    /**
+     * 生成元素的接口，每个分区一个实例，只在该分区的生成线程上调用
+     */
+    @FunctionalInterface
+    private interface KeySource {
+
+        long next(SplittableRandom random);
+    }
+
+    /**
+     * 随机种子，打印种子以便复现
+     * @see #generatorDatas(long, int, int, int, int, int)
+     */
+    public static List<DataPartition> generatorDatas(int partitionSize, int blockMaxSize, int blockMinSize, int arrayMaxSize, int arrayMinSize) {
+        long seed = new SplittableRandom().nextLong();
+        System.out.println("seed : " + seed);
+        return generatorDatas(seed, partitionSize, blockMaxSize, blockMinSize, arrayMaxSize, arrayMinSize);
+    }
+
+    /**
+     * 每个分区的数据块个数在 [blockMinSize, blockMaxSize] 内随机，数据块均分键范围，
+     * 每个数据块的元素个数在 [arrayMinSize, arrayMaxSize] 内随机（块内去重后可能略少），上下限颠倒时按大小交换
+     * @param seed 随机种子
+     * @param partitionSize 分区个数
+     * @param blockMaxSize 最多数据块个数
+     * @param blockMinSize 最少数据块个数
+     * @param arrayMaxSize 数据块最多元素个数
+     * @param arrayMinSize 数据块最少元素个数
+     * @return 分区
+     */
+    public static List<DataPartition> generatorDatas(long seed, int partitionSize, int blockMaxSize, int blockMinSize, int arrayMaxSize, int arrayMinSize) {
+        int blockLow = Math.min(blockMinSize, blockMaxSize);
+        int blockHigh = Math.max(blockMinSize, blockMaxSize);
+        int arrayLow = Math.min(arrayMinSize, arrayMaxSize);
+        int arrayHigh = Math.max(arrayMinSize, arrayMaxSize);
+        DataPartition[] partitions = new DataPartition[partitionSize];
+        AtomicLong count = new AtomicLong();
+        IntStream.range(0, partitionSize).parallel().forEach(p -> {
+            SplittableRandom random = random(seed, p);
+            int blockSize = blockLow + random.nextInt(blockHigh - blockLow + 1);
+            long blockSpan = SPACE / blockSize;
+            ArrayList<DataBlock> blockList = new ArrayList<>(blockSize);
+            long size = 0;
+            for (int j = 0; j < blockSize; j++) {
+                long min = blockSpan * j;
+                int[] data = new int[arrayLow + random.nextInt(arrayHigh - arrayLow + 1)];
+                for (int k = 0; k < data.length; k++) {
+                    data[k] = (int) (min + random.nextLong(blockSpan));
+                }
+                Arrays.sort(data);
+                data = distinct(data);
+                Integer[] boxed = new Integer[data.length];
+                for (int k = 0; k < data.length; k++) {
+                    boxed[k] = data[k];
+                }
+                DataBlock block = new DataBlock();
+                block.setData(boxed);
+                blockList.add(block);
+                size += data.length;
+            }
+            DataPartition dp = new DataPartition();
+            dp.setDataBlocks(blockList);
+            partitions[p] = dp;
+            count.addAndGet(size);
+        });
+        System.out.println("size : " + count.get());
+        return new ArrayList<>(Arrays.asList(partitions));
+    }
+
+    /**
+     * 按数据形态生成原始类型分区
+     * @param seed 随机种子
+     * @param profile 数据形态
+     * @param partitionSize 分区个数
+     * @param blockSize 每个分区的数据块个数
+     * @param arraySize 每个数据块的平均元素个数（去重后可能略少）
+     * @return 分区
+     */
+    public static List<IntDataPartition> generatorIntDatas(long seed, MockProfile profile, int partitionSize, int blockSize, int arraySize) {
+        switch (profile) {
+            case UNIFORM:
+                return generatorIntDatas(seed, partitionSize, blockSize, arraySize, 1.0, 0.0);
+            case HEAVY_OVERLAP:
+                return generatorIntDatas(seed, partitionSize, blockSize, arraySize, 0.9, 0.0);
+            case HEAVY_DUPLICATE:
+                return generatorIntDatas(seed, partitionSize, blockSize, arraySize, 1.0, 0.8);
+            case MOSTLY_DISJOINT:
+                return generatorIntDatas(seed, partitionSize, blockSize, arraySize, 0.05, 0.0);
+            case ZIPF:
+                // 排名 r 的概率约为 1/r：对数均匀取 [1, SPACE]
+                double logSpace = Math.log(SPACE);
+                return generate(seed, partitionSize, blockSize, arraySize,
+                    p -> random -> (long) Math.exp(random.nextDouble() * logSpace) - 1);
+            default:
+                throw new IllegalArgumentException("unknown profile: " + profile);
+        }
+    }
+
+    /**
+     * 按种子生成确定的原始类型分区，同一组参数总是得到相同的数据
+     * 分区 p 覆盖的键范围起点为 p * span * (1 - overlap)，overlap 为 0 时各分区互不相交，为 1 时全部重叠；
+     * 分区内元素排序去重后按个数均分给各数据块
+     * @param seed 随机种子
+     * @param partitionSize 分区个数
+     * @param blockSize 每个分区的数据块个数
+     * @param arraySize 每个数据块的平均元素个数（去重后可能略少）
+     * @param overlap 相邻分区键范围的重叠比例，[0, 1]
+     * @param duplicateRatio 取自分区间共享热点键的元素比例，[0, 1]，用于制造跨分区的重复元素
+     * @return 分区
+     */
+    public static List<IntDataPartition> generatorIntDatas(long seed, int partitionSize, int blockSize, int arraySize,
+                                                           double overlap, double duplicateRatio) {
+        long span = (long) (SPACE / (1 + (partitionSize - 1) * (1 - overlap)));
+        long stride = (long) (span * (1 - overlap));
+        // 热点键落在全局网格上，各分区命中相同的键；网格点个数约为每个分区元素数的 1/4
+        long hotStep = Math.max(1, span / Math.max(1, (long) blockSize * arraySize / 4));
+        return generate(seed, partitionSize, blockSize, arraySize, p -> {
+            long partitionStart = p * stride;
+            return random -> {
+                long value = partitionStart + random.nextLong(span);
+                if (duplicateRatio > 0 && random.nextDouble() < duplicateRatio) {
+                    value -= value % hotStep;
+                }
+                return value;
+            };
+        });
+    }
+
+    /**
+     * 按种子生成确定的 64 位键分区，键取自 [0, Long.MAX_VALUE)，overlap 含义同 int 版本
+     * 分区内键排序去重后按个数均分给各数据块；附带载荷时载荷为 (分区下标 << 32) | 分区内序号，模拟行号
+     * @param seed 随机种子
+     * @param partitionSize 分区个数
+     * @param blockSize 每个分区的数据块个数
+     * @param arraySize 每个数据块的平均元素个数（去重后可能略少）
+     * @param overlap 相邻分区键范围的重叠比例，[0, 1]
+     * @param withPayloads 是否附带载荷
+     * @return 分区
+     */
+    public static List<LongDataPartition> generatorLongDatas(long seed, int partitionSize, int blockSize, int arraySize,
+                                                             double overlap, boolean withPayloads) {
+        long elements = (long) blockSize * arraySize;
+        if (elements > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many elements for a single partition: " + elements);
+        }
+        long span = (long) (Long.MAX_VALUE / (1 + (partitionSize - 1) * (1 - overlap)));
+        long stride = (long) (span * (1 - overlap));
+        LongDataPartition[] partitions = new LongDataPartition[partitionSize];
+        IntStream.range(0, partitionSize).parallel().forEach(p -> {
+            SplittableRandom random = random(seed, p);
+            long partitionStart = p * stride;
+            long[] keys = new long[(int) elements];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = partitionStart + random.nextLong(span);
+            }
+            Arrays.sort(keys);
+            keys = distinct(keys);
+            ArrayList<LongDataBlock> blockList = new ArrayList<>(blockSize);
+            for (int b = 0; b < blockSize; b++) {
+                int from = (int) ((long) keys.length * b / blockSize);
+                int to = (int) ((long) keys.length * (b + 1) / blockSize);
+                long[] payloads = null;
+                if (withPayloads) {
+                    payloads = new long[to - from];
+                    for (int i = 0; i < payloads.length; i++) {
+                        payloads[i] = ((long) p << 32) | (from + i);
                     }
-                    tmpSize += arraySize;
-                    block.setData(set.toArray(new Integer[0]));
-                    blockList.add(block);
-                    set.clear();
                 }
-                dp.setDataBlocks(blockList);
-                list.add(dp);
-                count.addAndGet(tmpSize);
-                countDownLatch.countDown();
-            });
+                blockList.add(new LongDataBlock(Arrays.copyOfRange(keys, from, to), payloads));
+            }
+            partitions[p] = new LongDataPartition(blockList);
+        });
+        return new ArrayList<>(Arrays.asList(partitions));
+    }
+
+    /**
+     * 并行生成各分区：blockSize * arraySize 个元素写入 int[]，排序去重后按个数均分为数据块
+     * @param sources 按分区下标创建元素生成器
+     */
+    private static List<IntDataPartition> generate(long seed, int partitionSize, int blockSize, int arraySize,
+                                                   IntFunction<KeySource> sources) {
+        long elements = (long) blockSize * arraySize;
+        if (elements > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many elements for a single partition: " + elements);
         }
-        countDownLatch.await();
-        System.out.println("size : " + count.get());
-        executor.shutdown();
-        return list;
+        IntDataPartition[] partitions = new IntDataPartition[partitionSize];
+        IntStream.range(0, partitionSize).parallel().forEach(p -> {
+            SplittableRandom random = random(seed, p);
+            KeySource source = sources.apply(p);
+            int[] data = new int[(int) elements];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (int) source.next(random);
+            }
+            Arrays.sort(data);
+            partitions[p] = split(distinct(data), blockSize);
+        });
+        return new ArrayList<>(Arrays.asList(partitions));
+    }
+
+    /**
+     * 按个数均分为数据块，元素不足时末尾的数据块可能为空
+     */
+    private static IntDataPartition split(int[] sorted, int blockSize) {
+        ArrayList<IntDataBlock> blockList = new ArrayList<>(blockSize);
+        for (int b = 0; b < blockSize; b++) {
+            int from = (int) ((long) sorted.length * b / blockSize);
+            int to = (int) ((long) sorted.length * (b + 1) / blockSize);
+            blockList.add(new IntDataBlock(Arrays.copyOfRange(sorted, from, to)));
+        }
+        return new IntDataPartition(blockList);
+    }
+
+    /**
+     * 每个分区独立的随机数，只由种子和分区下标决定，与生成线程无关
+     * 种子先经 64 位混合函数打散：SplittableRandom 按固定步长推进内部状态，
+     * 种子相差步长整数倍的两个实例会产生错位相同的序列
+     */
+    private static SplittableRandom random(long seed, int partition) {
+        long z = seed + partition * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    private static int[] distinct(int[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    private static long[] distinct(long[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.data;
+
+/**
+ * MockProfile Description:
+ *  MockData 的数据形态
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 23:05
+ * @since JDK 1.8
+ */
+public enum MockProfile {
+
+    /**
+     * 所有分区在整个 int 非负范围内均匀取值，完全重叠，重复很少
+     */
+    UNIFORM,
+
+    /**
+     * 键按 Zipf (s = 1) 分布集中在小值附近，所有分区共享热点键，重复多且数据块疏密差异大
+     */
+    ZIPF,
+
+    /**
+     * 相邻分区键范围重叠 90%
+     */
+    HEAVY_OVERLAP,
+
+    /**
+     * 完全重叠，80% 的元素取自分区间共享的热点键
+     */
+    HEAVY_DUPLICATE,
+
+    /**
+     * 相邻分区键范围只重叠 5%，大部分数据可以整段拷贝
+     */
+    MOSTLY_DISJOINT
+}
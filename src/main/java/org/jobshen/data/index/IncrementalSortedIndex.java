@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.sorts.IntCursor;
+import org.jobshen.data.sorts.IntMerger;
+import org.jobshen.data.sorts.IntPartitionCursor;
+import org.jobshen.data.sorts.MergedIntIterator;
+import org.jobshen.data.sorts.SortedIntSpliterator;
+
+import com.google.common.collect.Lists;
+
+/**
+ * IncrementalSortedIndex Description:
+ *  增量全局有序索引（LSM 思路）：
+ *  新分区或数据块展开为一个有序段直接加入，代价只与其自身大小成正比，不重排已有数据；
+ *  有序段按大小分层（每层大小相差 4 倍），某层段数达到阈值时在后台归并成一个更大的段；
+ *  读取时拿到的是不可变快照，对快照中各段做惰性归并即为一致的全局有序视图
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 19:10
+ * @since JDK 1.8
+ */
+public class IncrementalSortedIndex {
+
+    private static final int DEFAULT_MERGE_THRESHOLD = 4;
+
+    private final boolean allowDuplicate;
+
+    private final Executor executor;
+
+    /**
+     * 同一层的段数达到该值时归并
+     */
+    private final int mergeThreshold;
+
+    private final Object publishLock = new Object();
+
+    private final Object compactionLock = new Object();
+
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    public IncrementalSortedIndex(boolean allowDuplicate) {
+        this(allowDuplicate, ForkJoinPool.commonPool(), DEFAULT_MERGE_THRESHOLD);
+    }
+
+    /**
+     * @param allowDuplicate 是否允许重复元素
+     * @param executor 执行后台归并的线程池
+     * @param mergeThreshold 同一层段数达到该值时归并，至少为 2
+     */
+    public IncrementalSortedIndex(boolean allowDuplicate, Executor executor, int mergeThreshold) {
+        if (mergeThreshold < 2) {
+            throw new IllegalArgumentException("merge threshold must be at least 2: " + mergeThreshold);
+        }
+        this.allowDuplicate = allowDuplicate;
+        this.executor = executor;
+        this.mergeThreshold = mergeThreshold;
+        this.snapshot = new Snapshot(Collections.<int[]>emptyList(), allowDuplicate);
+    }
+
+    /**
+     * 加入一个分区，分区内数据块有序且无相交，展开后即为一个有序段
+     * @param dataPartition 分区
+     */
+    public void add(IntDataPartition dataPartition) {
+        int[] run = new int[Math.toIntExact(dataPartition.size())];
+        int size = 0;
+        for (IntDataBlock block : dataPartition.getDataBlocks()) {
+            block.copyTo(0, run, size, block.size());
+            size += block.size();
+        }
+        addRun(run);
+    }
+
+    /**
+     * 加入一个有序数据块
+     * @param block 数据块
+     */
+    public void add(IntDataBlock block) {
+        int[] run = new int[block.size()];
+        block.copyTo(0, run, 0, run.length);
+        addRun(run);
+    }
+
+    /**
+     * @return 当前的不可变快照
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 在调用线程上归并，直到没有需要归并的层
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            List<int[]> selected;
+            while (!(selected = selectRuns(snapshot.runs)).isEmpty()) {
+                IntCursor[] cursors = new IntCursor[selected.size()];
+                long size = 0;
+                for (int i = 0; i < cursors.length; i++) {
+                    cursors[i] = runCursor(selected.get(i));
+                    size += selected.get(i).length;
+                }
+                int[] merged = new int[Math.toIntExact(size)];
+                int written = new IntMerger(cursors, allowDuplicate, true).drain(merged, 0, merged.length);
+                if (written < merged.length) {
+                    merged = Arrays.copyOf(merged, written);
+                }
+                synchronized (publishLock) {
+                    List<int[]> runs = new ArrayList<>(snapshot.runs.size() - selected.size() + 1);
+                    for (int[] run : snapshot.runs) {
+                        if (!containsRun(selected, run)) {
+                            runs.add(run);
+                        }
+                    }
+                    runs.add(merged);
+                    snapshot = new Snapshot(runs, allowDuplicate);
+                }
+            }
+        }
+    }
+
+    private void addRun(int[] run) {
+        if (!allowDuplicate) {
+            run = distinct(run);
+        }
+        if (run.length == 0) {
+            return;
+        }
+        synchronized (publishLock) {
+            List<int[]> runs = new ArrayList<>(snapshot.runs.size() + 1);
+            runs.addAll(snapshot.runs);
+            runs.add(run);
+            snapshot = new Snapshot(runs, allowDuplicate);
+        }
+        scheduleCompaction();
+    }
+
+    private void scheduleCompaction() {
+        if (selectRuns(snapshot.runs).isEmpty() || !compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    compact();
+                } finally {
+                    compactionScheduled.set(false);
+                }
+                // 归并期间新加入的段可能又触发了阈值
+                scheduleCompaction();
+            });
+        } catch (RuntimeException e) {
+            // 线程池拒绝时任务不会执行，不复位则之后再也不会调度后台归并
+            compactionScheduled.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * @return 段数最先达到阈值的最低层中的所有段，没有则为空
+     */
+    private List<int[]> selectRuns(List<int[]> runs) {
+        int[] counts = new int[17];
+        for (int[] run : runs) {
+            counts[tier(run)]++;
+        }
+        for (int tier = 0; tier < counts.length; tier++) {
+            if (counts[tier] >= mergeThreshold) {
+                List<int[]> selected = new ArrayList<>(counts[tier]);
+                for (int[] run : runs) {
+                    if (tier(run) == tier) {
+                        selected.add(run);
+                    }
+                }
+                return selected;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 每层大小相差 4 倍
+     */
+    private static int tier(int[] run) {
+        return (31 - Integer.numberOfLeadingZeros(Math.max(1, run.length))) >>> 1;
+    }
+
+    private static boolean containsRun(List<int[]> runs, int[] run) {
+        for (int[] r : runs) {
+            if (r == run) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] distinct(int[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    private static IntCursor runCursor(int[] run) {
+        return new IntPartitionCursor(new IntDataPartition(Lists.newArrayList(new IntDataBlock(run))));
+    }
+
+    /**
+     * 某一时刻的不可变有序段集合
+     */
+    public static final class Snapshot {
+
+        private final List<int[]> runs;
+
+        private final boolean allowDuplicate;
+
+        private Snapshot(List<int[]> runs, boolean allowDuplicate) {
+            this.runs = Collections.unmodifiableList(runs);
+            this.allowDuplicate = allowDuplicate;
+        }
+
+        /**
+         * @return 有序段个数
+         */
+        public int runCount() {
+            return runs.size();
+        }
+
+        /**
+         * @return 各有序段元素个数之和，不允许重复时为去重后个数的上限
+         */
+        public long size() {
+            long size = 0;
+            for (int[] run : runs) {
+                size += run.length;
+            }
+            return size;
+        }
+
+        /**
+         * @return 每个有序段为一个单数据块分区，可直接交给 DataSort 及查询接口
+         */
+        public List<IntDataPartition> asPartitions() {
+            List<IntDataPartition> list = new ArrayList<>(runs.size());
+            for (int[] run : runs) {
+                list.add(new IntDataPartition(Lists.newArrayList(new IntDataBlock(run))));
+            }
+            return list;
+        }
+
+        public PrimitiveIterator.OfInt iterator() {
+            IntCursor[] cursors = new IntCursor[runs.size()];
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = runCursor(runs.get(i));
+            }
+            return new MergedIntIterator(new IntMerger(cursors, allowDuplicate, true));
+        }
+
+        public IntStream stream() {
+            return StreamSupport.intStream(new SortedIntSpliterator(asPartitions(), allowDuplicate), false);
+        }
+
+        /**
+         * @return 物化的全局有序结果
+         */
+        public int[] toArray() {
+            IntCursor[] cursors = new IntCursor[runs.size()];
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = runCursor(runs.get(i));
+            }
+            int[] result = new int[Math.toIntExact(size())];
+            int written = new IntMerger(cursors, allowDuplicate, true).drain(result, 0, result.length);
+            return written == result.length ? result : Arrays.copyOf(result, written);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * MappedPartitionFile Description:
+ *  内存映射方式读取 PartitionFileWriter 写出的分区文件
+ *  只解析尾部索引，数据块为映射区域上的 IntBuffer 视图，不拷贝、不装箱，
+ *  数据页在归并真正读取时才由操作系统按需加载；数据块最小值、最大值来自索引，读取栅栏不触碰数据页
+ *  单个映射窗口不超过 1GB，数据块不跨窗口
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 10:05
+ * @since JDK 1.8
+ */
+public class MappedPartitionFile implements Closeable {
+
+    private static final long MAX_WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+
+    private final List<IntDataPartition> dataPartitions;
+
+    private final long elementCount;
+
+    private MappedPartitionFile(FileChannel channel, List<IntDataPartition> dataPartitions, long elementCount) {
+        this.channel = channel;
+        this.dataPartitions = dataPartitions;
+        this.elementCount = elementCount;
+    }
+
+    /**
+     * @param file 分区文件
+     * @return 映射后的分区文件
+     * @throws IOException 读取失败或格式错误
+     */
+    public static MappedPartitionFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return read(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static MappedPartitionFile read(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < PartitionFileFormat.HEADER_SIZE + PartitionFileFormat.TRAILER_SIZE) {
+            throw new IOException("not a partition file: too short");
+        }
+        ByteBuffer header = readFully(channel, 0, PartitionFileFormat.HEADER_SIZE);
+        if (header.getInt() != PartitionFileFormat.MAGIC || header.getInt() != PartitionFileFormat.VERSION) {
+            throw new IOException("not a partition file or unsupported version");
+        }
+        ByteBuffer trailer = readFully(channel, fileSize - PartitionFileFormat.TRAILER_SIZE, PartitionFileFormat.TRAILER_SIZE);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != PartitionFileFormat.MAGIC) {
+            throw new IOException("corrupted partition file trailer");
+        }
+        long footerSize = fileSize - PartitionFileFormat.TRAILER_SIZE - footerOffset;
+        if (footerOffset < PartitionFileFormat.HEADER_SIZE || footerSize < Integer.BYTES + Long.BYTES
+            || footerSize > Integer.MAX_VALUE) {
+            throw new IOException("corrupted partition file footer offset: " + footerOffset);
+        }
+        ByteBuffer footer = channel.map(MapMode.READ_ONLY, footerOffset, footerSize).order(ByteOrder.LITTLE_ENDIAN);
+        // 先按索引大小校验个数再分配数组，损坏的个数不会导致超大分配或读越界
+        int partitionCount = footer.getInt();
+        if (partitionCount < 0 || (long) partitionCount * Integer.BYTES > footerSize - Integer.BYTES - Long.BYTES) {
+            throw new IOException("corrupted partition count: " + partitionCount);
+        }
+        int[] blockCounts = new int[partitionCount];
+        long blockCount = 0;
+        for (int i = 0; i < partitionCount; i++) {
+            blockCounts[i] = footer.getInt();
+            if (blockCounts[i] < 0) {
+                throw new IOException("corrupted block count of partition " + i + ": " + blockCounts[i]);
+            }
+            blockCount += blockCounts[i];
+        }
+        long expectedSize = Integer.BYTES + (long) partitionCount * Integer.BYTES
+            + blockCount * PartitionFileFormat.BLOCK_ENTRY_SIZE + Long.BYTES;
+        if (expectedSize != footerSize) {
+            throw new IOException("corrupted partition file footer: " + blockCount + " blocks in " + footerSize + " bytes");
+        }
+        long[] offsets = new long[(int) blockCount];
+        int[] counts = new int[(int) blockCount];
+        int[] mins = new int[(int) blockCount];
+        int[] maxs = new int[(int) blockCount];
+        long dataEnd = PartitionFileFormat.HEADER_SIZE;
+        long total = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = footer.getLong();
+            counts[i] = footer.getInt();
+            mins[i] = footer.getInt();
+            maxs[i] = footer.getInt();
+            // 数据块依次排列在 header 与 footer 之间
+            if (offsets[i] < dataEnd || counts[i] < 0 || offsets[i] + (long) counts[i] * Integer.BYTES > footerOffset) {
+                throw new IOException("corrupted data block " + i + " at offset " + offsets[i]);
+            }
+            dataEnd = offsets[i] + (long) counts[i] * Integer.BYTES;
+            total += counts[i];
+        }
+        long elementCount = footer.getLong();
+        if (elementCount != total) {
+            throw new IOException("corrupted element count: " + elementCount + ", blocks hold " + total);
+        }
+
+        IntDataBlock[] blocks = mapBlocks(channel, footerOffset, offsets, counts, mins, maxs);
+        List<IntDataPartition> dataPartitions = new ArrayList<>(partitionCount);
+        int block = 0;
+        for (int i = 0; i < partitionCount; i++) {
+            ArrayList<IntDataBlock> list = new ArrayList<>(blockCounts[i]);
+            for (int j = 0; j < blockCounts[i]; j++) {
+                list.add(blocks[block++]);
+            }
+            dataPartitions.add(new IntDataPartition(list));
+        }
+        return new MappedPartitionFile(channel, Collections.unmodifiableList(dataPartitions), elementCount);
+    }
+
+    /**
+     * 数据块按顺序分组映射，每组不超过 MAX_WINDOW_SIZE
+     */
+    private static IntDataBlock[] mapBlocks(FileChannel channel, long dataEnd, long[] offsets, int[] counts,
+                                            int[] mins, int[] maxs) throws IOException {
+        IntDataBlock[] blocks = new IntDataBlock[offsets.length];
+        int first = 0;
+        while (first < offsets.length) {
+            long windowStart = offsets[first];
+            int last = first;
+            long windowEnd = windowStart + (long) counts[first] * Integer.BYTES;
+            while (last + 1 < offsets.length
+                && offsets[last + 1] + (long) counts[last + 1] * Integer.BYTES - windowStart <= MAX_WINDOW_SIZE) {
+                last++;
+                windowEnd = offsets[last] + (long) counts[last] * Integer.BYTES;
+            }
+            if (windowEnd - windowStart > Integer.MAX_VALUE || windowEnd > dataEnd) {
+                throw new IOException("corrupted or oversized data block at offset " + windowStart);
+            }
+            MappedByteBuffer window = channel.map(MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+            for (int i = first; i <= last; i++) {
+                ByteBuffer view = window.duplicate();
+                int from = (int) (offsets[i] - windowStart);
+                ((Buffer) view).limit(from + counts[i] * Integer.BYTES).position(from);
+                blocks[i] = new IntDataBlock(view.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer(), mins[i], maxs[i]);
+            }
+            first = last + 1;
+        }
+        return blocks;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of partition file");
+            }
+        }
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    /**
+     * @return 分区，数据块为映射视图，文件关闭后不应再访问
+     */
+    public List<IntDataPartition> getDataPartitions() {
+        return dataPartitions;
+    }
+
+    /**
+     * @return 元素总数
+     */
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * 关闭文件通道；映射区域在视图不可达后由 GC 释放
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
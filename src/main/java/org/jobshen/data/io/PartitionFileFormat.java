@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.io;
+
+/**
+ * PartitionFileFormat Description:
+ *  分区二进制文件格式，全部为小端字节序：
+ *  <pre>
+ *  header  : int magic, int version
+ *  data    : 各分区各数据块的 int 列依次排列
+ *  footer  : int partitionCount, partitionCount 个 int blockCount,
+ *            每个数据块 long offset, int count, int min, int max,
+ *            long elementCount
+ *  trailer : long footerOffset, int magic
+ *  </pre>
+ *  读取时先读尾部定位索引，数据块按索引直接映射，不需要反序列化
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 09:20
+ * @since JDK 1.8
+ */
+final class PartitionFileFormat {
+
+    /**
+     * "DPSF"
+     */
+    static final int MAGIC = 0x44505346;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 8;
+
+    static final int BLOCK_ENTRY_SIZE = 20;
+
+    static final int TRAILER_SIZE = 12;
+
+    private PartitionFileFormat() {
+    }
+}
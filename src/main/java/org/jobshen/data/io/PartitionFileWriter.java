@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.io;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * PartitionFileWriter Description:
+ *  按 PartitionFileFormat 写出分区文件
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 09:40
+ * @since JDK 1.8
+ */
+public class PartitionFileWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private PartitionFileWriter() {
+    }
+
+    /**
+     * @param file 目标文件，已存在则覆盖
+     * @param dataPartitions 分区
+     * @throws IOException 写出失败
+     */
+    public static void write(Path file, List<IntDataPartition> dataPartitions) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(PartitionFileFormat.MAGIC).putInt(PartitionFileFormat.VERSION);
+            long footerOffset = PartitionFileFormat.HEADER_SIZE;
+            for (IntDataPartition dataPartition : dataPartitions) {
+                for (IntDataBlock block : dataPartition.getDataBlocks()) {
+                    writeBlock(channel, buffer, block);
+                    footerOffset += (long) block.size() * Integer.BYTES;
+                }
+            }
+            long elementCount = 0;
+            ensure(channel, buffer, Integer.BYTES);
+            buffer.putInt(dataPartitions.size());
+            for (IntDataPartition dataPartition : dataPartitions) {
+                ensure(channel, buffer, Integer.BYTES);
+                buffer.putInt(dataPartition.getDataBlocks().size());
+            }
+            long blockOffset = PartitionFileFormat.HEADER_SIZE;
+            for (IntDataPartition dataPartition : dataPartitions) {
+                for (IntDataBlock block : dataPartition.getDataBlocks()) {
+                    int size = block.size();
+                    ensure(channel, buffer, PartitionFileFormat.BLOCK_ENTRY_SIZE);
+                    buffer.putLong(blockOffset).putInt(size)
+                        .putInt(size > 0 ? block.min() : 0).putInt(size > 0 ? block.max() : 0);
+                    blockOffset += (long) size * Integer.BYTES;
+                    elementCount += size;
+                }
+            }
+            ensure(channel, buffer, Long.BYTES + PartitionFileFormat.TRAILER_SIZE);
+            buffer.putLong(elementCount);
+            buffer.putLong(footerOffset).putInt(PartitionFileFormat.MAGIC);
+            flush(channel, buffer);
+        }
+    }
+
+    private static void writeBlock(FileChannel channel, ByteBuffer buffer, IntDataBlock block) throws IOException {
+        int size = block.size();
+        int written = 0;
+        while (written < size) {
+            ensure(channel, buffer, Integer.BYTES);
+            int n = Math.min(size - written, buffer.remaining() / Integer.BYTES);
+            if (block.hasArray()) {
+                buffer.asIntBuffer().put(block.getData(), written, n);
+                ((Buffer) buffer).position(buffer.position() + n * Integer.BYTES);
+            } else {
+                for (int i = written; i < written + n; i++) {
+                    buffer.putInt(block.get(i));
+                }
+            }
+            written += n;
+        }
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        ((Buffer) buffer).clear();
+    }
+}
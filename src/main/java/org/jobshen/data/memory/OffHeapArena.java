@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.memory;
+
+import java.io.Closeable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OffHeapArena Description:
+ *  堆外内存区，按块申请直接内存，块内顺序分配，分配出的是块上的切片视图
+ *  reset 后所有块从头复用，重复排序不再申请内存，之前分配出的缓冲内容随之被覆盖；
+ *  close 后不再分配，直接内存在所有视图都不可达后由 GC 释放，已分配出的视图始终可以安全读取
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 14:20
+ * @since JDK 1.8
+ */
+public class OffHeapArena implements Closeable {
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+
+    /**
+     * 分配按 8 字节对齐
+     */
+    private static final int ALIGNMENT = 8;
+
+    private final int chunkSize;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    /**
+     * 当前分配所在的块
+     */
+    private int current;
+
+    private boolean closed;
+
+    public OffHeapArena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize 每次申请直接内存的字节数，超过该值的分配单独成块
+     */
+    public OffHeapArena(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param bytes 字节数
+     * @return 本机字节序的堆外缓冲，position 为 0，limit 为 bytes
+     */
+    public synchronized ByteBuffer allocate(int bytes) {
+        if (closed) {
+            throw new IllegalStateException("arena closed");
+        }
+        int aligned = (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+        while (current < chunks.size()) {
+            ByteBuffer chunk = chunks.get(current);
+            if (chunk.remaining() >= aligned) {
+                return slice(chunk, bytes, aligned);
+            }
+            current++;
+        }
+        ByteBuffer chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, aligned));
+        chunks.add(chunk);
+        current = chunks.size() - 1;
+        return slice(chunk, bytes, aligned);
+    }
+
+    private static ByteBuffer slice(ByteBuffer chunk, int bytes, int aligned) {
+        int position = chunk.position();
+        ByteBuffer view = chunk.duplicate();
+        ((Buffer) view).limit(position + bytes).position(position);
+        ((Buffer) chunk).position(position + aligned);
+        return view.slice().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * @return 已申请的直接内存字节数
+     */
+    public synchronized long reserved() {
+        long reserved = 0;
+        for (ByteBuffer chunk : chunks) {
+            reserved += chunk.capacity();
+        }
+        return reserved;
+    }
+
+    /**
+     * 保留已申请的内存，从头重新分配
+     */
+    public synchronized void reset() {
+        for (ByteBuffer chunk : chunks) {
+            ((Buffer) chunk).clear();
+        }
+        current = 0;
+    }
+
+    /**
+     * 不再分配并放开对各块的引用
+     * 不显式释放直接内存：切片视图持有所在块的引用，立即释放会让仍可达的视图读到已释放的内存
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        chunks.clear();
+    }
+}
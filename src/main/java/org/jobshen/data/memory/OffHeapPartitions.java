@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.memory;
+
+import java.nio.Buffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * OffHeapPartitions Description:
+ *  将分区数据拷贝到堆外内存区，数据块变为堆外 IntBuffer 视图，堆上只剩索引对象
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 14:45
+ * @since JDK 1.8
+ */
+public class OffHeapPartitions {
+
+    private OffHeapPartitions() {
+    }
+
+    /**
+     * @param dataPartitions 分区
+     * @param arena 堆外内存区，返回的分区在其 reset 之前有效
+     * @return 堆外分区，顺序与入参一致
+     */
+    public static List<IntDataPartition> copyOf(List<IntDataPartition> dataPartitions, OffHeapArena arena) {
+        List<IntDataPartition> list = new ArrayList<>(dataPartitions.size());
+        for (IntDataPartition dataPartition : dataPartitions) {
+            ArrayList<IntDataBlock> blocks = new ArrayList<>(dataPartition.getDataBlocks().size());
+            for (IntDataBlock block : dataPartition.getDataBlocks()) {
+                blocks.add(copyOf(block, arena));
+            }
+            list.add(new IntDataPartition(blocks));
+        }
+        return list;
+    }
+
+    private static IntDataBlock copyOf(IntDataBlock block, OffHeapArena arena) {
+        int size = block.size();
+        IntBuffer buffer = arena.allocate(size * Integer.BYTES).asIntBuffer();
+        if (block.hasArray()) {
+            buffer.put(block.getData());
+        } else {
+            for (int i = 0; i < size; i++) {
+                buffer.put(i, block.get(i));
+            }
+        }
+        ((Buffer) buffer).clear();
+        return size == 0 ? new IntDataBlock(buffer, 0, 0) : new IntDataBlock(buffer, block.min(), block.max());
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.metrics;
+
+import java.util.concurrent.CancellationException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JfrSortListener Description:
+ *  将排序过程记录为 JFR 自定义事件，开启飞行记录即可在 JMC 中查看，不需要挂 profiler
+ *  Sort 事件覆盖整次排序，Phase、Task 事件记录各阶段和各并行任务的耗时，Task 事件所在线程即执行线程
+ *  需要运行在带 jdk.jfr 模块的 JDK 上（JDK 11+ 或 8u262+），只有使用本类时才会加载 JFR 相关类
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 22:20
+ * @since JDK 1.8
+ */
+public class JfrSortListener implements SortListener {
+
+    /**
+     * 排序开始与完成（或失败）在同一线程上回调
+     */
+    private final ThreadLocal<SortEvent> current = new ThreadLocal<>();
+
+    @Override
+    public void sortStarted(String strategy, int partitionCount, long elementCount, long maxPartitionSize, int queuedTasks) {
+        SortEvent event = new SortEvent();
+        event.strategy = strategy;
+        event.partitionCount = partitionCount;
+        event.elementCount = elementCount;
+        event.maxPartitionSize = maxPartitionSize;
+        event.queuedTasks = queuedTasks;
+        event.begin();
+        current.set(event);
+    }
+
+    @Override
+    public void phaseCompleted(String strategy, SortPhase phase, long nanos, long elementCount) {
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.strategy = strategy;
+            event.phase = phase.name();
+            event.time = nanos;
+            event.elementCount = elementCount;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void taskCompleted(String strategy, SortPhase phase, int task, long nanos) {
+        TaskEvent event = new TaskEvent();
+        if (event.isEnabled()) {
+            event.strategy = strategy;
+            event.phase = phase.name();
+            event.task = task;
+            event.time = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void mergeCompleted(String strategy, long comparedCount, long copiedCount) {
+        SortEvent event = current.get();
+        if (event != null) {
+            event.comparedCount += comparedCount;
+            event.copiedCount += copiedCount;
+        }
+    }
+
+    @Override
+    public void sortCompleted(String strategy, long nanos, long elementCount, long busyNanos, int parallelism) {
+        SortEvent event = current.get();
+        if (event == null) {
+            return;
+        }
+        current.remove();
+        event.end();
+        event.outputCount = elementCount;
+        event.busyTime = busyNanos;
+        event.parallelism = parallelism;
+        event.outcome = "completed";
+        event.commit();
+    }
+
+    @Override
+    public void sortFailed(String strategy, long nanos, Throwable cause) {
+        SortEvent event = current.get();
+        if (event == null) {
+            return;
+        }
+        current.remove();
+        event.end();
+        event.outcome = cause instanceof CancellationException ? "cancelled" : "failed: " + cause.getClass().getName();
+        event.commit();
+    }
+
+    @Name("org.jobshen.data.Sort")
+    @Label("Data Partition Sort")
+    @Category("DataPartitionSort")
+    static class SortEvent extends Event {
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Partition Count")
+        int partitionCount;
+
+        @Label("Element Count")
+        long elementCount;
+
+        @Label("Max Partition Size")
+        long maxPartitionSize;
+
+        @Label("Queued Tasks")
+        int queuedTasks;
+
+        @Label("Output Count")
+        long outputCount;
+
+        @Label("Compared Count")
+        long comparedCount;
+
+        @Label("Copied Count")
+        long copiedCount;
+
+        @Label("Busy Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long busyTime;
+
+        @Label("Parallelism")
+        int parallelism;
+
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("org.jobshen.data.SortPhase")
+    @Label("Data Partition Sort Phase")
+    @Category("DataPartitionSort")
+    static class PhaseEvent extends Event {
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Phase Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long time;
+
+        @Label("Element Count")
+        long elementCount;
+    }
+
+    @Name("org.jobshen.data.SortTask")
+    @Label("Data Partition Sort Task")
+    @Category("DataPartitionSort")
+    static class TaskEvent extends Event {
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Task")
+        int task;
+
+        @Label("Task Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long time;
+    }
+}
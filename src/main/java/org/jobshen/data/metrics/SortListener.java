@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.metrics;
+
+/**
+ * SortListener Description:
+ *  排序引擎的观测接口，各方法都有空的默认实现，按需覆盖
+ *  sortStarted 之后 sortCompleted 与 sortFailed 恰好回调其一
+ *  回调在排序线程上同步执行，taskCompleted 可能在线程池线程上并发调用，实现需要线程安全且足够轻量
+ *  线程利用率 = busyNanos / (sortCompleted 的 nanos * parallelism)
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 22:05
+ * @since JDK 1.8
+ */
+public interface SortListener {
+
+    /**
+     * 不做任何事，DataSort 的默认值
+     */
+    SortListener NOOP = new SortListener() {
+    };
+
+    /**
+     * @param strategy 排序方法名，如 dataSort2
+     * @param partitionCount 分区个数
+     * @param elementCount 输入元素总数
+     * @param maxPartitionSize 最大分区的元素个数，与平均值之比反映分区倾斜
+     * @param queuedTasks 开始时线程池中排队的任务数，无法获取时为 -1
+     */
+    default void sortStarted(String strategy, int partitionCount, long elementCount, long maxPartitionSize, int queuedTasks) {
+    }
+
+    /**
+     * @param strategy 排序方法名
+     * @param phase 阶段
+     * @param nanos 阶段耗时
+     * @param elementCount 阶段处理的元素个数
+     */
+    default void phaseCompleted(String strategy, SortPhase phase, long nanos, long elementCount) {
+    }
+
+    /**
+     * 并行阶段中单个任务完成，在执行任务的线程上调用
+     * @param strategy 排序方法名
+     * @param phase 阶段
+     * @param task 任务编号
+     * @param nanos 任务耗时
+     */
+    default void taskCompleted(String strategy, SortPhase phase, int task, long nanos) {
+    }
+
+    /**
+     * @param strategy 排序方法名
+     * @param comparedCount 经败者树逐个比较输出的元素个数
+     * @param copiedCount 按栅栏整段拷贝输出的元素个数
+     */
+    default void mergeCompleted(String strategy, long comparedCount, long copiedCount) {
+    }
+
+    /**
+     * @param strategy 排序方法名
+     * @param nanos 总耗时
+     * @param elementCount 输出元素个数
+     * @param busyNanos 并行任务累计耗时
+     * @param parallelism 最大并行度
+     */
+    default void sortCompleted(String strategy, long nanos, long elementCount, long busyNanos, int parallelism) {
+    }
+
+    /**
+     * 排序因取消、超时或异常未能完成，代替 sortCompleted 回调，随后异常会继续抛给调用方
+     * @param strategy 排序方法名
+     * @param nanos 开始至失败的耗时
+     * @param cause 导致失败的异常，取消或超时时为 CancellationException
+     */
+    default void sortFailed(String strategy, long nanos, Throwable cause) {
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.metrics;
+
+/**
+ * SortPhase Description:
+ *  排序过程的阶段
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 22:05
+ * @since JDK 1.8
+ */
+public enum SortPhase {
+
+    /**
+     * Integer[] 分区拆箱为 int[]
+     */
+    UNBOX,
+
+    /**
+     * 分区数据导入队列
+     */
+    BUILD_QUEUE,
+
+    /**
+     * 分组生成队列并各自归并为有序段，dataSort4 的第一级，组内的两步以任务事件分别上报
+     */
+    GROUP_MERGE,
+
+    /**
+     * 采样分割值、按栅栏切分区间
+     */
+    SPLIT,
+
+    /**
+     * 流水线加载线程从分区或文件读入环形缓冲，与归并同时进行，以任务事件上报
+     */
+    LOAD,
+
+    /**
+     * 归并
+     */
+    MERGE,
+
+    /**
+     * 分区数据拷贝到一个连续数组
+     */
+    GATHER,
+
+    /**
+     * 基数排序的各趟统计与分配
+     */
+    RADIX,
+
+    /**
+     * 并行归并后合并去重留下的空隙，或基数排序后去重
+     */
+    COMPACT,
+
+    /**
+     * 结果装箱为 Integer[]
+     */
+    BOX
+}
@@ -22,7 +22,7 @@ import lombok.Setter;
 
 /**
  * DataBlock Description:
- *  有序数组 long
+ *  有序数组 Integer，原始类型版本见 IntDataBlock，64 位键及键 + 载荷记录见 LongDataBlock
  *
  * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
  * @version 1.0
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.module;
+
+import java.nio.Buffer;
+import java.nio.IntBuffer;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * IntDataBlock Description:
+ *  有序数组 int，DataBlock 的原始类型版本，避免装箱
+ *  数据可以是堆内 int[]，也可以是 IntBuffer 视图（内存映射文件等），后者 data 为 null
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 10:12
+ * @since JDK 1.8
+ */
+@Setter
+@Getter
+public class IntDataBlock {
+
+    /**
+     * 有序数组
+     */
+    private int[] data;
+
+    /**
+     * 有序数组视图，data 为 null 时使用
+     */
+    private IntBuffer buffer;
+
+    /**
+     * 视图数据块的最小值、最大值，来自索引，避免为读取栅栏访问数据
+     */
+    private int bufferMin;
+
+    private int bufferMax;
+
+    public IntDataBlock() {
+    }
+
+    public IntDataBlock(int[] data) {
+        this.data = data;
+    }
+
+    /**
+     * @param buffer 有序数组视图，position 为 0，limit 为元素个数
+     * @param min 最小值
+     * @param max 最大值
+     */
+    public IntDataBlock(IntBuffer buffer, int min, int max) {
+        this.buffer = buffer;
+        this.bufferMin = min;
+        this.bufferMax = max;
+    }
+
+    /**
+     * @return 是否由堆内 int[] 存储
+     */
+    public boolean hasArray() {
+        return data != null;
+    }
+
+    public int size() {
+        return data != null ? data.length : buffer.limit();
+    }
+
+    public int get(int index) {
+        return data != null ? data[index] : buffer.get(index);
+    }
+
+    /**
+     * 将 [from, from + length) 拷贝到 dst
+     * @param from 起始下标
+     * @param dst 目标数组
+     * @param offset 目标起始下标
+     * @param length 个数
+     */
+    public void copyTo(int from, int[] dst, int offset, int length) {
+        if (data != null) {
+            System.arraycopy(data, from, dst, offset, length);
+        } else {
+            IntBuffer view = buffer.duplicate();
+            ((Buffer) view).position(from);
+            view.get(dst, offset, length);
+        }
+    }
+
+    /**
+     * 最小值，调用前需保证数据块非空
+     */
+    public int min() {
+        return data != null ? data[0] : bufferMin;
+    }
+
+    /**
+     * 最大值，调用前需保证数据块非空
+     */
+    public int max() {
+        return data != null ? data[data.length - 1] : bufferMax;
+    }
+
+    /**
+     * 从 Integer[] 数据块拆箱
+     * @param dataBlock 数据块
+     * @return 原始类型数据块
+     */
+    public static IntDataBlock of(DataBlock dataBlock) {
+        Integer[] boxed = dataBlock.getData();
+        int[] data = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            data[i] = boxed[i];
+        }
+        return new IntDataBlock(data);
+    }
+
+    /**
+     * 装箱为 Integer[] 数据块
+     * @return 数据块
+     */
+    public DataBlock toDataBlock() {
+        Integer[] boxed = new Integer[size()];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = get(i);
+        }
+        DataBlock dataBlock = new DataBlock();
+        dataBlock.setData(boxed);
+        return dataBlock;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.module;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * IntDataPartition Description:
+ *  有序不重复 不一定连续，DataPartition 的原始类型版本
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 10:20
+ * @since JDK 1.8
+ */
+@Setter
+@Getter
+public class IntDataPartition {
+
+    /**
+     * 根据数组下标 从小到大，无相交
+     */
+    private ArrayList<IntDataBlock> dataBlocks;
+
+    public IntDataPartition() {
+    }
+
+    public IntDataPartition(ArrayList<IntDataBlock> dataBlocks) {
+        this.dataBlocks = dataBlocks;
+    }
+
+    /**
+     * @return 分区内元素总数
+     */
+    public long size() {
+        long size = 0;
+        for (IntDataBlock dataBlock : dataBlocks) {
+            size += dataBlock.size();
+        }
+        return size;
+    }
+
+    /**
+     * 从 Integer[] 分区拆箱
+     * @param dataPartition 分区
+     * @return 原始类型分区
+     */
+    public static IntDataPartition of(DataPartition dataPartition) {
+        ArrayList<IntDataBlock> blocks = new ArrayList<>(dataPartition.getDataBlocks().size());
+        for (DataBlock dataBlock : dataPartition.getDataBlocks()) {
+            blocks.add(IntDataBlock.of(dataBlock));
+        }
+        return new IntDataPartition(blocks);
+    }
+
+    /**
+     * 批量拆箱
+     * @param dataPartitions 分区
+     * @return 原始类型分区，顺序与入参一致
+     */
+    public static List<IntDataPartition> of(List<DataPartition> dataPartitions) {
+        List<IntDataPartition> list = new ArrayList<>(dataPartitions.size());
+        for (DataPartition dataPartition : dataPartitions) {
+            list.add(of(dataPartition));
+        }
+        return list;
+    }
+
+    /**
+     * 装箱为 Integer[] 分区
+     * @return 分区
+     */
+    public DataPartition toDataPartition() {
+        ArrayList<DataBlock> blocks = new ArrayList<>(dataBlocks.size());
+        for (IntDataBlock dataBlock : dataBlocks) {
+            blocks.add(dataBlock.toDataBlock());
+        }
+        DataPartition dataPartition = new DataPartition();
+        dataPartition.setDataBlocks(blocks);
+        return dataPartition;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.module;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * LongDataBlock Description:
+ *  有序数组 long，按 64 位键排序；可以附带与键一一对应的载荷（如行号），以两个平行的 long[] 存储，
+ *  不为每条记录创建对象
+ *  没有载荷时 payloads 为 null
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 21:10
+ * @since JDK 1.8
+ */
+@Setter
+@Getter
+public class LongDataBlock {
+
+    /**
+     * 有序键
+     */
+    private long[] keys;
+
+    /**
+     * 载荷，payloads[i] 属于 keys[i]
+     */
+    private long[] payloads;
+
+    public LongDataBlock() {
+    }
+
+    public LongDataBlock(long[] keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * @param keys 有序键
+     * @param payloads 载荷，长度与 keys 相同
+     */
+    public LongDataBlock(long[] keys, long[] payloads) {
+        if (payloads != null && payloads.length != keys.length) {
+            throw new IllegalArgumentException("payloads length " + payloads.length + " does not match keys length " + keys.length);
+        }
+        this.keys = keys;
+        this.payloads = payloads;
+    }
+
+    /**
+     * @return 是否附带载荷
+     */
+    public boolean hasPayloads() {
+        return payloads != null;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public long getKey(int index) {
+        return keys[index];
+    }
+
+    public long getPayload(int index) {
+        return payloads[index];
+    }
+
+    /**
+     * 最小键，调用前需保证数据块非空
+     */
+    public long min() {
+        return keys[0];
+    }
+
+    /**
+     * 最大键，调用前需保证数据块非空
+     */
+    public long max() {
+        return keys[keys.length - 1];
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.module;
+
+import java.util.ArrayList;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * LongDataPartition Description:
+ *  有序 不一定连续，DataPartition 的 64 位键版本，数据块可以附带载荷
+ *  同一分区内的数据块要么都有载荷，要么都没有
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 21:15
+ * @since JDK 1.8
+ */
+@Setter
+@Getter
+public class LongDataPartition {
+
+    /**
+     * 根据数组下标 从小到大，无相交
+     */
+    private ArrayList<LongDataBlock> dataBlocks;
+
+    public LongDataPartition() {
+    }
+
+    public LongDataPartition(ArrayList<LongDataBlock> dataBlocks) {
+        this.dataBlocks = dataBlocks;
+    }
+
+    /**
+     * @return 分区内元素总数
+     */
+    public long size() {
+        long size = 0;
+        for (LongDataBlock dataBlock : dataBlocks) {
+            size += dataBlock.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return 是否附带载荷，没有数据块时为 false
+     */
+    public boolean hasPayloads() {
+        return !dataBlocks.isEmpty() && dataBlocks.get(0).hasPayloads();
+    }
+
+    /**
+     * 从 int 分区扩展为 64 位键分区，不带载荷
+     * @param dataPartition 分区
+     * @return 64 位键分区
+     */
+    public static LongDataPartition of(IntDataPartition dataPartition) {
+        ArrayList<LongDataBlock> blocks = new ArrayList<>(dataPartition.getDataBlocks().size());
+        for (IntDataBlock dataBlock : dataPartition.getDataBlocks()) {
+            long[] keys = new long[dataBlock.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = dataBlock.get(i);
+            }
+            blocks.add(new LongDataBlock(keys));
+        }
+        return new LongDataPartition(blocks);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.jobshen.data.module.DataPartition;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.sorts.IntCursor;
+import org.jobshen.data.sorts.IntMerger;
+import org.jobshen.data.sorts.IntPartitionFences;
+import org.jobshen.data.sorts.MergedIntIterator;
+
+/**
+ * PartitionQuery Description:
+ *  不做全局排序，直接在有序分区上回答区间、计数、排名和第 k 小查询
+ *  计数基于数据块栅栏索引，每个分区 O(log B + log n)；第 k 小使用多序列选择，每轮至少排除四分之一候选元素
+ *  统计口径为所有分区元素的多重集合，即 allowDuplicate = true 时的排序结果；
+ *  索引只在构造时建立一次，同一批分区上的多次查询应复用同一个实例
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 20:30
+ * @since JDK 1.8
+ */
+public class PartitionQuery {
+
+    private final IntPartitionFences[] fences;
+
+    private final long size;
+
+    public PartitionQuery(List<IntDataPartition> dataPartitions) {
+        this.fences = new IntPartitionFences[dataPartitions.size()];
+        long size = 0;
+        for (int i = 0; i < fences.length; i++) {
+            fences[i] = new IntPartitionFences(dataPartitions.get(i));
+            size += fences[i].size();
+        }
+        this.size = size;
+    }
+
+    /**
+     * 从 Integer[] 分区建立查询，拆箱为线性开销
+     * @param dataPartitions 分区
+     * @return 查询
+     */
+    public static PartitionQuery of(List<DataPartition> dataPartitions) {
+        return new PartitionQuery(IntDataPartition.of(dataPartitions));
+    }
+
+    /**
+     * @return 元素总数
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return 最小值，没有元素时为 Integer.MAX_VALUE
+     */
+    public int min() {
+        int min = Integer.MAX_VALUE;
+        for (IntPartitionFences fence : fences) {
+            min = Math.min(min, fence.min());
+        }
+        return min;
+    }
+
+    /**
+     * @return 最大值，没有元素时为 Integer.MIN_VALUE
+     */
+    public int max() {
+        int max = Integer.MIN_VALUE;
+        for (IntPartitionFences fence : fences) {
+            max = Math.max(max, fence.max());
+        }
+        return max;
+    }
+
+    /**
+     * 排名，即全局排序后 value 第一次出现的下标
+     * @param value 目标值
+     * @return 严格小于 value 的元素个数
+     */
+    public long countBelow(long value) {
+        long count = 0;
+        for (IntPartitionFences fence : fences) {
+            count += fence.rank(value);
+        }
+        return count;
+    }
+
+    /**
+     * @param from 起始值
+     * @param to 结束值（不含）
+     * @return [from, to) 内的元素个数
+     */
+    public long count(long from, long to) {
+        if (from >= to) {
+            return 0;
+        }
+        long count = 0;
+        for (IntPartitionFences fence : fences) {
+            count += fence.rank(to) - fence.rank(from);
+        }
+        return count;
+    }
+
+    /**
+     * 第 k 小元素（从 0 开始），即全局排序后下标 k 处的元素
+     * 每个分区维护候选窗口，取各窗口中位数的加权中位数为枢轴，按枢轴的排名收缩窗口，
+     * 枢轴左右两侧都至少有四分之一候选元素，O(log N) 轮后命中
+     * @param k 下标，[0, size())
+     * @return 元素
+     */
+    public int select(long k) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("index " + k + " out of range [0, " + size + ")");
+        }
+        int n = fences.length;
+        long[] low = new long[n];
+        long[] high = new long[n];
+        for (int i = 0; i < n; i++) {
+            high[i] = fences[i].size();
+        }
+        // 低 32 位为分区下标，高 32 位为中位数，排序后即按中位数有序
+        long[] medians = new long[n];
+        while (true) {
+            int count = 0;
+            long remaining = 0;
+            for (int i = 0; i < n; i++) {
+                long width = high[i] - low[i];
+                if (width > 0) {
+                    int median = fences[i].get(low[i] + width / 2);
+                    medians[count++] = ((long) median << 32) | i;
+                    remaining += width;
+                }
+            }
+            Arrays.sort(medians, 0, count);
+            int pivot = weightedMedian(medians, count, low, high, remaining);
+
+            long below = 0;
+            long equal = 0;
+            for (int i = 0; i < n; i++) {
+                if (low[i] == high[i]) {
+                    continue;
+                }
+                long lt = clamp(fences[i].rank(pivot), low[i], high[i]);
+                long le = clamp(fences[i].rank((long) pivot + 1), low[i], high[i]);
+                below += lt - low[i];
+                equal += le - lt;
+            }
+            if (k >= below && k < below + equal) {
+                return pivot;
+            }
+            boolean left = k < below;
+            if (!left) {
+                k -= below + equal;
+            }
+            for (int i = 0; i < n; i++) {
+                if (low[i] == high[i]) {
+                    continue;
+                }
+                if (left) {
+                    high[i] = clamp(fences[i].rank(pivot), low[i], high[i]);
+                } else {
+                    low[i] = clamp(fences[i].rank((long) pivot + 1), low[i], high[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param from 起始值
+     * @param to 结束值（不含）
+     * @param allowDuplicate 是否保留重复元素
+     * @return [from, to) 内的元素，升序
+     */
+    public int[] range(long from, long to, boolean allowDuplicate) {
+        long count = count(from, to);
+        if (count > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many elements for a single array: " + count);
+        }
+        int[] result = new int[(int) count];
+        int written = merger(from, to, allowDuplicate).drain(result, 0, result.length);
+        return written == result.length ? result : Arrays.copyOf(result, written);
+    }
+
+    /**
+     * 惰性遍历区间，只读取实际消费的部分
+     * @param from 起始值
+     * @param to 结束值（不含）
+     * @param allowDuplicate 是否保留重复元素
+     * @return [from, to) 内的元素流，升序
+     */
+    public IntStream rangeStream(long from, long to, boolean allowDuplicate) {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        Spliterator.OfInt spliterator = allowDuplicate
+            ? Spliterators.spliterator(new MergedIntIterator(merger(from, to, true)), count(from, to), characteristics)
+            : Spliterators.spliteratorUnknownSize(new MergedIntIterator(merger(from, to, false)),
+                characteristics | Spliterator.DISTINCT);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    private IntMerger merger(long from, long to, boolean allowDuplicate) {
+        IntCursor[] cursors = new IntCursor[fences.length];
+        for (int i = 0; i < fences.length; i++) {
+            long start = fences[i].rank(from);
+            cursors[i] = fences[i].cursor(start, Math.max(start, fences[i].rank(to)));
+        }
+        return new IntMerger(cursors, allowDuplicate, true);
+    }
+
+    /**
+     * 以窗口大小为权重的中位数，左右两侧的窗口各有一半元素位于枢轴同侧
+     */
+    private static int weightedMedian(long[] medians, int count, long[] low, long[] high, long remaining) {
+        long accumulated = 0;
+        for (int j = 0; j < count; j++) {
+            int i = (int) medians[j];
+            accumulated += high[i] - low[i];
+            if (accumulated * 2 >= remaining) {
+                return (int) (medians[j] >> 32);
+            }
+        }
+        return (int) (medians[count - 1] >> 32);
+    }
+
+    private static long clamp(long value, long low, long high) {
+        return Math.max(low, Math.min(high, value));
+    }
+}
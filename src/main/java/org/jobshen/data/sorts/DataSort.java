@@ -17,27 +17,40 @@
 
 package org.jobshen.data.sorts;
 
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
 import java.util.TreeSet;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
+import org.jobshen.data.compress.CompressedIntWriter;
+import org.jobshen.data.compress.CompressedSortedInts;
+import org.jobshen.data.memory.OffHeapArena;
+import org.jobshen.data.metrics.SortListener;
+import org.jobshen.data.metrics.SortPhase;
 import org.jobshen.data.module.DataBlock;
 import org.jobshen.data.module.DataPartition;
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.module.LongDataBlock;
+import org.jobshen.data.module.LongDataPartition;
 
 import com.google.common.collect.Lists;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * DataSort Description:
@@ -49,6 +62,62 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
  */
 public class DataSort {
 
+    /**
+     * 分段归并（堆外、压缩输出）时堆内中转缓冲的元素个数
+     */
+    private static final int CHUNK_SIZE = 1 << 13;
+
+    /**
+     * 并行归并时每个区间的最少元素个数
+     */
+    private static final int MIN_RANGE_SIZE = 1 << 16;
+
+    /**
+     * 执行并行任务的共享线程池，不由 DataSort 关闭
+     */
+    private final Executor executor;
+
+    /**
+     * 单次排序最多同时占用的线程数，含调用线程
+     */
+    private final int parallelism;
+
+    /**
+     * 各阶段耗时、元素个数、比较与整段拷贝计数的接收方
+     */
+    private final SortListener listener;
+
+    /**
+     * 使用 ForkJoinPool.commonPool()，并行度为 CPU 核数
+     */
+    public DataSort() {
+        this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 长期持有的排序引擎，并发的排序请求共享同一个线程池
+     * @param executor 线程池，可以是固定线程池、ForkJoinPool 或虚拟线程执行器，见 DataSortExecutors
+     * @param parallelism 单次排序最多同时占用的线程数，含调用线程
+     */
+    public DataSort(Executor executor, int parallelism) {
+        this(executor, parallelism, SortListener.NOOP);
+    }
+
+    /**
+     * @param executor 线程池
+     * @param parallelism 单次排序最多同时占用的线程数，含调用线程
+     * @param listener 观测回调，覆盖返回完整结果的排序方法，惰性迭代与外部排序不上报
+     * @see org.jobshen.data.metrics.JfrSortListener
+     */
+    public DataSort(Executor executor, int parallelism, SortListener listener) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.listener = listener;
+    }
+
     /**
      * 直接将所有数据导入TreeSet，利用TreeSet的排序功能进行排序
      * @param dataPartitions    dataPartitions x个分区
@@ -68,8 +137,7 @@ public class DataSort {
     }
 
     /**
-     *将X个分区数据分别导入无界队列（FIFO）中，分区中数据是有序的，则队列中数据也是有序的
-     * 仍然使用TreeSet排序，但是此时TreeSet中数据量要小很多，排序会更快，计算完一部分，则导出结果，清空TreeSet
+     * 将X个分区拆箱为 int[] 数据块后归并，结果装箱返回
      * @param dataPartitions    dataPartitions x个分区
      * DataPartition 为包含一个 DataBlock 集合的对象，
      * DataBlock 为有序数组结构
@@ -77,201 +145,711 @@ public class DataSort {
      * @param allowDuplicate 是否允许重复元素
      * @return 排序结果
      * @throws Exception    忽略异常
+     * @see #dataSortInt(List, boolean)
      */
     public Integer[] dataSort2(List<DataPartition> dataPartitions, boolean allowDuplicate) throws Exception {
-        // 生成队列
-        int listSize = 0;
-        List<LinkedBlockingQueue<Integer>> partitionQueueList = new ArrayList<>(dataPartitions.size());
-        for (DataPartition dataPartition : dataPartitions) {
-            LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
-            for (int j = 0; j < dataPartition.getDataBlocks().size(); j++) {
-                DataBlock dataBlock = dataPartition.getDataBlocks().get(j);
-                for (int k = 0; k < dataBlock.getData().length; k++) {
-                    queue.put(dataBlock.getData()[k]);
+        SortTrace trace = SortTrace.startBoxed(listener, "dataSort2", executor, dataPartitions);
+        try {
+            List<IntDataPartition> intDataPartitions = IntDataPartition.of(dataPartitions);
+            trace.phase(SortPhase.UNBOX);
+            int[] sorted = merge(intDataPartitions, allowDuplicate, false, trace);
+            trace.phase(SortPhase.MERGE, sorted.length);
+            Integer[] result = box(sorted);
+            trace.phase(SortPhase.BOX, result.length);
+            trace.finish(result.length, 1);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 原始类型分区直接归并到预分配的 int[] 中，不经过队列，也不产生装箱对象
+     * @param dataPartitions    dataPartitions x个分区
+     * IntDataPartition 为包含一个 IntDataBlock 集合的对象，
+     * IntDataBlock 为有序 int[] 结构
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     */
+    public int[] dataSortInt(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        SortTrace trace = SortTrace.start(listener, "dataSortInt", executor, dataPartitions);
+        try {
+            int[] result = merge(dataPartitions, allowDuplicate, false, trace);
+            trace.phase(SortPhase.MERGE, result.length);
+            trace.finish(result.length, 1);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 与 dataSortInt 相同，但利用数据块有序且无相交的特点：
+     * 以数据块最大值为栅栏，当前数据块中小于其它分区头元素的部分直接整段拷贝，
+     * 分区键范围大多不相交时可以省去绝大部分逐个比较
+     * 要求每个数据块内严格递增
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     */
+    public int[] dataSortFence(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        SortTrace trace = SortTrace.start(listener, "dataSortFence", executor, dataPartitions);
+        try {
+            int[] result = merge(dataPartitions, allowDuplicate, true, trace);
+            trace.phase(SortPhase.MERGE, result.length);
+            trace.finish(result.length, 1);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 64 位键归并，只输出键，载荷即使存在也忽略
+     * 以数据块最大键为栅栏整段拷贝，不允许重复时要求每个数据块内键严格递增
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     * @see LongKeys
+     */
+    public long[] dataSortLong(List<LongDataPartition> dataPartitions, boolean allowDuplicate) {
+        SortTrace trace = SortTrace.startLong(listener, "dataSortLong", executor, dataPartitions);
+        try {
+            long[] result = new long[totalLongSize(dataPartitions)];
+            LongMerger merger = new LongMerger(longCursors(dataPartitions), allowDuplicate, true);
+            int size = merger.drain(result, 0, result.length);
+            trace.merged(merger);
+            result = size == result.length ? result : Arrays.copyOf(result, size);
+            trace.phase(SortPhase.MERGE, size);
+            trace.finish(size, 1);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 键 + 载荷记录归并，载荷随键移动，结果同样以平行的 long[] 存放
+     * 以数据块最大键为栅栏整段拷贝，不允许重复时每个键保留最先输出的记录，并要求每个数据块内键严格递增
+     * @param dataPartitions    dataPartitions x个分区，非空分区都必须附带载荷
+     * @param allowDuplicate 是否允许重复键
+     * @return 排序结果，键及对应载荷
+     */
+    public LongDataBlock dataSortRecords(List<LongDataPartition> dataPartitions, boolean allowDuplicate) {
+        for (int p = 0; p < dataPartitions.size(); p++) {
+            for (LongDataBlock dataBlock : dataPartitions.get(p).getDataBlocks()) {
+                if (!dataBlock.hasPayloads() && dataBlock.size() > 0) {
+                    throw new IllegalArgumentException("partition " + p + " has blocks without payloads");
+                }
+            }
+        }
+        SortTrace trace = SortTrace.startLong(listener, "dataSortRecords", executor, dataPartitions);
+        try {
+            int total = totalLongSize(dataPartitions);
+            long[] keys = new long[total];
+            long[] payloads = new long[total];
+            LongMerger merger = new LongMerger(longCursors(dataPartitions), allowDuplicate, true);
+            int size = merger.drain(keys, payloads, 0, total);
+            trace.merged(merger);
+            LongDataBlock result = size == total
+                ? new LongDataBlock(keys, payloads)
+                : new LongDataBlock(Arrays.copyOf(keys, size), Arrays.copyOf(payloads, size));
+            trace.phase(SortPhase.MERGE, size);
+            trace.finish(size, 1);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 只读取数据块栅栏和少量采样，给出 dataSortAdaptive 将采用的执行计划，不排序
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 执行计划，explain() 输出选择依据
+     */
+    public SortPlan explain(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        return SortPlanner.plan(SortStatistics.of(dataPartitions), allowDuplicate, parallelism);
+    }
+
+    /**
+     * 按分区统计自动选择执行方式
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     * @see #explain(List, boolean)
+     */
+    public int[] dataSortAdaptive(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        return dataSortAdaptive(dataPartitions, explain(dataPartitions, allowDuplicate));
+    }
+
+    /**
+     * 按给定的执行计划排序，计划须由同一组分区得到
+     * @param dataPartitions    dataPartitions x个分区
+     * @param plan 执行计划
+     * @return 排序结果
+     */
+    public int[] dataSortAdaptive(List<IntDataPartition> dataPartitions, SortPlan plan) {
+        boolean allowDuplicate = plan.isAllowDuplicate();
+        switch (plan.getStrategy()) {
+            case CONCAT:
+                return dataSortConcat(dataPartitions, plan.getStatistics().disjointOrder());
+            case LOSER_TREE_MERGE:
+                return dataSortInt(dataPartitions, allowDuplicate);
+            case FENCE_MERGE:
+                return dataSortFence(dataPartitions, allowDuplicate);
+            case PARALLEL_RANGE_MERGE:
+                return dataSortParallel(dataPartitions, allowDuplicate);
+            case RADIX:
+                return dataSortRadix(dataPartitions, allowDuplicate);
+            case MERGE_TREE:
+                return dataSortMergeTree(dataPartitions, allowDuplicate);
+            default:
+                throw new IllegalArgumentException("unsupported strategy: " + plan.getStrategy());
+        }
+    }
+
+    /**
+     * 按键值范围切分后在共享线程池上并行归并
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     * @see #dataSortParallel(List, boolean, SortContext)
+     */
+    public int[] dataSortParallel(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        return dataSortParallel(dataPartitions, allowDuplicate, SortContext.create());
+    }
+
+    /**
+     * 按键值范围切分的并行归并：
+     * 采样选出分割值，各分区二分出切分点，前缀和得到各区间的输出偏移，
+     * 各区间在共享线程池上独立归并到同一个结果数组，最后合并去重留下的空隙
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @param context 取消与截止时间
+     * @return 排序结果
+     * @throws java.util.concurrent.CancellationException 已取消或超时
+     */
+    public int[] dataSortParallel(List<IntDataPartition> dataPartitions, boolean allowDuplicate, SortContext context) {
+        SortTrace trace = SortTrace.start(listener, "dataSortParallel", executor, dataPartitions);
+        try {
+            long total = 0;
+            for (IntDataPartition dataPartition : dataPartitions) {
+                total += dataPartition.size();
+            }
+            // 每个线程切 4 个区间便于负载均衡，区间太小则调度开销大于收益
+            int ranges = (int) Math.max(1, Math.min(parallelism * 4L, total / MIN_RANGE_SIZE));
+            IntRangeMerge rangeMerge = new IntRangeMerge(dataPartitions, ranges, allowDuplicate);
+            trace.phase(SortPhase.SPLIT);
+            int[] result = new int[totalSize(dataPartitions)];
+            int[] written = new int[rangeMerge.ranges()];
+            TaskGroup.run(executor, parallelism, written.length, trace.tasks(SortPhase.MERGE,
+                r -> written[r] = rangeMerge.mergeRange(r, result, (int) rangeMerge.offset(r), context, trace)), context);
+            trace.phase(SortPhase.MERGE);
+            // 去重后各区间尾部留有空隙，依次前移
+            int size = 0;
+            for (int r = 0; r < written.length; r++) {
+                int offset = (int) rangeMerge.offset(r);
+                if (offset != size) {
+                    System.arraycopy(result, offset, result, size, written[r]);
                 }
+                size += written[r];
+            }
+            int[] sorted = size == result.length ? result : Arrays.copyOf(result, size);
+            trace.phase(SortPhase.COMPACT, size);
+            trace.finish(size, parallelism);
+            return sorted;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 并行基数排序
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     * @see #dataSortRadix(List, boolean, SortContext)
+     */
+    public int[] dataSortRadix(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        return dataSortRadix(dataPartitions, allowDuplicate, SortContext.create());
+    }
+
+    /**
+     * 不利用分区已有的顺序，所有分区并行拷贝到一个数组后做并行 LSD 基数排序，不允许重复时最后去重
+     * 每个元素每趟读写各一次，与分区个数无关，分区键范围高度交错且分区很多时比 K 路归并的比较开销小，
+     * 需要两倍于结果的内存
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @param context 取消与截止时间
+     * @return 排序结果
+     * @throws java.util.concurrent.CancellationException 已取消或超时
+     */
+    public int[] dataSortRadix(List<IntDataPartition> dataPartitions, boolean allowDuplicate, SortContext context) {
+        SortTrace trace = SortTrace.start(listener, "dataSortRadix", executor, dataPartitions);
+        try {
+            int[] keys = gather(dataPartitions, context, trace);
+            int[] sorted = IntRadixSort.sort(keys, executor, parallelism, context, trace);
+            trace.phase(SortPhase.RADIX);
+            sorted = allowDuplicate ? sorted : distinct(sorted);
+            trace.phase(SortPhase.COMPACT, sorted.length);
+            trace.finish(sorted.length, parallelism);
+            return sorted;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 两两归并树，使用当前 JVM 上最快的两路归并内核
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 排序结果
+     * @see #dataSortMergeTree(List, boolean, TwoWayMergeKernel, SortContext)
+     * @see MergeKernels#preferred()
+     */
+    public int[] dataSortMergeTree(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        return dataSortMergeTree(dataPartitions, allowDuplicate, MergeKernels.preferred(), SortContext.create());
+    }
+
+    /**
+     * 所有分区并行拷贝到一个数组后做 ceil(log2 K) 轮两两归并，每轮按输出位置切片并行，不允许重复时最后去重
+     * 内层循环是连续 int[] 上的两路归并，可以由向量内核完成；需要两倍于结果的内存
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @param kernel 两路归并内核
+     * @param context 取消与截止时间
+     * @return 排序结果
+     * @throws java.util.concurrent.CancellationException 已取消或超时
+     */
+    public int[] dataSortMergeTree(List<IntDataPartition> dataPartitions, boolean allowDuplicate,
+                                   TwoWayMergeKernel kernel, SortContext context) {
+        SortTrace trace = SortTrace.start(listener, "dataSortMergeTree", executor, dataPartitions);
+        try {
+            int[] bounds = new int[dataPartitions.size() + 1];
+            for (int p = 0; p < dataPartitions.size(); p++) {
+                bounds[p + 1] = bounds[p] + (int) dataPartitions.get(p).size();
+            }
+            int[] keys = gather(dataPartitions, context, trace);
+            int[] sorted = IntMergeTree.sort(keys, bounds, kernel, executor, parallelism, context, trace);
+            trace.phase(SortPhase.MERGE);
+            sorted = allowDuplicate ? sorted : distinct(sorted);
+            trace.phase(SortPhase.COMPACT, sorted.length);
+            trace.finish(sorted.length, parallelism);
+            return sorted;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 异步执行 dataSortParallel，取消返回的 future 会通知正在执行的归并尽快停止
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @param context 取消与截止时间
+     * @return 排序结果
+     */
+    public CompletableFuture<int[]> dataSortAsync(List<IntDataPartition> dataPartitions, boolean allowDuplicate, SortContext context) {
+        CompletableFuture<int[]> future = new CompletableFuture<int[]>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                context.cancel();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        executor.execute(() -> {
+            try {
+                future.complete(dataSortParallel(dataPartitions, allowDuplicate, context));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 归并结果的惰性迭代器，按需从各分区取数，内存占用 O(K)
+     * 要求每个数据块内严格递增
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 升序迭代器
+     */
+    public PrimitiveIterator.OfInt dataSortIterator(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        return new MergedIntIterator(new IntMerger(partitionCursors(dataPartitions), allowDuplicate, true));
+    }
+
+    /**
+     * 归并结果的惰性 Spliterator，开始取数前可按键值范围切分
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 升序 Spliterator
+     */
+    public Spliterator.OfInt dataSortSpliterator(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        return new SortedIntSpliterator(dataPartitions, allowDuplicate);
+    }
+
+    /**
+     * 归并结果的惰性 IntStream，limit 等短路操作不会读取其余数据
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 升序 IntStream
+     */
+    public IntStream dataSortStream(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        return StreamSupport.intStream(dataSortSpliterator(dataPartitions, allowDuplicate), false);
+    }
+
+    /**
+     * 内存受限的外部排序，结果推送给 sink 而不是返回数组
+     * @param dataPartitions    dataPartitions x个分区，按需加载
+     * @param allowDuplicate 是否允许重复元素
+     * @param memoryBudget 分区数据及读写缓冲可使用的字节数
+     * @param sink 有序结果接收方
+     * @return 输出元素个数
+     * @throws IOException 读写临时文件失败
+     * @see ExternalIntSort
+     */
+    public long dataSortExternal(Iterator<IntDataPartition> dataPartitions, boolean allowDuplicate, long memoryBudget, IntSink sink) throws IOException {
+        Path tempDir = Paths.get(System.getProperty("java.io.tmpdir"));
+        return new ExternalIntSort(memoryBudget, tempDir).sort(dataPartitions, allowDuplicate, sink);
+    }
+
+    /**
+     * 流水线归并，加载、归并、输出在不同线程上同时进行
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @param sink 有序结果接收方
+     * @return 输出元素个数
+     * @throws IOException 写出结果失败
+     * @see #dataSortPipelined(List, boolean, IntSink, SortContext)
+     */
+    public long dataSortPipelined(List<IntDataPartition> dataPartitions, boolean allowDuplicate, IntSink sink) throws IOException {
+        return dataSortPipelined(dataPartitions, allowDuplicate, sink, SortContext.create());
+    }
+
+    /**
+     * 流水线归并：加载线程把分区按段写入有界无锁环形缓冲，归并线程边读边归并，调用线程把结果交给 sink，
+     * 加载与归并、输出重叠进行，内存占用由环形缓冲大小决定；分区为内存映射等视图分区时读盘发生在加载线程上
+     * 除归并线程和调用线程外使用 parallelism - 2 个（至少一个）加载线程，这些线程单独创建，不占用共享线程池
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @param sink 有序结果接收方，在调用线程上调用
+     * @param context 取消与截止时间
+     * @return 输出元素个数
+     * @throws IOException 写出结果失败
+     * @throws java.util.concurrent.CancellationException 已取消或超时
+     * @see PipelinedIntSort
+     */
+    public long dataSortPipelined(List<IntDataPartition> dataPartitions, boolean allowDuplicate, IntSink sink,
+                                  SortContext context) throws IOException {
+        SortTrace trace = SortTrace.start(listener, "dataSortPipelined", executor, dataPartitions);
+        try {
+            List<IntSource> sources = new ArrayList<>(dataPartitions.size());
+            for (IntDataPartition dataPartition : dataPartitions) {
+                sources.add(IntSource.of(dataPartition));
+            }
+            return new PipelinedIntSort(Math.max(1, parallelism - 2)).sort(sources, allowDuplicate, sink, context, trace);
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 归并结果写入堆外内存区，不占用堆，可直接交给 NIO 通道等消费方
+     * @param dataPartitions    dataPartitions x个分区，可以是 OffHeapPartitions 拷贝的堆外分区
+     * @param allowDuplicate 是否允许重复元素
+     * @param arena 堆外内存区，结果在其 reset 之前有效
+     * @return 本机字节序的排序结果，limit 为结果字节数，按 asIntBuffer() 读取
+     */
+    public ByteBuffer dataSortOffHeap(List<IntDataPartition> dataPartitions, boolean allowDuplicate, OffHeapArena arena) {
+        long bytes = (long) totalSize(dataPartitions) * Integer.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many elements for a single off-heap buffer: " + bytes / Integer.BYTES);
+        }
+        SortTrace trace = SortTrace.start(listener, "dataSortOffHeap", executor, dataPartitions);
+        try {
+            ByteBuffer result = arena.allocate((int) bytes);
+            IntBuffer ints = result.asIntBuffer();
+            IntMerger merger = new IntMerger(partitionCursors(dataPartitions), allowDuplicate, true);
+            int[] chunk = new int[CHUNK_SIZE];
+            int n;
+            while ((n = merger.drain(chunk, 0, chunk.length)) > 0) {
+                ints.put(chunk, 0, n);
             }
-            partitionQueueList.add(queue);
-            listSize += queue.size();
+            ((Buffer) result).limit(ints.position() * Integer.BYTES);
+            trace.merged(merger);
+            trace.phase(SortPhase.MERGE, ints.position());
+            trace.finish(ints.position(), 1);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
         }
-        return mergeSortedQueue(partitionQueueList, allowDuplicate, listSize).toArray(new Integer[0]);
     }
 
     /**
-     * 多线程生成队列
+     * 归并结果直接分段写入压缩容器，不物化完整的 int[]
+     * 有序结果相邻差值小，差值位打包后通常只占原始大小的几分之一；允许重复时重复元素只记次数
+     * @param dataPartitions    dataPartitions x个分区
+     * @param allowDuplicate 是否允许重复元素
+     * @return 压缩的排序结果，支持顺序解码和随机访问
+     */
+    public CompressedSortedInts dataSortCompressed(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        SortTrace trace = SortTrace.start(listener, "dataSortCompressed", executor, dataPartitions);
+        try {
+            CompressedIntWriter writer = new CompressedIntWriter();
+            IntMerger merger = new IntMerger(partitionCursors(dataPartitions), allowDuplicate, true);
+            int[] chunk = new int[CHUNK_SIZE];
+            int n;
+            while ((n = merger.drain(chunk, 0, chunk.length)) > 0) {
+                writer.write(chunk, 0, n);
+            }
+            CompressedSortedInts result = writer.finish();
+            trace.merged(merger);
+            trace.phase(SortPhase.MERGE, result.size());
+            trace.finish(result.size(), 1);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 多线程生成队列，每个分区一个任务，结果按分区下标交接，再统一归并
      * @param dataPartitions
      * @param allowDuplicate
      * @return
      * @throws Exception
      */
     public Integer[] dataSort3(List<DataPartition> dataPartitions, boolean allowDuplicate) throws Exception {
-        int cpuSize = Runtime.getRuntime().availableProcessors();
-        ThreadPoolExecutor executor = new ThreadPoolExecutor(
-            cpuSize * 2,
-            cpuSize * 2,
-            0L,
-            TimeUnit.MILLISECONDS,
-            new LinkedBlockingDeque<>(dataPartitions.size()),
-            new ThreadFactoryBuilder().setNameFormat("data-partition-pool-%d").setDaemon(true).build(),
-            new AbortPolicy()
-        );
-        AtomicInteger listSize = new AtomicInteger(0);
-        CountDownLatch countDownLatch = new CountDownLatch(dataPartitions.size());
-
-        // 生成队列
-        List<LinkedBlockingQueue<Integer>> partitionQueueList = new ArrayList<>(dataPartitions.size());
-        for (final DataPartition dataPartition : dataPartitions) {
-            executor.execute(() -> {
+        SortTrace trace = SortTrace.startBoxed(listener, "dataSort3", executor, dataPartitions);
+        try {
+            AtomicReferenceArray<LinkedBlockingQueue<Integer>> queues = new AtomicReferenceArray<>(dataPartitions.size());
+            // 生成队列
+            TaskGroup.run(executor, parallelism, dataPartitions.size(), trace.tasks(SortPhase.BUILD_QUEUE, i -> {
                 LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
-                buildSingleQueue(dataPartition, queue);
-                partitionQueueList.add(queue);
-                listSize.addAndGet(queue.size());
-                countDownLatch.countDown();
-            });
+                buildSingleQueue(dataPartitions.get(i), queue);
+                queues.set(i, queue);
+            }), SortContext.create());
+            trace.phase(SortPhase.BUILD_QUEUE);
+            int listSize = 0;
+            List<LinkedBlockingQueue<Integer>> partitionQueueList = new ArrayList<>(dataPartitions.size());
+            for (int i = 0; i < queues.length(); i++) {
+                partitionQueueList.add(queues.get(i));
+                listSize += queues.get(i).size();
+            }
+            int[] sorted = mergeSortedQueue(partitionQueueList, allowDuplicate, listSize, trace);
+            trace.phase(SortPhase.MERGE, sorted.length);
+            Integer[] result = box(sorted);
+            trace.phase(SortPhase.BOX, result.length);
+            trace.finish(result.length, parallelism);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
         }
-        countDownLatch.await();
-        executor.shutdown();
-        return mergeSortedQueue(partitionQueueList, allowDuplicate, listSize.get()).toArray(new Integer[0]);
     }
 
     /**
-     * 不及 dataSort3 待优化
+     * 两级归并：分区按并行度分组，每组在一个任务内生成队列并归并成一个有序段，最后归并各有序段
      * @param dataPartitions
      * @param allowDuplicate
      * @return
      * @throws Exception
      */
     public Integer[] dataSort4(List<DataPartition> dataPartitions, boolean allowDuplicate) throws Exception {
-        int threadSize = Runtime.getRuntime().availableProcessors() * 2;
-        ThreadPoolExecutor executor = new ThreadPoolExecutor(
-            threadSize,
-            threadSize,
-            0L,
-            TimeUnit.MILLISECONDS,
-            new SynchronousQueue<>(),
-            new ThreadFactoryBuilder().setNameFormat("data-partition-pool-%d").setDaemon(true).build(),
-            new AbortPolicy()
-        );
-        CompletionService<LinkedBlockingQueue<Integer>> taskCompletionService = new ExecutorCompletionService<>(executor);
-        AtomicInteger listSize = new AtomicInteger(0);
-
-        List<LinkedBlockingQueue<Integer>> finalQueueList = new ArrayList<>(threadSize);
-        int splitCount = dataPartitions.size() % threadSize == 0 ? dataPartitions.size() / threadSize : dataPartitions.size() / threadSize + 1;
-        for(int i = 0; i < threadSize; i++) {
-            final int count = i;
-            taskCompletionService.submit(() -> {
-                LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
-                AtomicInteger tmpQueueSizes = new AtomicInteger(0);
-                int queueSize = (count+1)*splitCount > dataPartitions.size() ? dataPartitions.size() - count*splitCount : splitCount;
-                ThreadPoolExecutor tmpExecutor = new ThreadPoolExecutor(
-                    threadSize,
-                    threadSize,
-                    0L,
-                    TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>(),
-                    new ThreadFactoryBuilder().setNameFormat("data-pool-"+count+"-%d").setDaemon(true).build(),
-                    new AbortPolicy()
-                );
-                CompletionService<LinkedBlockingQueue<Integer>> tmpTaskService = new ExecutorCompletionService<>(tmpExecutor);
-                ArrayList<LinkedBlockingQueue<Integer>> tmpQueueList = Lists.newArrayListWithExpectedSize(queueSize);
-                for(int j = 0; j < splitCount; j++) {
-                    final int jcount =  j + count*splitCount;
-                    tmpTaskService.submit(() -> {
-                        LinkedBlockingQueue<Integer> tmpQueue = new LinkedBlockingQueue<>();
-                        if(jcount > dataPartitions.size() -1) {
-                            return tmpQueue;
-                        }
-                        DataPartition dataPartition = dataPartitions.get(jcount);
-                        buildSingleQueue(dataPartition, tmpQueue);
-                        return  tmpQueue;
-
-                    });
-                }
-                for(int k = 0; k < splitCount; k++) {
-                    LinkedBlockingQueue<Integer> future = tmpTaskService.take().get();
-                    if (!future.isEmpty()) {
-                        tmpQueueList.add(future);
-                        tmpQueueSizes.addAndGet(future.size());
-                    }
+        SortTrace trace = SortTrace.startBoxed(listener, "dataSort4", executor, dataPartitions);
+        try {
+            int groupSize = Math.max(1, Math.min(parallelism, dataPartitions.size()));
+            int splitCount = (dataPartitions.size() + groupSize - 1) / groupSize;
+            AtomicReferenceArray<int[]> runs = new AtomicReferenceArray<>(groupSize);
+            TaskGroup.run(executor, parallelism, groupSize, group -> {
+                long start = System.nanoTime();
+                int from = Math.min(dataPartitions.size(), group * splitCount);
+                int to = Math.min(dataPartitions.size(), from + splitCount);
+                List<LinkedBlockingQueue<Integer>> tmpQueueList = Lists.newArrayListWithExpectedSize(to - from);
+                int tmpQueueSizes = 0;
+                for (int i = from; i < to; i++) {
+                    LinkedBlockingQueue<Integer> tmpQueue = new LinkedBlockingQueue<>();
+                    buildSingleQueue(dataPartitions.get(i), tmpQueue);
+                    tmpQueueList.add(tmpQueue);
+                    tmpQueueSizes += tmpQueue.size();
                 }
-                tmpExecutor.shutdown();
-                ArrayList<Integer> tmpList = mergeSortedQueue(tmpQueueList, allowDuplicate, tmpQueueSizes.get());
-                for (Integer aTmpList : tmpList) {
-                    queue.put(aTmpList);
+                start = trace.task(SortPhase.BUILD_QUEUE, group, start);
+                runs.set(group, mergeSortedQueue(tmpQueueList, allowDuplicate, tmpQueueSizes, trace));
+                trace.task(SortPhase.MERGE, group, start);
+            }, SortContext.create());
+            trace.phase(SortPhase.GROUP_MERGE);
+            List<IntDataPartition> runPartitions = new ArrayList<>(groupSize);
+            for (int i = 0; i < runs.length(); i++) {
+                runPartitions.add(new IntDataPartition(Lists.newArrayList(new IntDataBlock(runs.get(i)))));
+            }
+            int[] sorted = merge(runPartitions, allowDuplicate, false, trace);
+            trace.phase(SortPhase.MERGE, sorted.length);
+            Integer[] result = box(sorted);
+            trace.phase(SortPhase.BOX, result.length);
+            trace.finish(result.length, parallelism);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 单线程归并到预分配的 int[]
+     * @param bulkCopy 是否按数据块栅栏整段拷贝
+     */
+    private static int[] merge(List<IntDataPartition> dataPartitions, boolean allowDuplicate, boolean bulkCopy, SortTrace trace) {
+        int[] result = new int[totalSize(dataPartitions)];
+        IntMerger merger = new IntMerger(partitionCursors(dataPartitions), allowDuplicate, bulkCopy);
+        int size = merger.drain(result, 0, result.length);
+        trace.merged(merger);
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 键范围互不相交的分区按顺序拼接，不需要比较
+     * @param order 按最小值排列的分区下标
+     */
+    private int[] dataSortConcat(List<IntDataPartition> dataPartitions, int[] order) {
+        SortTrace trace = SortTrace.start(listener, "dataSortConcat", executor, dataPartitions);
+        try {
+            int[] result = new int[totalSize(dataPartitions)];
+            int position = 0;
+            for (int p : order) {
+                for (IntDataBlock block : dataPartitions.get(p).getDataBlocks()) {
+                    block.copyTo(0, result, position, block.size());
+                    position += block.size();
                 }
-                listSize.addAndGet(tmpList.size());
-                return queue;
-            });
+            }
+            trace.phase(SortPhase.MERGE, result.length);
+            trace.finish(result.length, 1);
+            return result;
+        } catch (Throwable e) {
+            trace.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 各分区并行拷贝到一个数组，分区依次相邻
+     */
+    private int[] gather(List<IntDataPartition> dataPartitions, SortContext context, SortTrace trace) {
+        int[] keys = new int[totalSize(dataPartitions)];
+        int[] offsets = new int[dataPartitions.size()];
+        for (int p = 1; p < offsets.length; p++) {
+            offsets[p] = offsets[p - 1] + (int) dataPartitions.get(p - 1).size();
+        }
+        TaskGroup.run(executor, parallelism, offsets.length, trace.tasks(SortPhase.GATHER, p -> {
+            int position = offsets[p];
+            for (IntDataBlock block : dataPartitions.get(p).getDataBlocks()) {
+                block.copyTo(0, keys, position, block.size());
+                position += block.size();
+            }
+        }), context);
+        trace.phase(SortPhase.GATHER);
+        return keys;
+    }
+
+    /**
+     * 原地去除有序数组中的重复元素
+     */
+    private static int[] distinct(int[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+    }
+
+    private static IntCursor[] partitionCursors(List<IntDataPartition> dataPartitions) {
+        IntCursor[] cursors = new IntCursor[dataPartitions.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new IntPartitionCursor(dataPartitions.get(i));
+        }
+        return cursors;
+    }
+
+    private static int totalSize(List<IntDataPartition> dataPartitions) {
+        long size = 0;
+        for (IntDataPartition dataPartition : dataPartitions) {
+            size += dataPartition.size();
+        }
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many elements for a single array: " + size);
+        }
+        return (int) size;
+    }
+
+    private static LongCursor[] longCursors(List<LongDataPartition> dataPartitions) {
+        LongCursor[] cursors = new LongCursor[dataPartitions.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new LongPartitionCursor(dataPartitions.get(i));
+        }
+        return cursors;
+    }
+
+    private static int totalLongSize(List<LongDataPartition> dataPartitions) {
+        long size = 0;
+        for (LongDataPartition dataPartition : dataPartitions) {
+            size += dataPartition.size();
         }
-        for(int j = 0; j < threadSize; j++) {
-            finalQueueList.add(taskCompletionService.take().get());
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many elements for a single array: " + size);
         }
-        executor.shutdown();
-        return mergeSortedQueue(finalQueueList, allowDuplicate, listSize.get()).toArray(new Integer[0]);
+        return (int) size;
+    }
+
+    private static Integer[] box(int[] data) {
+        Integer[] boxed = new Integer[data.length];
+        for (int i = 0; i < data.length; i++) {
+            boxed[i] = data[i];
+        }
+        return boxed;
     }
 
     private void buildSingleQueue(DataPartition dataPartition, LinkedBlockingQueue<Integer> tmpQueue) {
         for (int j = 0; j < dataPartition.getDataBlocks().size(); j++) {
             DataBlock dataBlock = dataPartition.getDataBlocks().get(j);
             for (int k = 0; k < dataBlock.getData().length; k++) {
-                try {
-                    tmpQueue.put(dataBlock.getData()[k]);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+                // 无界队列，add 不会阻塞
+                tmpQueue.add(dataBlock.getData()[k]);
             }
         }
     }
 
-    private ArrayList<Integer> mergeSortedQueue(List<LinkedBlockingQueue<Integer>> list, boolean allowDuplicate, int size) {
-        ArrayList<Integer> result = Lists.newArrayListWithExpectedSize(size);
-        while (list.size() > 0) {
-            // 获取第一个队列
-            LinkedBlockingQueue<Integer> queue0 = list.get(0);
-            while (true) {
-                //弹出头元素
-                Integer firstData = queue0.poll();
-                if (firstData == null) {
-                    // 将该队列移除
-                    list.remove(0);
-                    break;
-                }
-                // 用个set记录从多个队列中取出的数据，这些数据需要继续排序：
-                Set<Integer> sortedData = new TreeSet<>();
-                // 先把data放入set：
-                sortedData.add(firstData);
-                // 倒序获取队列，
-                for (int i = list.size() - 1; i > 0; i--) {
-                    LinkedBlockingQueue<Integer> queueReverse = list.get(i);
-                    while (true) {
-                        // 获取头元素，但不删除
-                        Integer dataReverse = queueReverse.peek();
-                        if (dataReverse == null) {
-                            //队列为空 则移除
-                            list.remove(i);
-                            break;
-                        }
-                        // dataReverse小于firstData，则把dataReverse放入sortedData，会自动排序
-                        if (dataReverse < firstData) {
-                            sortedData.add(dataReverse);
-                            //删除头元素
-                            queueReverse.poll();
-                        } else if (dataReverse.equals(firstData)) {
-                            if(allowDuplicate) {
-                                sortedData.add(dataReverse);
-                            }
-                            //删除头元素
-                            queueReverse.poll();
-                            break;
-                        } else {
-                            break;
-                        }
-                    }
-                }
-                // 按firstData查找，小于firstData的值，都已经存入sortedData了
-                result.addAll(sortedData);
-                sortedData.clear();
-            }
+    /**
+     * 用败者树归并多个有序队列
+     * @param list 有序队列
+     * @param allowDuplicate 是否允许重复元素
+     * @param size 队列元素总数
+     * @param trace 观测状态
+     * @return 排序结果
+     */
+    private int[] mergeSortedQueue(List<LinkedBlockingQueue<Integer>> list, boolean allowDuplicate, int size, SortTrace trace) {
+        IntCursor[] cursors = new IntCursor[list.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new IntQueueCursor(list.get(i));
         }
-        return result;
+        int[] result = new int[size];
+        IntMerger merger = new IntMerger(cursors, allowDuplicate);
+        int written = merger.drain(result, 0, size);
+        trace.merged(merger);
+        return written == size ? result : Arrays.copyOf(result, written);
     }
 }
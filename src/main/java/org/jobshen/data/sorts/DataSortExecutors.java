@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * DataSortExecutors Description:
+ *  DataSort 常用的线程池，由调用方创建一次、在多次排序间共享，并负责关闭
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 16:40
+ * @since JDK 1.8
+ */
+public class DataSortExecutors {
+
+    private DataSortExecutors() {
+    }
+
+    /**
+     * @param threads 线程数
+     * @return 固定大小的守护线程池
+     */
+    public static ExecutorService fixed(int threads) {
+        return new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("data-sort-pool-%d").setDaemon(true).build()
+        );
+    }
+
+    /**
+     * @param parallelism 并行度
+     * @return 工作窃取线程池
+     */
+    public static ExecutorService forkJoin(int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * 每个任务一个虚拟线程，需要 JDK 21+；CPU 并行度仍由 DataSort 的 parallelism 限制
+     * @return 虚拟线程执行器
+     * @throws UnsupportedOperationException 当前 JDK 不支持虚拟线程
+     */
+    public static ExecutorService virtualThreads() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads require JDK 21+", e);
+        }
+    }
+}
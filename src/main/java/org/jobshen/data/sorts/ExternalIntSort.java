@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * ExternalIntSort Description:
+ *  内存受限的外部归并：
+ *  1. 依次接收分区，内存中的分区数据达到预算时归并成一个有序段写入临时文件，随即释放这些分区
+ *  2. 有序段过多时按预算允许的路数多趟归并，每个有序段只占一个固定大小的读缓冲
+ *  3. 最后一趟直接推送给 IntSink，不物化完整结果
+ *  全部分区都能放进预算时不落盘，直接归并输出
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 18:40
+ * @since JDK 1.8
+ */
+public class ExternalIntSort {
+
+    private static final int DEFAULT_IO_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 归并时输出缓冲的元素个数
+     */
+    private static final int CHUNK_SIZE = 1 << 13;
+
+    private final long memoryBudget;
+
+    private final Path tempDir;
+
+    private final int ioBufferSize;
+
+    public ExternalIntSort(long memoryBudget, Path tempDir) {
+        this(memoryBudget, tempDir, DEFAULT_IO_BUFFER_SIZE);
+    }
+
+    /**
+     * @param memoryBudget 分区数据及读写缓冲可使用的字节数
+     * @param tempDir 有序段临时文件目录
+     * @param ioBufferSize 每个有序段的读缓冲及写缓冲字节数
+     */
+    public ExternalIntSort(long memoryBudget, Path tempDir, int ioBufferSize) {
+        if (memoryBudget < 6L * ioBufferSize) {
+            throw new IllegalArgumentException("memory budget must hold at least 6 io buffers: " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+        this.tempDir = tempDir;
+        this.ioBufferSize = ioBufferSize;
+    }
+
+    /**
+     * @param dataPartitions 分区，按需加载，处理过的分区不会再被引用
+     * @param allowDuplicate 是否允许重复元素
+     * @param sink 有序结果接收方
+     * @return 输出元素个数
+     * @throws IOException 读写临时文件失败
+     */
+    public long sort(Iterator<IntDataPartition> dataPartitions, boolean allowDuplicate, IntSink sink) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            List<IntDataPartition> group = new ArrayList<>();
+            long groupBytes = 0;
+            long groupBudget = memoryBudget - ioBufferSize;
+            while (dataPartitions.hasNext()) {
+                IntDataPartition dataPartition = dataPartitions.next();
+                long bytes = dataPartition.size() * Integer.BYTES;
+                if (!group.isEmpty() && groupBytes + bytes > groupBudget) {
+                    runs.add(spill(group, allowDuplicate));
+                    group.clear();
+                    groupBytes = 0;
+                }
+                group.add(dataPartition);
+                groupBytes += bytes;
+            }
+            if (runs.isEmpty()) {
+                return drain(new IntMerger(partitionCursors(group), allowDuplicate, true), sink);
+            }
+            if (!group.isEmpty()) {
+                runs.add(spill(group, allowDuplicate));
+                group.clear();
+            }
+            // 每路一个读缓冲及其 int[] 副本，再留一个写缓冲
+            int fanIn = (int) Math.max(2, Math.min(Integer.MAX_VALUE, (memoryBudget - ioBufferSize) / (2L * ioBufferSize)));
+            while (runs.size() > fanIn) {
+                // 归并成功前这批有序段仍留在 runs 中，失败时由 finally 删除
+                List<Path> batch = new ArrayList<>(runs.subList(0, fanIn));
+                Path run = newRun();
+                try (IntFileSink runSink = new IntFileSink(run, ioBufferSize)) {
+                    mergeRuns(batch, allowDuplicate, runSink);
+                } catch (IOException | RuntimeException e) {
+                    deleteQuietly(run, e);
+                    throw e;
+                }
+                runs.add(run);
+                deleteAll(batch);
+                runs.subList(0, fanIn).clear();
+            }
+            return mergeRuns(runs, allowDuplicate, sink);
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    /**
+     * 有序结果写入文件，格式同 IntFileSink
+     * @param dataPartitions 分区
+     * @param allowDuplicate 是否允许重复元素
+     * @param output 输出文件
+     * @return 输出元素个数
+     * @throws IOException 读写文件失败
+     */
+    public long sortToFile(Iterator<IntDataPartition> dataPartitions, boolean allowDuplicate, Path output) throws IOException {
+        try (IntFileSink sink = new IntFileSink(output, ioBufferSize)) {
+            return sort(dataPartitions, allowDuplicate, sink);
+        }
+    }
+
+    private Path spill(List<IntDataPartition> group, boolean allowDuplicate) throws IOException {
+        Path run = newRun();
+        try (IntFileSink runSink = new IntFileSink(run, ioBufferSize)) {
+            drain(new IntMerger(partitionCursors(group), allowDuplicate, true), runSink);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(run, e);
+            throw e;
+        }
+        return run;
+    }
+
+    private long mergeRuns(List<Path> runs, boolean allowDuplicate, IntSink sink) throws IOException {
+        List<IntFileCursor> cursors = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                cursors.add(new IntFileCursor(run, ioBufferSize));
+            }
+            return drain(new IntMerger(cursors.toArray(new IntCursor[0]), allowDuplicate, true), sink);
+        } catch (UncheckedIOException e) {
+            // IntFileCursor 在归并过程中读取失败
+            throw e.getCause();
+        } finally {
+            for (IntFileCursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    private static long drain(IntMerger merger, IntSink sink) throws IOException {
+        int[] chunk = new int[CHUNK_SIZE];
+        long count = 0;
+        int n;
+        while ((n = merger.drain(chunk, 0, CHUNK_SIZE)) > 0) {
+            sink.write(chunk, 0, n);
+            count += n;
+        }
+        return count;
+    }
+
+    private static IntCursor[] partitionCursors(List<IntDataPartition> group) {
+        IntCursor[] cursors = new IntCursor[group.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new IntPartitionCursor(group.get(i));
+        }
+        return cursors;
+    }
+
+    private Path newRun() throws IOException {
+        return Files.createTempFile(tempDir, "data-sort-run-", ".bin");
+    }
+
+    /**
+     * 删除写了一半的有序段，删除失败附加到原异常上，不覆盖它
+     */
+    private static void deleteQuietly(Path run, Exception cause) {
+        try {
+            Files.deleteIfExists(run);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void deleteAll(List<Path> runs) throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+    }
+}
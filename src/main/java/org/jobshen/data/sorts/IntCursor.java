@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+/**
+ * IntCursor Description:
+ *  有序 int 序列的只读游标，归并引擎的输入
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 13:02
+ * @since JDK 1.8
+ */
+public abstract class IntCursor {
+
+    /**
+     * 游标耗尽标记，大于任何 int 值
+     */
+    public static final long EXHAUSTED = Long.MAX_VALUE;
+
+    /**
+     * 取出下一个元素
+     * @return 下一个元素，已耗尽时返回 {@link #EXHAUSTED}
+     */
+    public abstract long next();
+
+    /**
+     * 当前数据块中紧随其后、严格小于 bound 的元素个数，用于整段拷贝
+     * @param bound 上界，一般为其它游标头元素中的最小值
+     * @return 可整段拷贝的元素个数，不支持整段拷贝时返回 0
+     */
+    public int countBelow(long bound) {
+        return 0;
+    }
+
+    /**
+     * 将随后 length 个元素拷贝到 dst 并前移游标，length 不超过 {@link #countBelow(long)} 的返回值
+     * @param dst 目标数组
+     * @param offset 起始下标
+     * @param length 拷贝个数
+     */
+    public void copyTo(int[] dst, int offset, int length) {
+        throw new UnsupportedOperationException();
+    }
+}
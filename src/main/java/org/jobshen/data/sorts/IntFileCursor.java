@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * IntFileCursor Description:
+ *  顺序读取 IntFileSink 写出的有序文件，通过固定大小的读缓冲分段加载
+ *  缓冲中的数据段相当于一个数据块，同样支持按栅栏整段拷贝
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 18:20
+ * @since JDK 1.8
+ */
+public class IntFileCursor extends IntCursor implements Closeable {
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final int[] data;
+
+    private int position;
+
+    private int limit;
+
+    public IntFileCursor(Path file, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize & ~3).order(ByteOrder.LITTLE_ENDIAN);
+        this.data = new int[buffer.capacity() >> 2];
+    }
+
+    @Override
+    public long next() {
+        if (position == limit && !fill()) {
+            return EXHAUSTED;
+        }
+        return data[position++];
+    }
+
+    @Override
+    public int countBelow(long bound) {
+        int from = position;
+        if (from == limit || data[from] >= bound) {
+            return 0;
+        }
+        if (data[limit - 1] < bound) {
+            return limit - from;
+        }
+        int low = from;
+        int high = limit - 1;
+        while (low + 1 < high) {
+            int mid = (low + high) >>> 1;
+            if (data[mid] < bound) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high - from;
+    }
+
+    @Override
+    public void copyTo(int[] dst, int offset, int length) {
+        System.arraycopy(data, position, dst, offset, length);
+        position += length;
+    }
+
+    private boolean fill() {
+        try {
+            ((Buffer) buffer).clear();
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 读满缓冲或到达文件末尾
+            }
+            ((Buffer) buffer).flip();
+            IntBuffer ints = buffer.asIntBuffer();
+            limit = ints.remaining();
+            position = 0;
+            ints.get(data, 0, limit);
+            return limit > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * IntFileSource Description:
+ *  顺序读取 IntFileSink 写出的有序文件，通过固定大小的读缓冲分段加载
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 20:32
+ * @since JDK 1.8
+ */
+final class IntFileSource implements IntSource {
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    IntFileSource(Path file, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize & ~3).order(ByteOrder.LITTLE_ENDIAN);
+        ((Buffer) buffer).limit(0);
+    }
+
+    @Override
+    public int read(int[] dst, int offset, int length) throws IOException {
+        if (buffer.remaining() < Integer.BYTES && !fill()) {
+            return -1;
+        }
+        int n = Math.min(length, buffer.remaining() >> 2);
+        buffer.asIntBuffer().get(dst, offset, n);
+        ((Buffer) buffer).position(buffer.position() + (n << 2));
+        return n;
+    }
+
+    private boolean fill() throws IOException {
+        ((Buffer) buffer).clear();
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // 读满缓冲或到达文件末尾
+        }
+        ((Buffer) buffer).flip();
+        return buffer.remaining() >= Integer.BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
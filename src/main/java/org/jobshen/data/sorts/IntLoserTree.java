@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+/**
+ * IntLoserTree Description:
+ *  K 路败者树，每输出一个元素只需沿叶子到根比较 log K 次
+ *  tree[0] 为当前胜者，tree[1, K) 为各内部节点的败者，叶子 i 对应节点 i + K
+ *  耗尽的游标头元素为 EXHAUSTED，永远输给未耗尽的游标
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 13:25
+ * @since JDK 1.8
+ */
+public final class IntLoserTree {
+
+    private final IntCursor[] cursors;
+
+    /**
+     * 各游标当前头元素
+     */
+    private final long[] keys;
+
+    private final int[] tree;
+
+    private final int k;
+
+    public IntLoserTree(IntCursor[] cursors) {
+        this.cursors = cursors;
+        this.k = cursors.length;
+        this.keys = new long[Math.max(k, 1)];
+        this.tree = new int[Math.max(k, 1)];
+        if (k == 0) {
+            keys[0] = IntCursor.EXHAUSTED;
+            return;
+        }
+        for (int i = 0; i < k; i++) {
+            keys[i] = cursors[i].next();
+        }
+        // 自底向上比赛，winners[n] 为节点 n 子树的胜者
+        int[] winners = new int[2 * k];
+        for (int i = 0; i < k; i++) {
+            winners[k + i] = i;
+        }
+        for (int n = k - 1; n > 0; n--) {
+            int left = winners[2 * n];
+            int right = winners[2 * n + 1];
+            if (keys[right] < keys[left]) {
+                winners[n] = right;
+                tree[n] = left;
+            } else {
+                winners[n] = left;
+                tree[n] = right;
+            }
+        }
+        tree[0] = winners[1];
+    }
+
+    /**
+     * @return 当前最小元素，全部耗尽时返回 EXHAUSTED
+     */
+    public long peek() {
+        return keys[tree[0]];
+    }
+
+    /**
+     * @return 当前最小元素所在的游标下标
+     */
+    public int winner() {
+        return tree[0];
+    }
+
+    /**
+     * 除胜者外其它游标头元素中的最小值，即胜者路径上各败者的最小值
+     * @return 次小元素，不存在时返回 EXHAUSTED
+     */
+    public long runnerUp() {
+        long best = IntCursor.EXHAUSTED;
+        for (int n = (tree[0] + k) >>> 1; n > 0; n >>>= 1) {
+            long key = keys[tree[n]];
+            if (key < best) {
+                best = key;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 胜者游标前移一位并重赛
+     */
+    public void advance() {
+        int winner = tree[0];
+        keys[winner] = cursors[winner].next();
+        replay(winner);
+    }
+
+    private void replay(int leaf) {
+        int winner = leaf;
+        for (int n = (leaf + k) >>> 1; n > 0; n >>>= 1) {
+            int loser = tree[n];
+            if (keys[loser] < keys[winner]) {
+                tree[n] = winner;
+                winner = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    public boolean isEmpty() {
+        return keys[tree[0]] == IntCursor.EXHAUSTED;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.concurrent.Executor;
+
+import org.jobshen.data.metrics.SortPhase;
+
+/**
+ * IntMergeTree Description:
+ *  两两归并树：K 个相邻有序段每轮两两归并，共 ceil(log2 K) 轮，在两个数组之间来回写
+ *  每轮的归并对按输出位置切成近似等长的片段，片段起点由 merge path 二分求出，
+ *  最后几轮只剩一两对时也能占满所有线程；每个片段交给两路归并内核，可以使用向量内核
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 19:40
+ * @since JDK 1.8
+ */
+final class IntMergeTree {
+
+    /**
+     * 片段最少元素个数，更小的片段调度开销大于并行收益
+     */
+    private static final int MIN_SEGMENT_SIZE = 1 << 15;
+
+    private IntMergeTree() {
+    }
+
+    /**
+     * @param data 相邻有序段拼接成的数组，会被修改
+     * @param bounds 各段边界，第 i 段为 [bounds[i], bounds[i + 1])，会被修改
+     * @param kernel 两路归并内核
+     * @param executor 线程池
+     * @param parallelism 最大并行度，含调用线程
+     * @param context 取消与截止时间，每轮之间检查
+     * @param trace 观测状态
+     * @return 排序结果，为 data 或另一个同样大小的数组
+     */
+    static int[] sort(int[] data, int[] bounds, TwoWayMergeKernel kernel, Executor executor, int parallelism,
+                      SortContext context, SortTrace trace) {
+        int n = data.length;
+        int runs = bounds.length - 1;
+        int segmentSize = Math.max(MIN_SEGMENT_SIZE, (int) Math.min(Integer.MAX_VALUE, (n + parallelism * 4L - 1) / (parallelism * 4L)));
+        int[] src = data;
+        int[] dst = runs > 1 ? new int[n] : null;
+        while (runs > 1) {
+            int pairs = runs / 2;
+            // firstSegment[p] 为第 p 对的第一个片段编号，奇数段数时最后一段单独作为一个拷贝片段
+            int[] firstSegment = new int[pairs + 2];
+            for (int p = 0; p < pairs; p++) {
+                int length = bounds[2 * p + 2] - bounds[2 * p];
+                firstSegment[p + 1] = firstSegment[p] + Math.max(1, (length + segmentSize - 1) / segmentSize);
+            }
+            firstSegment[pairs + 1] = firstSegment[pairs] + (runs & 1);
+            final int[] from = src;
+            final int[] to = dst;
+            final int[] edges = bounds;
+            final int segments = firstSegment[pairs + 1];
+            TaskGroup.run(executor, parallelism, segments, trace.tasks(SortPhase.MERGE, s -> {
+                int p = pairOf(firstSegment, pairs, s);
+                if (p == pairs) {
+                    int start = edges[2 * p];
+                    System.arraycopy(from, start, to, start, edges[2 * p + 1] - start);
+                    return;
+                }
+                int aFrom = edges[2 * p];
+                int bFrom = edges[2 * p + 1];
+                int bTo = edges[2 * p + 2];
+                int pieces = firstSegment[p + 1] - firstSegment[p];
+                int piece = s - firstSegment[p];
+                int length = bTo - aFrom;
+                int outFrom = (int) ((long) length * piece / pieces);
+                int outTo = (int) ((long) length * (piece + 1) / pieces);
+                int i = coRank(from, aFrom, bFrom, bFrom, bTo, outFrom);
+                int iEnd = coRank(from, aFrom, bFrom, bFrom, bTo, outTo);
+                kernel.merge(from, aFrom + i, aFrom + iEnd, from, bFrom + outFrom - i, bFrom + outTo - iEnd,
+                    to, aFrom + outFrom);
+            }), context);
+            // 第 p 对归并后成为新的第 p 段
+            int[] next = new int[pairs + (runs & 1) + 1];
+            for (int p = 0; p < next.length; p++) {
+                next[p] = bounds[Math.min(2 * p, runs)];
+            }
+            bounds = next;
+            runs = next.length - 1;
+            dst = src;
+            src = to;
+        }
+        return src;
+    }
+
+    /**
+     * 归并输出的前 diagonal 个元素中来自 a 的个数，相等元素 a 优先，与内核一致
+     */
+    private static int coRank(int[] data, int aFrom, int aTo, int bFrom, int bTo, int diagonal) {
+        int low = Math.max(0, diagonal - (bTo - bFrom));
+        int high = Math.min(diagonal, aTo - aFrom);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (data[aFrom + mid] <= data[bFrom + diagonal - mid - 1]) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return 片段 s 所属的归并对，满足 firstSegment[p] <= s < firstSegment[p + 1]
+     */
+    private static int pairOf(int[] firstSegment, int pairs, int segment) {
+        int low = 0;
+        int high = pairs;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstSegment[mid] <= segment) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.List;
+
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * IntMerger Description:
+ *  K 路归并引擎，基于败者树每个输出元素比较 O(log K) 次
+ *  结果直接写入调用方提供的 int[]，过程中不产生装箱对象
+ *  开启整段拷贝后，胜者游标当前数据块中小于其它游标头元素的部分直接 System.arraycopy 输出，
+ *  分区间键范围基本不相交时大部分输出不需要逐个比较；连续拷贝失败时指数退避，避免交错数据上的额外开销
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 10:48
+ * @since JDK 1.8
+ */
+public class IntMerger {
+
+    /**
+     * 连续拷贝失败后最多跳过的尝试次数
+     */
+    private static final int MAX_BACKOFF = 64;
+
+    private final IntCursor[] cursors;
+
+    private final IntLoserTree tree;
+
+    private final boolean allowDuplicate;
+
+    private final boolean bulkCopy;
+
+    private int backoff;
+
+    private int skip;
+
+    private boolean hasLast;
+
+    private int last;
+
+    private long comparedCount;
+
+    private long copiedCount;
+
+    public IntMerger(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        this(cursors(dataPartitions), allowDuplicate, false);
+    }
+
+    public IntMerger(IntCursor[] cursors, boolean allowDuplicate) {
+        this(cursors, allowDuplicate, false);
+    }
+
+    /**
+     * @param cursors 输入游标
+     * @param allowDuplicate 是否允许重复元素
+     * @param bulkCopy 是否按数据块栅栏整段拷贝，要求各游标数据块内严格递增
+     */
+    public IntMerger(IntCursor[] cursors, boolean allowDuplicate, boolean bulkCopy) {
+        this.cursors = cursors;
+        this.tree = new IntLoserTree(cursors);
+        this.allowDuplicate = allowDuplicate;
+        this.bulkCopy = bulkCopy;
+    }
+
+    /**
+     * 归并输出至多 length 个元素
+     * @param dst 目标数组
+     * @param offset 起始下标
+     * @param length 最大输出个数
+     * @return 实际输出个数，小于 length 说明已全部输出
+     */
+    public int drain(int[] dst, int offset, int length) {
+        int written = 0;
+        while (written < length) {
+            long head = tree.peek();
+            if (head == IntCursor.EXHAUSTED) {
+                break;
+            }
+            int value = (int) head;
+            comparedCount++;
+            if (allowDuplicate || !hasLast || value != last) {
+                dst[offset + written++] = value;
+                last = value;
+                hasLast = true;
+            }
+            if (bulkCopy && written < length && --skip < 0) {
+                written += copyRun(dst, offset + written, length - written);
+            }
+            tree.advance();
+        }
+        return written;
+    }
+
+    /**
+     * 胜者游标中小于次小头元素的部分都比其它游标小，可以整段输出
+     * 这部分元素大于刚输出的头元素且小于其它游标，不会与已输出元素重复
+     */
+    private int copyRun(int[] dst, int offset, int capacity) {
+        IntCursor cursor = cursors[tree.winner()];
+        int count = cursor.countBelow(tree.runnerUp());
+        if (count == 0) {
+            backoff = Math.min(backoff * 2 + 1, MAX_BACKOFF);
+            skip = backoff;
+            return 0;
+        }
+        backoff = 0;
+        skip = 0;
+        count = Math.min(count, capacity);
+        cursor.copyTo(dst, offset, count);
+        copiedCount += count;
+        last = dst[offset + count - 1];
+        return count;
+    }
+
+    /**
+     * @return 经败者树逐个比较输出（含去重丢弃）的元素个数
+     */
+    public long comparedCount() {
+        return comparedCount;
+    }
+
+    /**
+     * @return 按栅栏整段拷贝输出的元素个数
+     */
+    public long copiedCount() {
+        return copiedCount;
+    }
+
+    public boolean isExhausted() {
+        return tree.isEmpty();
+    }
+
+    private static IntCursor[] cursors(List<IntDataPartition> dataPartitions) {
+        IntCursor[] cursors = new IntCursor[dataPartitions.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new IntPartitionCursor(dataPartitions.get(i));
+        }
+        return cursors;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.List;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * IntPartitionCursor Description:
+ *  按顺序遍历一个分区内所有数据块的游标，直接读取 int[]，不产生装箱对象
+ *  支持以数据块最大值作为栅栏整块拷贝，否则倍增查找可拷贝的前缀
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 10:35
+ * @since JDK 1.8
+ */
+public class IntPartitionCursor extends IntCursor {
+
+    private final List<IntDataBlock> blocks;
+
+    /**
+     * 结束位置（不含）所在的数据块及块内下标
+     */
+    private final int endBlock;
+
+    private final int endPosition;
+
+    /**
+     * 进入下一个数据块时的起始下标，仅第一个数据块可能非 0
+     */
+    private int startPosition;
+
+    private int blockIndex;
+
+    private IntDataBlock block;
+
+    /**
+     * 当前数据块的堆内数组，视图数据块为 null，通过 block.get 读取
+     */
+    private int[] data;
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * 当前数据块遍历范围内的最大值
+     */
+    private long fence;
+
+    public IntPartitionCursor(IntDataPartition dataPartition) {
+        this(dataPartition.getDataBlocks(), 0, 0, dataPartition.getDataBlocks().size(), 0);
+    }
+
+    /**
+     * 遍历分区的一个子区间 [(startBlock, startPosition), (endBlock, endPosition))
+     * @param blocks 分区数据块
+     * @param startBlock 起始数据块
+     * @param startPosition 起始数据块内下标
+     * @param endBlock 结束数据块，可以等于 blocks.size()
+     * @param endPosition 结束数据块内下标（不含）
+     */
+    public IntPartitionCursor(List<IntDataBlock> blocks, int startBlock, int startPosition, int endBlock, int endPosition) {
+        this.blocks = blocks;
+        this.blockIndex = startBlock - 1;
+        this.startPosition = startPosition;
+        this.endBlock = endBlock;
+        this.endPosition = endPosition;
+    }
+
+    @Override
+    public long next() {
+        while (position == limit) {
+            int nextBlock = blockIndex + 1;
+            if (nextBlock > endBlock || nextBlock >= blocks.size()) {
+                return EXHAUSTED;
+            }
+            blockIndex = nextBlock;
+            block = blocks.get(nextBlock);
+            data = block.getData();
+            position = startPosition;
+            startPosition = 0;
+            limit = nextBlock == endBlock ? endPosition : block.size();
+            // 整块遍历时直接使用索引中的最大值
+            if (position < limit) {
+                fence = limit == block.size() ? block.max() : block.get(limit - 1);
+            }
+        }
+        return data != null ? data[position++] : block.get(position++);
+    }
+
+    @Override
+    public int countBelow(long bound) {
+        int from = position;
+        if (from == limit || at(from) >= bound) {
+            return 0;
+        }
+        // 栅栏：整块剩余部分都小于 bound
+        if (fence < bound) {
+            return limit - from;
+        }
+        // 倍增查找，保证 at(from + low) < bound <= at(from + high)
+        int low = 0;
+        int step = 1;
+        while (from + step < limit && at(from + step) < bound) {
+            low = step;
+            step <<= 1;
+        }
+        int high = Math.min(step, limit - 1 - from);
+        while (low + 1 < high) {
+            int mid = (low + high) >>> 1;
+            if (at(from + mid) < bound) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    public void copyTo(int[] dst, int offset, int length) {
+        block.copyTo(position, dst, offset, length);
+        position += length;
+    }
+
+    private int at(int index) {
+        return data != null ? data[index] : block.get(index);
+    }
+}
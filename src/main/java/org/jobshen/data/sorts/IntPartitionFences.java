@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.List;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * IntPartitionFences Description:
+ *  分区的数据块栅栏索引：每个数据块的最大值和起始下标
+ *  先按栅栏二分定位数据块，再在块内二分，O(log B + log n) 求任意值在分区中的排名
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 15:05
+ * @since JDK 1.8
+ */
+public final class IntPartitionFences {
+
+    private final List<IntDataBlock> blocks;
+
+    /**
+     * 各数据块最大值，空数据块沿用前一个数据块的最大值，保证单调不减
+     */
+    private final int[] maxs;
+
+    /**
+     * starts[i] 为第 i 个数据块之前的元素个数，starts[blocks.size()] 为分区元素总数
+     */
+    private final long[] starts;
+
+    /**
+     * 第一个非空数据块的最小值，分区为空时为 Integer.MAX_VALUE
+     */
+    private final int min;
+
+    public IntPartitionFences(IntDataPartition dataPartition) {
+        this.blocks = dataPartition.getDataBlocks();
+        this.maxs = new int[blocks.size()];
+        this.starts = new long[blocks.size() + 1];
+        int max = Integer.MIN_VALUE;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < blocks.size(); i++) {
+            IntDataBlock block = blocks.get(i);
+            if (block.size() > 0) {
+                if (starts[i] == 0) {
+                    min = block.min();
+                }
+                max = block.max();
+            }
+            maxs[i] = max;
+            starts[i + 1] = starts[i] + block.size();
+        }
+        this.min = min;
+    }
+
+    public long size() {
+        return starts[blocks.size()];
+    }
+
+    /**
+     * @return 分区最小值，分区为空时为 Integer.MAX_VALUE
+     */
+    public int min() {
+        return min;
+    }
+
+    /**
+     * @return 分区最大值，分区为空时为 Integer.MIN_VALUE
+     */
+    public int max() {
+        return maxs.length == 0 ? Integer.MIN_VALUE : maxs[maxs.length - 1];
+    }
+
+    /**
+     * @param value 目标值
+     * @return 分区中严格小于 value 的元素个数
+     */
+    public long rank(long value) {
+        // 第一个最大值 >= value 的数据块
+        int low = 0;
+        int high = maxs.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxs[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == maxs.length) {
+            return size();
+        }
+        return starts[low] + lowerBound(blocks.get(low), value);
+    }
+
+    /**
+     * @param index 分区内下标，[0, size())
+     * @return 该下标处的元素
+     */
+    public int get(long index) {
+        int block = blockOf(index);
+        return blocks.get(block).get((int) (index - starts[block]));
+    }
+
+    /**
+     * @param from 起始下标
+     * @param to 结束下标（不含）
+     * @return 遍历分区 [from, to) 的游标
+     */
+    public IntPartitionCursor cursor(long from, long to) {
+        int startBlock = blockOf(from);
+        int endBlock = blockOf(to);
+        return new IntPartitionCursor(blocks, startBlock, (int) (from - starts[startBlock]),
+            endBlock, (int) (to - starts[endBlock]));
+    }
+
+    /**
+     * @return 满足 starts[b] <= index 的最大 b
+     */
+    private int blockOf(long index) {
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(IntDataBlock block, long value) {
+        int low = 0;
+        int high = block.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (block.get(mid) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
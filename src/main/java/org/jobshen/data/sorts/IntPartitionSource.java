@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import java.util.List;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * IntPartitionSource Description:
+ *  按数据块顺序读取分区，视图数据块通过 IntDataBlock.copyTo 批量读取
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 20:28
+ * @since JDK 1.8
+ */
+final class IntPartitionSource implements IntSource {
+
+    private final List<IntDataBlock> blocks;
+
+    private int blockIndex;
+
+    private int position;
+
+    IntPartitionSource(IntDataPartition dataPartition) {
+        this.blocks = dataPartition.getDataBlocks();
+    }
+
+    @Override
+    public int read(int[] dst, int offset, int length) {
+        while (blockIndex < blocks.size()) {
+            IntDataBlock block = blocks.get(blockIndex);
+            int n = Math.min(length, block.size() - position);
+            if (n > 0) {
+                block.copyTo(position, dst, offset, n);
+                position += n;
+                return n;
+            }
+            blockIndex++;
+            position = 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.Queue;
+
+/**
+ * IntQueueCursor Description:
+ *  有序队列的游标，按 FIFO 顺序弹出元素
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 13:10
+ * @since JDK 1.8
+ */
+public class IntQueueCursor extends IntCursor {
+
+    private final Queue<Integer> queue;
+
+    public IntQueueCursor(Queue<Integer> queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public long next() {
+        Integer value = queue.poll();
+        return value == null ? EXHAUSTED : value;
+    }
+}
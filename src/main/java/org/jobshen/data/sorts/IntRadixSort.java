@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import org.jobshen.data.metrics.SortPhase;
+
+/**
+ * IntRadixSort Description:
+ *  并行 LSD 基数排序，每趟按 8 位分配，共 4 趟，最高位字节翻转符号位使负数排在前面
+ *  每趟先由各线程统计自己那段数据的直方图，前缀和得到每段每个桶的起始位置，再各自分配到输出数组，
+ *  各段写入互不重叠的位置，不需要同步，分配是稳定的；所有元素落在同一个桶的趟直接跳过
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 11:20
+ * @since JDK 1.8
+ */
+final class IntRadixSort {
+
+    private static final int RADIX_BITS = 8;
+
+    private static final int BUCKETS = 1 << RADIX_BITS;
+
+    private static final int MASK = BUCKETS - 1;
+
+    private static final int PASSES = Integer.SIZE / RADIX_BITS;
+
+    /**
+     * 每段最少元素个数，更小的段统计和调度开销大于并行收益
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    private IntRadixSort() {
+    }
+
+    /**
+     * @param data 待排序数据，会被修改
+     * @param executor 线程池
+     * @param parallelism 最大并行度，含调用线程
+     * @param context 取消与截止时间，每趟之间检查
+     * @param trace 观测状态
+     * @return 排序结果，为 data 或另一个同样大小的数组
+     */
+    static int[] sort(int[] data, Executor executor, int parallelism, SortContext context, SortTrace trace) {
+        int n = data.length;
+        int chunks = Math.max(1, Math.min(parallelism, n / MIN_CHUNK_SIZE));
+        int[][] counts = new int[chunks][BUCKETS];
+        int[] src = data;
+        int[] dst = null;
+        for (int pass = 0; pass < PASSES; pass++) {
+            final int shift = pass * RADIX_BITS;
+            final int flip = pass == PASSES - 1 ? BUCKETS >>> 1 : 0;
+            final int[] from = src;
+            TaskGroup.run(executor, parallelism, chunks, trace.tasks(SortPhase.RADIX, c -> {
+                int[] count = counts[c];
+                Arrays.fill(count, 0);
+                for (int i = start(c, chunks, n), end = start(c + 1, chunks, n); i < end; i++) {
+                    count[(from[i] >>> shift & MASK) ^ flip]++;
+                }
+            }), context);
+            if (singleBucket(counts, n)) {
+                continue;
+            }
+            // 桶优先、段其次的前缀和，counts[c][b] 变为第 c 段第 b 个桶的写入位置
+            int position = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                for (int c = 0; c < chunks; c++) {
+                    int count = counts[c][b];
+                    counts[c][b] = position;
+                    position += count;
+                }
+            }
+            if (dst == null) {
+                dst = new int[n];
+            }
+            final int[] to = dst;
+            TaskGroup.run(executor, parallelism, chunks, trace.tasks(SortPhase.RADIX, c -> {
+                int[] offset = counts[c];
+                for (int i = start(c, chunks, n), end = start(c + 1, chunks, n); i < end; i++) {
+                    int value = from[i];
+                    to[offset[(value >>> shift & MASK) ^ flip]++] = value;
+                }
+            }), context);
+            dst = src;
+            src = to;
+        }
+        return src;
+    }
+
+    private static int start(int chunk, int chunks, int n) {
+        return (int) ((long) n * chunk / chunks);
+    }
+
+    private static boolean singleBucket(int[][] counts, int n) {
+        for (int b = 0; b < BUCKETS; b++) {
+            int total = 0;
+            for (int[] count : counts) {
+                total += count[b];
+            }
+            if (total != 0) {
+                return total == n;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * IntRangeMerge Description:
+ *  按键值范围切分的归并（sample sort 思路）：
+ *  1. 从各分区采样，选出 P - 1 个分割值，把键空间切成 P 个不相交的区间
+ *  2. 在每个分区中按栅栏二分出各分割值的位置
+ *  3. 各区间的元素个数求前缀和，得到其在结果数组中的偏移
+ *  各区间互不依赖，可以并行归并到同一个结果数组；相等元素总落在同一区间，去重也不跨区间
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 15:40
+ * @since JDK 1.8
+ */
+public final class IntRangeMerge {
+
+    /**
+     * 归并时每输出这么多元素检查一次取消
+     */
+    private static final int CHECKPOINT_INTERVAL = 1 << 16;
+
+    /**
+     * 每个区间的采样个数
+     */
+    private static final int OVERSAMPLE = 32;
+
+    private final List<IntPartitionFences> fences;
+
+    private final boolean allowDuplicate;
+
+    /**
+     * 区间 r 为 [splitters[r - 1], splitters[r])，首尾区间无界
+     */
+    private final long[] splitters;
+
+    /**
+     * cuts[p][r] 为第 r 个区间在分区 p 中的起始下标，cuts[p][ranges] 为分区大小
+     */
+    private final long[][] cuts;
+
+    /**
+     * offsets[r] 为第 r 个区间在结果中的偏移，offsets[ranges] 为元素总数
+     */
+    private final long[] offsets;
+
+    public IntRangeMerge(List<IntDataPartition> dataPartitions, int ranges, boolean allowDuplicate) {
+        this.allowDuplicate = allowDuplicate;
+        this.fences = new ArrayList<>(dataPartitions.size());
+        for (IntDataPartition dataPartition : dataPartitions) {
+            fences.add(new IntPartitionFences(dataPartition));
+        }
+        this.splitters = splitters(fences, ranges);
+        int rangeSize = splitters.length + 1;
+        this.cuts = new long[fences.size()][];
+        this.offsets = new long[rangeSize + 1];
+        for (int p = 0; p < fences.size(); p++) {
+            IntPartitionFences fence = fences.get(p);
+            long[] cut = new long[rangeSize + 1];
+            for (int r = 1; r < rangeSize; r++) {
+                cut[r] = fence.rank(splitters[r - 1]);
+            }
+            cut[rangeSize] = fence.size();
+            for (int r = 0; r < rangeSize; r++) {
+                offsets[r + 1] += cut[r + 1] - cut[r];
+            }
+            cuts[p] = cut;
+        }
+        for (int r = 0; r < rangeSize; r++) {
+            offsets[r + 1] += offsets[r];
+        }
+    }
+
+    /**
+     * 按元素个数比例从各分区等距采样，排序后取等分点作为分割值
+     * @param fences 分区栅栏
+     * @param ranges 期望的区间个数
+     * @return 升序且不重复的分割值，个数不超过 ranges - 1
+     */
+    public static long[] splitters(List<IntPartitionFences> fences, int ranges) {
+        long total = 0;
+        for (IntPartitionFences fence : fences) {
+            total += fence.size();
+        }
+        if (ranges <= 1 || total == 0) {
+            return new long[0];
+        }
+        long sampleSize = (long) ranges * OVERSAMPLE;
+        int[] samples = new int[(int) Math.min(Integer.MAX_VALUE - 8, sampleSize + fences.size())];
+        int count = 0;
+        for (IntPartitionFences fence : fences) {
+            long size = fence.size();
+            if (size == 0) {
+                continue;
+            }
+            long picks = Math.max(1, sampleSize * size / total);
+            for (long i = 0; i < picks && count < samples.length; i++) {
+                samples[count++] = fence.get((2 * i + 1) * size / (2 * picks));
+            }
+        }
+        Arrays.sort(samples, 0, count);
+        long[] splitters = new long[ranges - 1];
+        int size = 0;
+        for (int r = 1; r < ranges; r++) {
+            long splitter = samples[(int) ((long) r * count / ranges)];
+            if (size == 0 || splitter > splitters[size - 1]) {
+                splitters[size++] = splitter;
+            }
+        }
+        return Arrays.copyOf(splitters, size);
+    }
+
+    /**
+     * @return 实际区间个数，分割值重复时可能少于期望值
+     */
+    public int ranges() {
+        return splitters.length + 1;
+    }
+
+    /**
+     * @return 所有分区元素总数（含重复）
+     */
+    public long size() {
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * @param range 区间下标
+     * @return 该区间在结果中的偏移（未去重）
+     */
+    public long offset(int range) {
+        return offsets[range];
+    }
+
+    /**
+     * @param range 区间下标
+     * @return 该区间的元素个数（未去重）
+     */
+    public long rangeSize(int range) {
+        return offsets[range + 1] - offsets[range];
+    }
+
+    /**
+     * @param range 区间下标
+     * @return 该区间在各分区中对应子区间的游标
+     */
+    public IntCursor[] cursors(int range) {
+        List<IntCursor> list = new ArrayList<>();
+        for (int p = 0; p < fences.size(); p++) {
+            long from = cuts[p][range];
+            long to = cuts[p][range + 1];
+            if (from < to) {
+                list.add(fences.get(p).cursor(from, to));
+            }
+        }
+        return list.toArray(new IntCursor[0]);
+    }
+
+    /**
+     * 归并一个区间，写入 dst[offset, offset + rangeSize(range))
+     * @param range 区间下标
+     * @param dst 目标数组
+     * @param offset 起始下标
+     * @return 实际写入个数，不允许重复时可能小于 rangeSize(range)
+     */
+    public int mergeRange(int range, int[] dst, int offset) {
+        IntMerger merger = new IntMerger(cursors(range), allowDuplicate, true);
+        return merger.drain(dst, offset, (int) rangeSize(range));
+    }
+
+    /**
+     * 同 {@link #mergeRange(int, int[], int)}，分段归并，每段之间检查取消与截止时间
+     * @param range 区间下标
+     * @param dst 目标数组
+     * @param offset 起始下标
+     * @param context 取消与截止时间
+     * @return 实际写入个数
+     */
+    public int mergeRange(int range, int[] dst, int offset, SortContext context) {
+        return mergeRange(range, dst, offset, context, null);
+    }
+
+    /**
+     * 同 {@link #mergeRange(int, int[], int, SortContext)}，结束后把归并计数累加到 trace
+     * @param trace 观测状态，可以为 null
+     */
+    int mergeRange(int range, int[] dst, int offset, SortContext context, SortTrace trace) {
+        IntMerger merger = new IntMerger(cursors(range), allowDuplicate, true);
+        int remaining = (int) rangeSize(range);
+        int written = 0;
+        while (remaining > 0) {
+            context.checkpoint();
+            int n = merger.drain(dst, offset + written, Math.min(remaining, CHECKPOINT_INTERVAL));
+            if (n == 0) {
+                break;
+            }
+            written += n;
+            remaining -= n;
+        }
+        if (trace != null) {
+            trace.merged(merger);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * IntRingBuffer Description:
+ *  单生产者单消费者的有界 int 环形缓冲，无锁：双方各自推进自己的位置，以 lazySet 发布，
+ *  并缓存对方位置，只有缓存值显示空间或数据不足时才读取对方的 volatile 位置
+ *  缓冲满时生产者等待，形成背压；等待依次自旋、让出 CPU、短暂休眠，期间检查 SortContext
+ *  生产者和消费者各只能有一个线程
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 20:10
+ * @since JDK 1.8
+ */
+public final class IntRingBuffer {
+
+    private static final int SPIN_ROUNDS = 64;
+
+    private static final int YIELD_ROUNDS = 128;
+
+    private static final long PARK_NANOS = 20_000L;
+
+    /**
+     * 消费位置、生产位置在 positions 中的下标，间隔 16 个 long，避免两者落在同一缓存行上
+     */
+    private static final int HEAD = 7;
+
+    private static final int TAIL = 23;
+
+    private final int[] buffer;
+
+    private final int mask;
+
+    private final AtomicLongArray positions = new AtomicLongArray(TAIL + 8);
+
+    /**
+     * 生产者私有：写入位置、最近读到的消费位置
+     */
+    private long tail;
+
+    private long cachedHead;
+
+    /**
+     * 消费者私有：读取位置、最近读到的生产位置
+     */
+    private long head;
+
+    private long cachedTail;
+
+    private volatile boolean closed;
+
+    /**
+     * @param capacity 容量，2 的幂
+     */
+    public IntRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.buffer = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * 生产者调用，不等待
+     * @param src 数据
+     * @param offset 起始下标
+     * @param length 个数
+     * @return 实际写入个数，缓冲满时为 0
+     */
+    public int offer(int[] src, int offset, int length) {
+        long free = buffer.length - (tail - cachedHead);
+        if (free < length) {
+            cachedHead = positions.get(HEAD);
+            free = buffer.length - (tail - cachedHead);
+        }
+        int n = (int) Math.min(length, free);
+        if (n == 0) {
+            return 0;
+        }
+        int index = (int) tail & mask;
+        int first = Math.min(n, buffer.length - index);
+        System.arraycopy(src, offset, buffer, index, first);
+        System.arraycopy(src, offset + first, buffer, 0, n - first);
+        tail += n;
+        positions.lazySet(TAIL, tail);
+        return n;
+    }
+
+    /**
+     * 生产者调用，缓冲满时等待消费者取走数据
+     * @param src 数据
+     * @param offset 起始下标
+     * @param length 个数
+     * @param context 取消与截止时间
+     * @throws java.util.concurrent.CancellationException 等待期间已取消或超时
+     */
+    public void put(int[] src, int offset, int length, SortContext context) {
+        int round = 0;
+        while (length > 0) {
+            int n = offer(src, offset, length);
+            if (n == 0) {
+                idle(round++, context);
+            } else {
+                offset += n;
+                length -= n;
+                round = 0;
+            }
+        }
+    }
+
+    /**
+     * 生产者调用，之后不再写入
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * 消费者调用，不等待
+     * @param dst 目标数组
+     * @param offset 起始下标
+     * @param length 最大个数
+     * @return 实际读取个数，缓冲为空时为 0
+     */
+    public int poll(int[] dst, int offset, int length) {
+        long available = cachedTail - head;
+        if (available < length) {
+            cachedTail = positions.get(TAIL);
+            available = cachedTail - head;
+        }
+        int n = (int) Math.min(length, available);
+        if (n == 0) {
+            return 0;
+        }
+        int index = (int) head & mask;
+        int first = Math.min(n, buffer.length - index);
+        System.arraycopy(buffer, index, dst, offset, first);
+        System.arraycopy(buffer, 0, dst, offset + first, n - first);
+        head += n;
+        positions.lazySet(HEAD, head);
+        return n;
+    }
+
+    /**
+     * 消费者调用，缓冲为空时等待生产者写入
+     * @param dst 目标数组
+     * @param offset 起始下标
+     * @param length 最大个数，大于 0
+     * @param context 取消与截止时间
+     * @return 实际读取个数，生产者已关闭且缓冲为空时返回 -1
+     * @throws java.util.concurrent.CancellationException 等待期间已取消或超时
+     */
+    public int take(int[] dst, int offset, int length, SortContext context) {
+        int round = 0;
+        while (true) {
+            // 先读关闭标记：关闭前的写入此时都已可见，关闭后仍为空才算结束
+            boolean finished = closed;
+            int n = poll(dst, offset, length);
+            if (n > 0) {
+                return n;
+            }
+            if (finished) {
+                return -1;
+            }
+            idle(round++, context);
+        }
+    }
+
+    /**
+     * 等待策略：短时间自旋，随后让出 CPU，再之后每轮休眠并检查取消
+     * @param round 连续等待的轮数
+     * @param context 取消与截止时间
+     */
+    static void idle(int round, SortContext context) {
+        if (round < SPIN_ROUNDS) {
+            return;
+        }
+        if (round < YIELD_ROUNDS) {
+            Thread.yield();
+            return;
+        }
+        context.checkpoint();
+        LockSupport.parkNanos(PARK_NANOS);
+    }
+}
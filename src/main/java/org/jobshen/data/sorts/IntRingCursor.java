@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+/**
+ * IntRingCursor Description:
+ *  IntRingBuffer 消费端的游标，每次从环形缓冲批量取出一段放入本地数组
+ *  本地数组中的一段相当于一个数据块，同样支持按栅栏整段拷贝
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 20:20
+ * @since JDK 1.8
+ */
+public class IntRingCursor extends IntCursor {
+
+    private final IntRingBuffer ring;
+
+    private final SortContext context;
+
+    private final int[] data;
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * @param ring 环形缓冲，本游标为其唯一消费者
+     * @param batchSize 每次取出的最大元素个数
+     * @param context 取消与截止时间，等待生产者时检查
+     */
+    public IntRingCursor(IntRingBuffer ring, int batchSize, SortContext context) {
+        this.ring = ring;
+        this.context = context;
+        this.data = new int[batchSize];
+    }
+
+    @Override
+    public long next() {
+        if (position == limit && !fill()) {
+            return EXHAUSTED;
+        }
+        return data[position++];
+    }
+
+    @Override
+    public int countBelow(long bound) {
+        int from = position;
+        if (from == limit || data[from] >= bound) {
+            return 0;
+        }
+        if (data[limit - 1] < bound) {
+            return limit - from;
+        }
+        int low = from;
+        int high = limit - 1;
+        while (low + 1 < high) {
+            int mid = (low + high) >>> 1;
+            if (data[mid] < bound) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high - from;
+    }
+
+    @Override
+    public void copyTo(int[] dst, int offset, int length) {
+        System.arraycopy(data, position, dst, offset, length);
+        position += length;
+    }
+
+    private boolean fill() {
+        int n = ring.take(data, 0, data.length, context);
+        if (n < 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.io.IOException;
+
+/**
+ * IntSink Description:
+ *  有序结果的接收方，归并按段推送输出，不需要物化完整结果
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 18:02
+ * @since JDK 1.8
+ */
+@FunctionalInterface
+public interface IntSink {
+
+    /**
+     * 接收一段有序数据，调用返回后 buffer 会被复用
+     * @param buffer 数据
+     * @param offset 起始下标
+     * @param length 个数
+     * @throws IOException 写出失败
+     */
+    void write(int[] buffer, int offset, int length) throws IOException;
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * IntSource Description:
+ *  流水线的有序输入，按段拉取，可以来自内存分区或磁盘文件
+ *  只由一个加载线程读取，不需要线程安全
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 20:25
+ * @since JDK 1.8
+ */
+public interface IntSource extends Closeable {
+
+    /**
+     * 读取下一段有序数据
+     * @param dst 目标数组
+     * @param offset 起始下标
+     * @param length 最大个数
+     * @return 实际读取个数，已读完时返回 -1
+     * @throws IOException 读取失败
+     */
+    int read(int[] dst, int offset, int length) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * @param dataPartition 分区，可以是内存映射文件等视图分区，读取发生在加载线程上
+     * @return 按数据块顺序读取分区的输入
+     */
+    static IntSource of(IntDataPartition dataPartition) {
+        return new IntPartitionSource(dataPartition);
+    }
+
+    /**
+     * @param file IntFileSink 格式的有序文件
+     * @param bufferSize 读缓冲字节数
+     * @return 顺序读取文件的输入
+     * @throws IOException 打开文件失败
+     */
+    static IntSource of(Path file, int bufferSize) throws IOException {
+        return new IntFileSource(file, bufferSize);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+/**
+ * LongCursor Description:
+ *  64 位键有序输入的游标，LongMerger 的输入
+ *  键取满 long 范围，没有可用的耗尽标记，因此 next 只前移并返回是否还有元素，当前键和载荷分别读取
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 21:20
+ * @since JDK 1.8
+ */
+public abstract class LongCursor {
+
+    /**
+     * 前移到下一个元素
+     * @return 是否还有元素
+     */
+    public abstract boolean next();
+
+    /**
+     * @return 当前元素的键，调用前 next 须返回 true
+     */
+    public abstract long key();
+
+    /**
+     * @return 当前元素的载荷，没有载荷时为 0
+     */
+    public abstract long payload();
+
+    /**
+     * 当前数据块中紧随当前元素之后、键严格小于 bound 的元素个数，用于整段拷贝
+     * @param bound 上界，一般为其它游标当前键中的最小值
+     * @return 可整段拷贝的元素个数，不支持整段拷贝时返回 0
+     */
+    public int countBelow(long bound) {
+        return 0;
+    }
+
+    /**
+     * 将当前元素之后的 length 个元素拷贝出来并前移游标，length 不超过 {@link #countBelow(long)} 的返回值
+     * @param keys 目标键数组
+     * @param payloads 目标载荷数组，为 null 时只拷贝键
+     * @param offset 起始下标
+     * @param length 拷贝个数
+     */
+    public void copyTo(long[] keys, long[] payloads, int offset, int length) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+/**
+ * LongKeys Description:
+ *  两个 int 组成的复合键与 64 位键之间的转换，打包后的 long 按 (high, low) 字典序比较，
+ *  多键排序可以直接使用 64 位键的归并路径
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 21:50
+ * @since JDK 1.8
+ */
+public final class LongKeys {
+
+    private LongKeys() {
+    }
+
+    /**
+     * 低 32 位翻转符号位，使有符号的 low 按无符号比较时顺序不变
+     * @param high 第一关键字
+     * @param low 第二关键字
+     * @return 复合键
+     */
+    public static long pack(int high, int low) {
+        return ((long) high << 32) | ((low ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    public static int high(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int low(long key) {
+        return (int) key ^ Integer.MIN_VALUE;
+    }
+}
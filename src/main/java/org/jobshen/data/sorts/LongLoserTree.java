@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+/**
+ * LongLoserTree Description:
+ *  64 位键的 K 路败者树，结构同 IntLoserTree
+ *  键取满 long 范围，没有大于所有键的哨兵：耗尽的游标键置为 Long.MAX_VALUE 并另加标记，
+ *  只有键相等时才查看标记，耗尽的游标永远输给未耗尽的游标
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 21:30
+ * @since JDK 1.8
+ */
+public final class LongLoserTree {
+
+    private final LongCursor[] cursors;
+
+    /**
+     * 各游标当前键
+     */
+    private final long[] keys;
+
+    private final boolean[] exhausted;
+
+    private final int[] tree;
+
+    private final int k;
+
+    public LongLoserTree(LongCursor[] cursors) {
+        this.cursors = cursors;
+        this.k = cursors.length;
+        this.keys = new long[Math.max(k, 1)];
+        this.exhausted = new boolean[Math.max(k, 1)];
+        this.tree = new int[Math.max(k, 1)];
+        if (k == 0) {
+            keys[0] = Long.MAX_VALUE;
+            exhausted[0] = true;
+            return;
+        }
+        for (int i = 0; i < k; i++) {
+            load(i);
+        }
+        // 自底向上比赛，winners[n] 为节点 n 子树的胜者
+        int[] winners = new int[2 * k];
+        for (int i = 0; i < k; i++) {
+            winners[k + i] = i;
+        }
+        for (int n = k - 1; n > 0; n--) {
+            int left = winners[2 * n];
+            int right = winners[2 * n + 1];
+            if (beats(right, left)) {
+                winners[n] = right;
+                tree[n] = left;
+            } else {
+                winners[n] = left;
+                tree[n] = right;
+            }
+        }
+        tree[0] = winners[1];
+    }
+
+    /**
+     * @return 当前最小键，调用前需保证未全部耗尽
+     */
+    public long peek() {
+        return keys[tree[0]];
+    }
+
+    /**
+     * @return 当前最小键所在的游标下标
+     */
+    public int winner() {
+        return tree[0];
+    }
+
+    /**
+     * 除胜者外其它游标中当前键最小的一个，即胜者路径上各败者中最小的一个
+     * @return 游标下标，其它游标都已耗尽时返回 -1
+     */
+    public int runnerUp() {
+        int best = -1;
+        for (int n = (tree[0] + k) >>> 1; n > 0; n >>>= 1) {
+            int loser = tree[n];
+            if (!exhausted[loser] && (best < 0 || keys[loser] < keys[best])) {
+                best = loser;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param cursor 游标下标
+     * @return 该游标当前键
+     */
+    public long key(int cursor) {
+        return keys[cursor];
+    }
+
+    /**
+     * 胜者游标前移一位并重赛
+     */
+    public void advance() {
+        int winner = tree[0];
+        load(winner);
+        replay(winner);
+    }
+
+    public boolean isEmpty() {
+        return exhausted[tree[0]];
+    }
+
+    private void load(int cursor) {
+        if (cursors[cursor].next()) {
+            keys[cursor] = cursors[cursor].key();
+        } else {
+            keys[cursor] = Long.MAX_VALUE;
+            exhausted[cursor] = true;
+        }
+    }
+
+    private void replay(int leaf) {
+        int winner = leaf;
+        for (int n = (leaf + k) >>> 1; n > 0; n >>>= 1) {
+            int loser = tree[n];
+            if (beats(loser, winner)) {
+                tree[n] = winner;
+                winner = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    private boolean beats(int a, int b) {
+        return keys[a] < keys[b] || keys[a] == keys[b] && exhausted[b] && !exhausted[a];
+    }
+}
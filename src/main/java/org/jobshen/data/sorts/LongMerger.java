@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import java.util.List;
+
+import org.jobshen.data.module.LongDataPartition;
+
+/**
+ * LongMerger Description:
+ *  64 位键的 K 路归并引擎，结构同 IntMerger，结果直接写入调用方提供的 long[]，过程中不产生对象
+ *  只要键时走只写键数组的路径；要键 + 载荷时载荷写入平行的 long[]，与键一起比较、整段拷贝
+ *  不允许重复时每个键保留最先输出的那条记录
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 21:40
+ * @since JDK 1.8
+ */
+public class LongMerger {
+
+    /**
+     * 连续拷贝失败后最多跳过的尝试次数
+     */
+    private static final int MAX_BACKOFF = 64;
+
+    private final LongCursor[] cursors;
+
+    private final LongLoserTree tree;
+
+    private final boolean allowDuplicate;
+
+    private final boolean bulkCopy;
+
+    private int backoff;
+
+    private int skip;
+
+    private boolean hasLast;
+
+    private long last;
+
+    private long comparedCount;
+
+    private long copiedCount;
+
+    public LongMerger(List<LongDataPartition> dataPartitions, boolean allowDuplicate) {
+        this(cursors(dataPartitions), allowDuplicate, false);
+    }
+
+    /**
+     * @param cursors 输入游标
+     * @param allowDuplicate 是否允许重复元素
+     * @param bulkCopy 是否按数据块栅栏整段拷贝，不允许重复时要求各游标数据块内键严格递增
+     */
+    public LongMerger(LongCursor[] cursors, boolean allowDuplicate, boolean bulkCopy) {
+        this.cursors = cursors;
+        this.tree = new LongLoserTree(cursors);
+        this.allowDuplicate = allowDuplicate;
+        this.bulkCopy = bulkCopy;
+    }
+
+    /**
+     * 只输出键，至多 length 个
+     * @param keys 目标数组
+     * @param offset 起始下标
+     * @param length 最大输出个数
+     * @return 实际输出个数，小于 length 说明已全部输出
+     */
+    public int drain(long[] keys, int offset, int length) {
+        int written = 0;
+        while (written < length && !tree.isEmpty()) {
+            long key = tree.peek();
+            comparedCount++;
+            if (allowDuplicate || !hasLast || key != last) {
+                keys[offset + written++] = key;
+                last = key;
+                hasLast = true;
+            }
+            if (bulkCopy && written < length && --skip < 0) {
+                written += copyRun(keys, null, offset + written, length - written);
+            }
+            tree.advance();
+        }
+        return written;
+    }
+
+    /**
+     * 输出键及对应载荷，至多 length 条
+     * @param keys 目标键数组
+     * @param payloads 目标载荷数组，与 keys 同一下标
+     * @param offset 起始下标
+     * @param length 最大输出条数
+     * @return 实际输出条数，小于 length 说明已全部输出
+     */
+    public int drain(long[] keys, long[] payloads, int offset, int length) {
+        int written = 0;
+        while (written < length && !tree.isEmpty()) {
+            long key = tree.peek();
+            comparedCount++;
+            if (allowDuplicate || !hasLast || key != last) {
+                keys[offset + written] = key;
+                payloads[offset + written++] = cursors[tree.winner()].payload();
+                last = key;
+                hasLast = true;
+            }
+            if (bulkCopy && written < length && --skip < 0) {
+                written += copyRun(keys, payloads, offset + written, length - written);
+            }
+            tree.advance();
+        }
+        return written;
+    }
+
+    /**
+     * 胜者游标中小于次小键的部分都比其它游标小，可以整段输出
+     * 其它游标都已耗尽时以 Long.MAX_VALUE 为界，等于该值的元素逐个输出
+     */
+    private int copyRun(long[] keys, long[] payloads, int offset, int capacity) {
+        LongCursor cursor = cursors[tree.winner()];
+        int runnerUp = tree.runnerUp();
+        int count = cursor.countBelow(runnerUp < 0 ? Long.MAX_VALUE : tree.key(runnerUp));
+        if (count == 0) {
+            backoff = Math.min(backoff * 2 + 1, MAX_BACKOFF);
+            skip = backoff;
+            return 0;
+        }
+        backoff = 0;
+        skip = 0;
+        count = Math.min(count, capacity);
+        cursor.copyTo(keys, payloads, offset, count);
+        copiedCount += count;
+        last = keys[offset + count - 1];
+        return count;
+    }
+
+    /**
+     * @return 经败者树逐个比较输出（含去重丢弃）的元素个数
+     */
+    public long comparedCount() {
+        return comparedCount;
+    }
+
+    /**
+     * @return 按栅栏整段拷贝输出的元素个数
+     */
+    public long copiedCount() {
+        return copiedCount;
+    }
+
+    public boolean isExhausted() {
+        return tree.isEmpty();
+    }
+
+    private static LongCursor[] cursors(List<LongDataPartition> dataPartitions) {
+        LongCursor[] cursors = new LongCursor[dataPartitions.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new LongPartitionCursor(dataPartitions.get(i));
+        }
+        return cursors;
+    }
+}
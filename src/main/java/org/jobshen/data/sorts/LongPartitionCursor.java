@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import java.util.List;
+
+import org.jobshen.data.module.LongDataBlock;
+import org.jobshen.data.module.LongDataPartition;
+
+/**
+ * LongPartitionCursor Description:
+ *  按顺序遍历一个 64 位键分区内所有数据块的游标，直接读取 long[]，载荷随键一起前移
+ *  以数据块最大键作为栅栏整块拷贝，否则倍增查找可拷贝的前缀
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 21:25
+ * @since JDK 1.8
+ */
+public class LongPartitionCursor extends LongCursor {
+
+    private final List<LongDataBlock> blocks;
+
+    private int blockIndex = -1;
+
+    private long[] keys;
+
+    private long[] payloads;
+
+    /**
+     * 当前元素之后的下一个下标
+     */
+    private int position;
+
+    private int limit;
+
+    private long key;
+
+    private long payload;
+
+    public LongPartitionCursor(LongDataPartition dataPartition) {
+        this.blocks = dataPartition.getDataBlocks();
+    }
+
+    @Override
+    public boolean next() {
+        while (position == limit) {
+            if (blockIndex + 1 >= blocks.size()) {
+                return false;
+            }
+            LongDataBlock block = blocks.get(++blockIndex);
+            keys = block.getKeys();
+            payloads = block.getPayloads();
+            position = 0;
+            limit = keys.length;
+        }
+        key = keys[position];
+        if (payloads != null) {
+            payload = payloads[position];
+        }
+        position++;
+        return true;
+    }
+
+    @Override
+    public long key() {
+        return key;
+    }
+
+    @Override
+    public long payload() {
+        return payload;
+    }
+
+    @Override
+    public int countBelow(long bound) {
+        int from = position;
+        if (from == limit || keys[from] >= bound) {
+            return 0;
+        }
+        // 栅栏：整块剩余部分都小于 bound
+        if (keys[limit - 1] < bound) {
+            return limit - from;
+        }
+        // 倍增查找，保证 keys[from + low] < bound <= keys[from + high]
+        int low = 0;
+        int step = 1;
+        while (from + step < limit && keys[from + step] < bound) {
+            low = step;
+            step <<= 1;
+        }
+        int high = Math.min(step, limit - 1 - from);
+        while (low + 1 < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[from + mid] < bound) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    public void copyTo(long[] dstKeys, long[] dstPayloads, int offset, int length) {
+        System.arraycopy(keys, position, dstKeys, offset, length);
+        if (dstPayloads != null) {
+            System.arraycopy(payloads, position, dstPayloads, offset, length);
+        }
+        position += length;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+/**
+ * MergeKernels Description:
+ *  选择两路归并内核：运行在 JDK 17+ 且以 --add-modules jdk.incubator.vector 启动时使用向量内核，
+ *  否则（包括 JDK 8、未加载模块、未以 vector profile 编译）退回标量内核
+ *  -Ddatasort.simd=false 强制使用标量内核
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 19:15
+ * @since JDK 1.8
+ */
+public final class MergeKernels {
+
+    private static final String VECTOR_MODULE_PROBE = "jdk.incubator.vector.IntVector";
+
+    private static final String VECTOR_KERNEL = "org.jobshen.data.sorts.simd.VectorMergeKernel";
+
+    private static final TwoWayMergeKernel PREFERRED = load();
+
+    private MergeKernels() {
+    }
+
+    /**
+     * @return 当前 JVM 上可用的最快内核
+     */
+    public static TwoWayMergeKernel preferred() {
+        return PREFERRED;
+    }
+
+    public static TwoWayMergeKernel scalar() {
+        return ScalarMergeKernel.INSTANCE;
+    }
+
+    /**
+     * @return 是否加载了向量内核
+     */
+    public static boolean vectorized() {
+        return PREFERRED != ScalarMergeKernel.INSTANCE;
+    }
+
+    private static TwoWayMergeKernel load() {
+        if (!Boolean.parseBoolean(System.getProperty("datasort.simd", "true"))) {
+            return ScalarMergeKernel.INSTANCE;
+        }
+        try {
+            Class.forName(VECTOR_MODULE_PROBE);
+            return (TwoWayMergeKernel) Class.forName(VECTOR_KERNEL).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // 模块未加载、类版本不支持或未编译向量内核
+            return ScalarMergeKernel.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * MergedIntIterator Description:
+ *  归并结果的惰性迭代器，按需从各游标取数，只缓冲一小段输出
+ *  内存占用为 O(K)，取前 N 个元素后停止迭代即不再读取其余数据
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 16:30
+ * @since JDK 1.8
+ */
+public class MergedIntIterator implements PrimitiveIterator.OfInt {
+
+    private static final int BUFFER_SIZE = 256;
+
+    private final IntMerger merger;
+
+    private final int[] buffer = new int[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    public MergedIntIterator(IntMerger merger) {
+        this.merger = merger;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (position < limit) {
+            return true;
+        }
+        position = 0;
+        limit = merger.drain(buffer, 0, BUFFER_SIZE);
+        return limit > 0;
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        while (hasNext()) {
+            for (int i = position; i < limit; i++) {
+                action.accept(buffer[i]);
+            }
+            position = limit;
+        }
+    }
+}
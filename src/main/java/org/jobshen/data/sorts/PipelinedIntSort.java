@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jobshen.data.metrics.SortListener;
+import org.jobshen.data.metrics.SortPhase;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * PipelinedIntSort Description:
+ *  流水线归并：加载、归并、输出三级在不同线程上同时进行，级间通过有界无锁的 IntRingBuffer 传递 int 段
+ *  1. 加载线程从 IntSource 拉取数据写入各自输入的环形缓冲，一个加载线程轮流服务多个输入，
+ *     某个缓冲满时转去填充其它缓冲，不会因为一个输入阻塞
+ *  2. 归并线程以各环形缓冲为游标做 K 路归并，结果写入输出环形缓冲
+ *  3. 调用线程从输出环形缓冲取出结果交给 IntSink
+ *  缓冲满时上游等待，内存占用固定为 (K + 1) 个环形缓冲加每个输入一段暂存，与数据量无关
+ *  任一级失败或 SortContext 取消时其它级尽快停止，异常在调用线程上重新抛出
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 20:40
+ * @since JDK 1.8
+ */
+public class PipelinedIntSort {
+
+    public static final int DEFAULT_RING_CAPACITY = 1 << 13;
+
+    /**
+     * 加载线程每次从输入读取、归并线程每次输出的最大元素个数
+     */
+    private static final int CHUNK_SIZE = 1 << 11;
+
+    private static final ThreadFactory THREAD_FACTORY =
+        new ThreadFactoryBuilder().setNameFormat("data-sort-pipeline-%d").setDaemon(true).build();
+
+    private final int loaders;
+
+    private final int ringCapacity;
+
+    private final int chunkSize;
+
+    public PipelinedIntSort(int loaders) {
+        this(loaders, DEFAULT_RING_CAPACITY);
+    }
+
+    /**
+     * @param loaders 加载线程数，不超过输入个数
+     * @param ringCapacity 每个环形缓冲的元素个数，2 的幂
+     */
+    public PipelinedIntSort(int loaders, int ringCapacity) {
+        if (loaders < 1) {
+            throw new IllegalArgumentException("loaders must be positive: " + loaders);
+        }
+        if (ringCapacity < 2 || Integer.bitCount(ringCapacity) != 1) {
+            throw new IllegalArgumentException("ring capacity must be a power of two: " + ringCapacity);
+        }
+        this.loaders = loaders;
+        this.ringCapacity = ringCapacity;
+        this.chunkSize = Math.min(CHUNK_SIZE, ringCapacity / 2);
+    }
+
+    /**
+     * @param sources 有序输入，排序结束后全部关闭
+     * @param allowDuplicate 是否允许重复元素
+     * @param sink 有序结果接收方，在调用线程上调用
+     * @param context 取消与截止时间
+     * @return 输出元素个数
+     * @throws IOException 读取输入或写出结果失败
+     * @throws java.util.concurrent.CancellationException 已取消或超时
+     */
+    public long sort(List<? extends IntSource> sources, boolean allowDuplicate, IntSink sink, SortContext context) throws IOException {
+        return sort(sources, allowDuplicate, sink, context, SortTrace.start(SortListener.NOOP, "dataSortPipelined", null, Collections.emptyList()));
+    }
+
+    long sort(List<? extends IntSource> sources, boolean allowDuplicate, IntSink sink, SortContext context, SortTrace trace) throws IOException {
+        // 某一级失败时只取消内部上下文，调用方的上下文可能被其它排序共享
+        SortContext stages = context.child();
+        int k = sources.size();
+        int loaderCount = Math.max(1, Math.min(loaders, k));
+        IntRingBuffer[] rings = new IntRingBuffer[k];
+        IntCursor[] cursors = new IntCursor[k];
+        for (int s = 0; s < k; s++) {
+            rings[s] = new IntRingBuffer(ringCapacity);
+            cursors[s] = new IntRingCursor(rings[s], chunkSize, stages);
+        }
+        IntRingBuffer output = new IntRingBuffer(ringCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>(loaderCount + 1);
+        for (int l = 0; l < loaderCount; l++) {
+            int loader = l;
+            threads.add(stage(() -> {
+                long start = System.nanoTime();
+                load(sources, rings, loader, loaderCount, stages);
+                trace.task(SortPhase.LOAD, loader, start);
+            }, failure, stages));
+        }
+        threads.add(stage(() -> {
+            long start = System.nanoTime();
+            // 不允许重复时数据块内可能有重复元素，整段拷贝会漏掉去重
+            IntMerger merger = new IntMerger(cursors, allowDuplicate, allowDuplicate);
+            int[] chunk = new int[chunkSize];
+            int n;
+            while ((n = merger.drain(chunk, 0, chunk.length)) > 0) {
+                output.put(chunk, 0, n, stages);
+            }
+            output.close();
+            trace.merged(merger);
+            trace.task(SortPhase.MERGE, 0, start);
+        }, failure, stages));
+        long count = 0;
+        try {
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            int[] chunk = new int[chunkSize];
+            int n;
+            while ((n = output.take(chunk, 0, chunk.length, stages)) >= 0) {
+                sink.write(chunk, 0, n);
+                count += n;
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            fail(failure, e, stages);
+        } finally {
+            joinAll(threads);
+            closeAll(sources, failure);
+        }
+        rethrow(failure.get());
+        trace.phase(SortPhase.MERGE, count);
+        trace.finish(count, loaderCount + 2);
+        return count;
+    }
+
+    /**
+     * 加载线程负责下标 s % loaderCount == loader 的输入，每个输入一段暂存，
+     * 依次把暂存写入对应的环形缓冲，写不下就转到下一个输入，一轮都没有进展时等待
+     */
+    private void load(List<? extends IntSource> sources, IntRingBuffer[] rings, int loader, int loaderCount,
+                      SortContext context) throws IOException {
+        int count = (sources.size() - loader + loaderCount - 1) / loaderCount;
+        int[][] staged = new int[count][chunkSize];
+        int[] from = new int[count];
+        int[] to = new int[count];
+        boolean[] done = new boolean[count];
+        int remaining = count;
+        int round = 0;
+        while (remaining > 0) {
+            boolean progress = false;
+            for (int i = 0; i < count; i++) {
+                if (done[i]) {
+                    continue;
+                }
+                int s = loader + i * loaderCount;
+                if (from[i] == to[i]) {
+                    int n = sources.get(s).read(staged[i], 0, chunkSize);
+                    if (n < 0) {
+                        rings[s].close();
+                        done[i] = true;
+                        remaining--;
+                        progress = true;
+                        continue;
+                    }
+                    from[i] = 0;
+                    to[i] = n;
+                }
+                int n = rings[s].offer(staged[i], from[i], to[i] - from[i]);
+                from[i] += n;
+                progress |= n > 0;
+            }
+            if (progress) {
+                round = 0;
+                context.checkpoint();
+            } else {
+                IntRingBuffer.idle(round++, context);
+            }
+        }
+    }
+
+    private static Thread stage(Stage stage, AtomicReference<Throwable> failure, SortContext context) {
+        return THREAD_FACTORY.newThread(() -> {
+            try {
+                stage.run();
+            } catch (Throwable e) {
+                fail(failure, e, context);
+            }
+        });
+    }
+
+    /**
+     * 记录第一个失败并取消其它级，之后其它级因取消抛出的异常不会覆盖它
+     * @param context 排序内部的子上下文
+     */
+    private static void fail(AtomicReference<Throwable> failure, Throwable e, SortContext context) {
+        failure.compareAndSet(null, e);
+        context.cancel();
+    }
+
+    private static void joinAll(List<Thread> threads) {
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.NEW) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeAll(List<? extends IntSource> sources, AtomicReference<Throwable> failure) {
+        for (IntSource source : sources) {
+            try {
+                source.close();
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    private static void rethrow(Throwable e) throws IOException {
+        if (e == null) {
+            return;
+        }
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        }
+        if (e instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) e).getCause();
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new IllegalStateException("pipeline stage failed", e);
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+
+        void run() throws IOException;
+    }
+}
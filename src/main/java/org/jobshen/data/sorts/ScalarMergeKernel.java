@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+/**
+ * ScalarMergeKernel Description:
+ *  标量两路归并，任一输入耗尽后剩余部分整段拷贝
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 19:10
+ * @since JDK 1.8
+ */
+final class ScalarMergeKernel implements TwoWayMergeKernel {
+
+    static final ScalarMergeKernel INSTANCE = new ScalarMergeKernel();
+
+    private ScalarMergeKernel() {
+    }
+
+    @Override
+    public void merge(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] dst, int dstFrom) {
+        int i = aFrom;
+        int j = bFrom;
+        int k = dstFrom;
+        while (i < aTo && j < bTo) {
+            int x = a[i];
+            int y = b[j];
+            if (x <= y) {
+                dst[k++] = x;
+                i++;
+            } else {
+                dst[k++] = y;
+                j++;
+            }
+        }
+        System.arraycopy(a, i, dst, k, aTo - i);
+        System.arraycopy(b, j, dst, k + aTo - i, bTo - j);
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SortContext Description:
+ *  一次排序的取消标记与截止时间，归并在每段输出之间检查，取消或超时后抛出 CancellationException
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 16:10
+ * @since JDK 1.8
+ */
+public final class SortContext {
+
+    private final boolean hasDeadline;
+
+    private final long deadline;
+
+    /**
+     * 子上下文随父上下文取消，取消子上下文不影响父上下文
+     */
+    private final SortContext parent;
+
+    private volatile boolean cancelled;
+
+    private SortContext(boolean hasDeadline, long deadline, SortContext parent) {
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+        this.parent = parent;
+    }
+
+    /**
+     * @return 无截止时间、可取消的上下文
+     */
+    public static SortContext create() {
+        return new SortContext(false, 0L, null);
+    }
+
+    /**
+     * @param timeout 超时时间，从现在开始计算
+     * @param unit 时间单位
+     * @return 到期自动失效的上下文
+     */
+    public static SortContext withTimeout(long timeout, TimeUnit unit) {
+        return new SortContext(true, System.nanoTime() + unit.toNanos(timeout), null);
+    }
+
+    /**
+     * 排序内部各线程共用的上下文：内部失败时取消它来停止其它线程，调用方传入的上下文可能被多次排序共享，不能取消
+     * @return 截止时间相同的子上下文
+     */
+    SortContext child() {
+        return new SortContext(hasDeadline, deadline, this);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || parent != null && parent.isCancelled();
+    }
+
+    /**
+     * @throws CancellationException 已取消或已超过截止时间
+     */
+    public void checkpoint() {
+        if (cancelled) {
+            throw new CancellationException("sort cancelled");
+        }
+        if (parent != null) {
+            parent.checkpoint();
+        }
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            throw new CancellationException("sort deadline exceeded");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import lombok.Getter;
+
+/**
+ * SortPlan Description:
+ *  SortPlanner 选出的执行计划，explain() 给出选择依据
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 10:00
+ * @since JDK 1.8
+ */
+@Getter
+public final class SortPlan {
+
+    private final SortStrategy strategy;
+
+    private final SortStatistics statistics;
+
+    private final boolean allowDuplicate;
+
+    private final int parallelism;
+
+    /**
+     * 选择该执行方式的原因
+     */
+    private final String reason;
+
+    SortPlan(SortStrategy strategy, SortStatistics statistics, boolean allowDuplicate, int parallelism, String reason) {
+        this.strategy = strategy;
+        this.statistics = statistics;
+        this.allowDuplicate = allowDuplicate;
+        this.parallelism = parallelism;
+        this.reason = reason;
+    }
+
+    /**
+     * @return 可读的执行计划
+     */
+    public String explain() {
+        return String.format("%s%n  reason: %s%n  partitions=%d blocks=%d elements=%d maxPartition=%d%n"
+                + "  overlap=%.3f duplicates~%.3f disjoint=%b allowDuplicate=%b parallelism=%d",
+            strategy, reason, statistics.getPartitionCount(), statistics.getBlockCount(), statistics.getTotalSize(),
+            statistics.getMaxPartitionSize(), statistics.getOverlapRatio(), statistics.getDuplicateRatio(),
+            statistics.isDisjoint(), allowDuplicate, parallelism);
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+/**
+ * SortPlanner Description:
+ *  按分区统计选择执行方式：
+ *  分区互不相交时直接拼接；分区多且键范围高度交错时基数排序，归并利用不到已有的顺序，
+ *  可以使用向量两路归并内核时改为两两归并树，每轮的内层循环比基数排序的分配快；
+ *  数据量足够大且可以多线程时按键值范围并行归并；
+ *  重叠比例低时栅栏整段拷贝能省去大部分比较；否则逐个比较的败者树归并
+ *  估计的重复比例只在 explain 中展示，不参与选择：各执行方式都要读取全部元素，去重在归并中或排序后线性完成，
+ *  重复比例高时各方式耗时同比例下降，实测不改变它们的相对快慢
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 10:10
+ * @since JDK 1.8
+ */
+final class SortPlanner {
+
+    /**
+     * 并行归并的最少元素个数，更小的输入切分和调度开销大于收益
+     */
+    static final long PARALLEL_MIN_SIZE = 1 << 20;
+
+    /**
+     * 选择基数排序的最低重叠比例、最少分区个数和最少元素个数
+     */
+    static final double RADIX_OVERLAP_THRESHOLD = 0.9;
+
+    static final int RADIX_MIN_PARTITIONS = 8;
+
+    static final long RADIX_MIN_SIZE = 1 << 16;
+
+    /**
+     * 重叠比例低于该值时选择栅栏整段拷贝
+     */
+    static final double FENCE_OVERLAP_THRESHOLD = 0.5;
+
+    private SortPlanner() {
+    }
+
+    static SortPlan plan(SortStatistics statistics, boolean allowDuplicate, int parallelism) {
+        if (statistics.getPartitionCount() <= 1 || statistics.isDisjoint()) {
+            return new SortPlan(SortStrategy.CONCAT, statistics, allowDuplicate, 1,
+                "partition key ranges do not intersect");
+        }
+        if (statistics.getOverlapRatio() >= RADIX_OVERLAP_THRESHOLD
+            && statistics.getPartitionCount() >= RADIX_MIN_PARTITIONS
+            && statistics.getTotalSize() >= RADIX_MIN_SIZE) {
+            if (MergeKernels.vectorized()) {
+                return new SortPlan(SortStrategy.MERGE_TREE, statistics, allowDuplicate, parallelism,
+                    "overlap at least " + RADIX_OVERLAP_THRESHOLD + " across " + statistics.getPartitionCount()
+                        + " partitions, " + MergeKernels.preferred().name() + " merge kernel available");
+            }
+            return new SortPlan(SortStrategy.RADIX, statistics, allowDuplicate, parallelism,
+                "overlap at least " + RADIX_OVERLAP_THRESHOLD + " across " + statistics.getPartitionCount()
+                    + " partitions, existing order saves few comparisons");
+        }
+        if (parallelism > 1 && statistics.getTotalSize() >= PARALLEL_MIN_SIZE) {
+            return new SortPlan(SortStrategy.PARALLEL_RANGE_MERGE, statistics, allowDuplicate, parallelism,
+                "at least " + PARALLEL_MIN_SIZE + " elements and " + parallelism + " threads available");
+        }
+        if (statistics.getOverlapRatio() < FENCE_OVERLAP_THRESHOLD) {
+            return new SortPlan(SortStrategy.FENCE_MERGE, statistics, allowDuplicate, 1,
+                "overlap below " + FENCE_OVERLAP_THRESHOLD + ", most blocks can be copied whole");
+        }
+        return new SortPlan(SortStrategy.LOSER_TREE_MERGE, statistics, allowDuplicate, 1,
+            "heavy overlap, block copies would rarely succeed");
+    }
+}
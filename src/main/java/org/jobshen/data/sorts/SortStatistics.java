@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * SortStatistics Description:
+ *  只读取数据块栅栏和少量采样得到的分区统计，供 SortPlanner 选择排序方式
+ *  开销为 O(B log B + S * K log n)，B 为数据块总数，S 为采样个数
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 09:40
+ * @since JDK 1.8
+ */
+@Getter
+public final class SortStatistics {
+
+    /**
+     * 估计重复比例时采样个数与分区个数乘积的上限
+     */
+    private static final int SAMPLE_BUDGET = 1 << 16;
+
+    private static final int MAX_SAMPLES = 256;
+
+    private static final int MIN_SAMPLES = 16;
+
+    private final int partitionCount;
+
+    private final int blockCount;
+
+    private final long totalSize;
+
+    private final long maxPartitionSize;
+
+    /**
+     * 数据块键范围与其它分区数据块相交的元素比例，0 表示各分区可以整段拷贝
+     */
+    private final double overlapRatio;
+
+    /**
+     * 估计的跨分区重复元素比例，即去重后减少的比例，用于展示，不影响执行计划
+     */
+    private final double duplicateRatio;
+
+    /**
+     * 最小值、最大值，没有元素时分别为 Integer.MAX_VALUE、Integer.MIN_VALUE
+     */
+    private final int min;
+
+    private final int max;
+
+    /**
+     * 各分区键范围互不相交时按最小值排列的分区下标，否则为 null
+     */
+    @Getter(AccessLevel.NONE)
+    private final int[] disjointOrder;
+
+    private SortStatistics(int partitionCount, int blockCount, long totalSize, long maxPartitionSize, double overlapRatio,
+                           double duplicateRatio, int min, int max, int[] disjointOrder) {
+        this.partitionCount = partitionCount;
+        this.blockCount = blockCount;
+        this.totalSize = totalSize;
+        this.maxPartitionSize = maxPartitionSize;
+        this.overlapRatio = overlapRatio;
+        this.duplicateRatio = duplicateRatio;
+        this.min = min;
+        this.max = max;
+        this.disjointOrder = disjointOrder;
+    }
+
+    /**
+     * @return 各分区键范围是否互不相交
+     */
+    public boolean isDisjoint() {
+        return disjointOrder != null;
+    }
+
+    int[] disjointOrder() {
+        return disjointOrder;
+    }
+
+    /**
+     * @param dataPartitions 分区
+     * @return 统计
+     */
+    public static SortStatistics of(List<IntDataPartition> dataPartitions) {
+        List<IntPartitionFences> fences = new ArrayList<>(dataPartitions.size());
+        long totalSize = 0;
+        long maxPartitionSize = 0;
+        int blockCount = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (IntDataPartition dataPartition : dataPartitions) {
+            IntPartitionFences fence = new IntPartitionFences(dataPartition);
+            fences.add(fence);
+            totalSize += fence.size();
+            maxPartitionSize = Math.max(maxPartitionSize, fence.size());
+            blockCount += dataPartition.getDataBlocks().size();
+            if (fence.size() > 0) {
+                min = Math.min(min, fence.min());
+                max = Math.max(max, fence.max());
+            }
+        }
+        return new SortStatistics(dataPartitions.size(), blockCount, totalSize, maxPartitionSize,
+            overlapRatio(dataPartitions, totalSize), duplicateRatio(fences, totalSize), min, max, disjointOrder(fences));
+    }
+
+    /**
+     * 数据块按最小值排序后扫描，记录已扫描数据块中最大的两个来自不同分区的最大值，
+     * 与之前其它分区的数据块相交的数据块计入重叠
+     */
+    private static double overlapRatio(List<IntDataPartition> dataPartitions, long totalSize) {
+        if (totalSize == 0) {
+            return 0;
+        }
+        List<long[]> blocks = new ArrayList<>();
+        for (int p = 0; p < dataPartitions.size(); p++) {
+            for (IntDataBlock block : dataPartitions.get(p).getDataBlocks()) {
+                if (block.size() > 0) {
+                    blocks.add(new long[] {block.min(), block.max(), p, block.size()});
+                }
+            }
+        }
+        blocks.sort((a, b) -> Long.compare(a[0], b[0]));
+        long firstMax = Long.MIN_VALUE;
+        long firstPartition = -1;
+        long secondMax = Long.MIN_VALUE;
+        long overlapped = 0;
+        for (long[] block : blocks) {
+            long otherMax = block[2] == firstPartition ? secondMax : firstMax;
+            if (otherMax >= block[0]) {
+                overlapped += block[3];
+            }
+            if (block[2] == firstPartition) {
+                firstMax = Math.max(firstMax, block[1]);
+            } else if (block[1] > firstMax) {
+                secondMax = firstMax;
+                firstMax = block[1];
+                firstPartition = block[2];
+            } else {
+                secondMax = Math.max(secondMax, block[1]);
+            }
+        }
+        return (double) overlapped / totalSize;
+    }
+
+    /**
+     * 在所有元素中等距采样，按栅栏查出每个样本在各分区中出现的次数 c，
+     * 去重后的元素个数约为 N * avg(1 / c)
+     */
+    private static double duplicateRatio(List<IntPartitionFences> fences, long totalSize) {
+        if (totalSize == 0 || fences.size() < 2) {
+            return 0;
+        }
+        int samples = (int) Math.min(totalSize, Math.max(MIN_SAMPLES, Math.min(MAX_SAMPLES, SAMPLE_BUDGET / fences.size())));
+        double distinct = 0;
+        int partition = 0;
+        long partitionStart = 0;
+        for (int s = 0; s < samples; s++) {
+            long index = totalSize * s / samples;
+            while (index >= partitionStart + fences.get(partition).size()) {
+                partitionStart += fences.get(partition++).size();
+            }
+            int value = fences.get(partition).get(index - partitionStart);
+            int copies = 0;
+            for (IntPartitionFences fence : fences) {
+                copies += (int) (fence.rank((long) value + 1) - fence.rank(value));
+            }
+            distinct += 1.0 / copies;
+        }
+        return 1 - distinct / samples;
+    }
+
+    /**
+     * 非空分区按最小值排序，相邻分区严格不相交时返回该顺序，空分区排在最后
+     */
+    private static int[] disjointOrder(List<IntPartitionFences> fences) {
+        Integer[] order = new Integer[fences.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            IntPartitionFences x = fences.get(a);
+            IntPartitionFences y = fences.get(b);
+            if (x.size() == 0 || y.size() == 0) {
+                return Boolean.compare(x.size() == 0, y.size() == 0);
+            }
+            return Integer.compare(x.min(), y.min());
+        });
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = order[i];
+            if (i > 0 && fences.get(order[i]).size() > 0 && fences.get(order[i - 1]).max() >= fences.get(order[i]).min()) {
+                return null;
+            }
+        }
+        return result;
+    }
+}
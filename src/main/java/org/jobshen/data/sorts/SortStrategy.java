@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+/**
+ * SortStrategy Description:
+ *  SortPlanner 可选的执行方式
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 09:55
+ * @since JDK 1.8
+ */
+public enum SortStrategy {
+
+    /**
+     * 分区键范围互不相交，按最小值顺序直接拼接
+     */
+    CONCAT,
+
+    /**
+     * 败者树逐个比较归并，分区交错严重时没有整段拷贝的额外开销，见 DataSort.dataSortInt
+     */
+    LOSER_TREE_MERGE,
+
+    /**
+     * 败者树归并并按数据块栅栏整段拷贝，见 DataSort.dataSortFence
+     */
+    FENCE_MERGE,
+
+    /**
+     * 按键值范围切分后并行归并，见 DataSort.dataSortParallel
+     */
+    PARALLEL_RANGE_MERGE,
+
+    /**
+     * 不利用分区顺序的并行基数排序，见 DataSort.dataSortRadix
+     */
+    RADIX,
+
+    /**
+     * 向量内核两两归并树，见 DataSort.dataSortMergeTree
+     */
+    MERGE_TREE
+}
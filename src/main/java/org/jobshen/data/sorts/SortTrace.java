@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+import org.jobshen.data.metrics.SortListener;
+import org.jobshen.data.metrics.SortPhase;
+import org.jobshen.data.module.DataBlock;
+import org.jobshen.data.module.DataPartition;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.module.LongDataPartition;
+
+/**
+ * SortTrace Description:
+ *  一次排序的观测状态：计时、并行任务累计耗时、归并比较与整段拷贝计数，汇总后回调 SortListener
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 22:35
+ * @since JDK 1.8
+ */
+final class SortTrace {
+
+    private final SortListener listener;
+
+    private final String strategy;
+
+    private final long startNanos;
+
+    private final long inputCount;
+
+    /**
+     * 上一阶段结束时间，阶段只在调用线程上推进
+     */
+    private long mark;
+
+    private final LongAdder busyNanos = new LongAdder();
+
+    private final LongAdder comparedCount = new LongAdder();
+
+    private final LongAdder copiedCount = new LongAdder();
+
+    /**
+     * 已回调 sortCompleted 或 sortFailed
+     */
+    private boolean finished;
+
+    private SortTrace(SortListener listener, String strategy, long inputCount) {
+        this.listener = listener;
+        this.strategy = strategy;
+        this.inputCount = inputCount;
+        this.startNanos = System.nanoTime();
+        this.mark = startNanos;
+    }
+
+    static SortTrace start(SortListener listener, String strategy, Executor executor, List<IntDataPartition> dataPartitions) {
+        long elementCount = 0;
+        long maxPartitionSize = 0;
+        for (IntDataPartition dataPartition : dataPartitions) {
+            long size = dataPartition.size();
+            elementCount += size;
+            maxPartitionSize = Math.max(maxPartitionSize, size);
+        }
+        listener.sortStarted(strategy, dataPartitions.size(), elementCount, maxPartitionSize, queuedTasks(executor));
+        return new SortTrace(listener, strategy, elementCount);
+    }
+
+    static SortTrace startLong(SortListener listener, String strategy, Executor executor, List<LongDataPartition> dataPartitions) {
+        long elementCount = 0;
+        long maxPartitionSize = 0;
+        for (LongDataPartition dataPartition : dataPartitions) {
+            long size = dataPartition.size();
+            elementCount += size;
+            maxPartitionSize = Math.max(maxPartitionSize, size);
+        }
+        listener.sortStarted(strategy, dataPartitions.size(), elementCount, maxPartitionSize, queuedTasks(executor));
+        return new SortTrace(listener, strategy, elementCount);
+    }
+
+    static SortTrace startBoxed(SortListener listener, String strategy, Executor executor, List<DataPartition> dataPartitions) {
+        long elementCount = 0;
+        long maxPartitionSize = 0;
+        for (DataPartition dataPartition : dataPartitions) {
+            long size = 0;
+            for (DataBlock dataBlock : dataPartition.getDataBlocks()) {
+                size += dataBlock.getData().length;
+            }
+            elementCount += size;
+            maxPartitionSize = Math.max(maxPartitionSize, size);
+        }
+        listener.sortStarted(strategy, dataPartitions.size(), elementCount, maxPartitionSize, queuedTasks(executor));
+        return new SortTrace(listener, strategy, elementCount);
+    }
+
+    /**
+     * 结束一个阶段，耗时从上一阶段结束（或排序开始）算起，只能在调用线程上使用
+     * @param phase 阶段
+     * @param elementCount 阶段处理的元素个数
+     */
+    void phase(SortPhase phase, long elementCount) {
+        long now = System.nanoTime();
+        listener.phaseCompleted(strategy, phase, now - mark, elementCount);
+        mark = now;
+    }
+
+    /**
+     * 结束一个处理全部输入的阶段
+     */
+    void phase(SortPhase phase) {
+        phase(phase, inputCount);
+    }
+
+    /**
+     * @return 记录每个任务耗时的任务
+     */
+    IntConsumer tasks(SortPhase phase, IntConsumer task) {
+        return i -> {
+            long start = System.nanoTime();
+            try {
+                task.accept(i);
+            } finally {
+                task(phase, i, start);
+            }
+        };
+    }
+
+    /**
+     * 记录任务内的一段耗时，可以在任意线程上调用
+     * @param phase 阶段
+     * @param task 任务编号
+     * @param start 开始时间
+     * @return 当前时间，作为下一段的开始时间
+     */
+    long task(SortPhase phase, int task, long start) {
+        long now = System.nanoTime();
+        busyNanos.add(now - start);
+        listener.taskCompleted(strategy, phase, task, now - start);
+        return now;
+    }
+
+    /**
+     * 累加归并引擎的比较与拷贝计数，可以在多个线程上调用
+     */
+    void merged(IntMerger merger) {
+        comparedCount.add(merger.comparedCount());
+        copiedCount.add(merger.copiedCount());
+    }
+
+    void merged(LongMerger merger) {
+        comparedCount.add(merger.comparedCount());
+        copiedCount.add(merger.copiedCount());
+    }
+
+    void finish(long elementCount, int parallelism) {
+        finished = true;
+        listener.mergeCompleted(strategy, comparedCount.sum(), copiedCount.sum());
+        listener.sortCompleted(strategy, System.nanoTime() - startNanos, elementCount, busyNanos.sum(), parallelism);
+    }
+
+    /**
+     * 排序未完成就抛出异常，由调用方在 catch 中调用后原样重新抛出
+     */
+    void fail(Throwable cause) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        listener.sortFailed(strategy, System.nanoTime() - startNanos, cause);
+    }
+
+    private static int queuedTasks(Executor executor) {
+        if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            return (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+        }
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * SortedIntSpliterator Description:
+ *  多个分区归并结果的惰性 Spliterator，第一次取数时才建立归并
+ *  开始取数前可以按键值切分：取最大子区间的中位数为分割值，各分区二分出切分点，
+ *  前半段交给新的 Spliterator，相等元素总落在同一侧，并行流中去重依然正确
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/17 16:45
+ * @since JDK 1.8
+ */
+public class SortedIntSpliterator implements Spliterator.OfInt {
+
+    /**
+     * 最大子区间小于该值时不再切分
+     */
+    private static final int MIN_SPLIT_SIZE = 1 << 12;
+
+    private final List<IntPartitionFences> fences;
+
+    private final long[] from;
+
+    private final long[] to;
+
+    private final boolean allowDuplicate;
+
+    private MergedIntIterator iterator;
+
+    /**
+     * 已输出的元素个数
+     */
+    private long consumed;
+
+    public SortedIntSpliterator(List<IntDataPartition> dataPartitions, boolean allowDuplicate) {
+        this.fences = new ArrayList<>(dataPartitions.size());
+        this.from = new long[dataPartitions.size()];
+        this.to = new long[dataPartitions.size()];
+        this.allowDuplicate = allowDuplicate;
+        for (int i = 0; i < dataPartitions.size(); i++) {
+            IntPartitionFences fence = new IntPartitionFences(dataPartitions.get(i));
+            fences.add(fence);
+            to[i] = fence.size();
+        }
+    }
+
+    private SortedIntSpliterator(List<IntPartitionFences> fences, long[] from, long[] to, boolean allowDuplicate) {
+        this.fences = fences;
+        this.from = from;
+        this.to = to;
+        this.allowDuplicate = allowDuplicate;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        MergedIntIterator it = iterator();
+        if (!it.hasNext()) {
+            return false;
+        }
+        action.accept(it.nextInt());
+        consumed++;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        iterator().forEachRemaining(action);
+        consumed = total();
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        if (iterator != null) {
+            return null;
+        }
+        int largest = -1;
+        long largestSize = MIN_SPLIT_SIZE - 1;
+        for (int i = 0; i < fences.size(); i++) {
+            if (to[i] - from[i] > largestSize) {
+                largest = i;
+                largestSize = to[i] - from[i];
+            }
+        }
+        if (largest < 0) {
+            return null;
+        }
+        int splitter = fences.get(largest).get(from[largest] + largestSize / 2);
+        long[] mid = new long[fences.size()];
+        for (int i = 0; i < fences.size(); i++) {
+            mid[i] = Math.min(to[i], Math.max(from[i], fences.get(i).rank(splitter)));
+        }
+        SortedIntSpliterator prefix = new SortedIntSpliterator(fences, from.clone(), mid, allowDuplicate);
+        System.arraycopy(mid, 0, from, 0, mid.length);
+        return prefix;
+    }
+
+    /**
+     * @return 剩余元素个数，不允许重复时为上限
+     */
+    @Override
+    public long estimateSize() {
+        return Math.max(0, total() - consumed);
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | SORTED | NONNULL | IMMUTABLE;
+        return allowDuplicate ? characteristics | SIZED | SUBSIZED : characteristics | DISTINCT;
+    }
+
+    /**
+     * 自然顺序
+     */
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+
+    private long total() {
+        long size = 0;
+        for (int i = 0; i < fences.size(); i++) {
+            size += to[i] - from[i];
+        }
+        return size;
+    }
+
+    private MergedIntIterator iterator() {
+        if (iterator == null) {
+            List<IntCursor> cursors = new ArrayList<>(fences.size());
+            for (int i = 0; i < fences.size(); i++) {
+                if (from[i] < to[i]) {
+                    cursors.add(fences.get(i).cursor(from[i], to[i]));
+                }
+            }
+            iterator = new MergedIntIterator(new IntMerger(cursors.toArray(new IntCursor[0]), allowDuplicate, true));
+        }
+        return iterator;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * TaskGroup Description:
+ *  在共享线程池上执行一组编号任务：最多提交 parallelism - 1 个帮手，调用线程自己也领取任务，
+ *  任务按编号从共享计数器中领取，先做完的线程继续领取，负载自动均衡
+ *  调用线程总能独自完成所有未被领取的任务，即使线程池已满或调用线程本身就是池中线程也不会死锁，
+ *  并发排序请求之间也不会超出线程池的线程数
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/18 16:25
+ * @since JDK 1.8
+ */
+final class TaskGroup {
+
+    private TaskGroup() {
+    }
+
+    /**
+     * @param executor 线程池
+     * @param parallelism 最大并行度，含调用线程
+     * @param taskCount 任务个数
+     * @param task 按编号执行任务
+     * @param context 取消与截止时间，只检查不取消；任一任务失败时其余未开始的任务直接跳过
+     */
+    static void run(Executor executor, int parallelism, int taskCount, IntConsumer task, SortContext context) {
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(taskCount);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < taskCount) {
+                try {
+                    // 已有任务失败时跳过其余任务；调用方的 context 可能被多次排序共享，这里不取消它
+                    if (failure.get() == null) {
+                        context.checkpoint();
+                        task.accept(i);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    finished.countDown();
+                }
+            }
+        };
+        int helpers = Math.min(parallelism, taskCount) - 1;
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                // 其它线程不再领取新任务，等正在执行的任务结束后再返回
+                interrupted = true;
+                failure.compareAndSet(null, new CancellationException("sort interrupted"));
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        if (e != null) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
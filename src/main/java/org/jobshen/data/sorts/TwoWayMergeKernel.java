@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+/**
+ * TwoWayMergeKernel Description:
+ *  两路归并内核：把两个有序 int 区间归并到目标数组，保留重复元素
+ *  标量实现见 ScalarMergeKernel，向量实现只在 JDK 17+ 且加载了 jdk.incubator.vector 模块时可用，见 MergeKernels
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/19 19:05
+ * @since JDK 1.8
+ */
+public interface TwoWayMergeKernel {
+
+    /**
+     * 归并 a[aFrom, aTo) 与 b[bFrom, bTo)，写入 dst[dstFrom, dstFrom + 两段长度之和)
+     * 目标区间不能与输入区间重叠
+     * @param a 有序数组
+     * @param aFrom 起始下标
+     * @param aTo 结束下标（不含）
+     * @param b 有序数组
+     * @param bFrom 起始下标
+     * @param bTo 结束下标（不含）
+     * @param dst 目标数组
+     * @param dstFrom 目标起始下标
+     */
+    void merge(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] dst, int dstFrom);
+
+    /**
+     * @return 内核名称，用于基准测试和日志
+     */
+    String name();
+}
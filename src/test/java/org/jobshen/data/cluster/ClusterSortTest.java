@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.cluster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.sorts.DataSort;
+import org.junit.Test;
+
+/**
+ * ClusterSortTest Description:
+ *  线程内工作进程的结果与单机归并对照，以及工作进程出错后协调者不再复用连接
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/20 16:30
+ * @since JDK 1.8
+ */
+public class ClusterSortTest {
+
+    @Test
+    public void inProcessMatchesDataSortInt() throws IOException {
+        DataSort dataSort = new DataSort();
+        long seed = 20181019L;
+        try (ClusterSort clusterSort = ClusterSort.inProcess(3)) {
+            for (MockProfile profile : MockProfile.values()) {
+                List<IntDataPartition> partitions = MockData.generatorIntDatas(seed++, profile, 7, 5, 3000);
+                for (boolean allowDuplicate : new boolean[]{true, false}) {
+                    assertArrayEquals(profile + " " + allowDuplicate,
+                        dataSort.dataSortInt(partitions, allowDuplicate), clusterSort.sort(partitions, allowDuplicate));
+                }
+            }
+            // 分区少于工作进程，部分工作进程分不到数据
+            List<IntDataPartition> partitions = MockData.generatorIntDatas(seed, MockProfile.UNIFORM, 2, 1, 10);
+            assertArrayEquals(dataSort.dataSortInt(partitions, false), clusterSort.sort(partitions, false));
+        }
+    }
+
+    @Test
+    public void failedWorkerClosesCoordinator() throws IOException {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(20181020L, MockProfile.UNIFORM, 4, 3, 1000);
+        try (ClusterSort clusterSort = new ClusterSort(2, (workerId, coordinator) -> {
+            // 工作进程 0 对每个作业回复 ERROR，工作进程 1 正常返回结果，协调者读到 ERROR 时其结果帧尚未读取
+            Thread thread = new Thread(new StubWorker(coordinator.getAddress(), coordinator.getPort(), workerId, workerId == 0),
+                "stub-worker-" + workerId);
+            thread.setDaemon(true);
+            thread.start();
+            return null;
+        }, InetAddress.getLoopbackAddress())) {
+            try {
+                clusterSort.sort(partitions, true);
+                fail("failed worker was not reported");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("worker 0 failed"));
+            }
+            try {
+                clusterSort.sort(partitions, true);
+                fail("coordinator reused connections with unread frames");
+            } catch (IllegalStateException e) {
+                // 预期
+            }
+        }
+    }
+
+    /**
+     * 只实现协调者一侧协议的工作进程，不与其它工作进程交换数据，直接返回收到的全部元素
+     */
+    private static final class StubWorker implements Runnable {
+
+        private final InetAddress host;
+
+        private final int port;
+
+        private final int workerId;
+
+        private final boolean failing;
+
+        StubWorker(InetAddress host, int port, int workerId, boolean failing) {
+            this.host = host;
+            this.port = port;
+            this.workerId = workerId;
+            this.failing = failing;
+        }
+
+        @Override
+        public void run() {
+            try (Socket socket = new Socket(host, port)) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                ByteBuffer hello = ByteBuffer.allocate(2 * Integer.BYTES);
+                hello.putInt(workerId).putInt(0);
+                Frames.write(out, Frames.HELLO, hello);
+                out.flush();
+                int jobId = -1;
+                int[] received = new int[0];
+                while (true) {
+                    Frames.Frame frame = Frames.read(in);
+                    switch (frame.type) {
+                        case Frames.JOB:
+                            jobId = frame.payload.getInt();
+                            received = new int[0];
+                            break;
+                        case Frames.BLOCK:
+                            frame.payload.getInt();
+                            int[] values = frame.ints();
+                            int size = received.length;
+                            received = Arrays.copyOf(received, size + values.length);
+                            System.arraycopy(values, 0, received, size, values.length);
+                            break;
+                        case Frames.END:
+                            if (failing) {
+                                Frames.writeString(out, Frames.ERROR, "stub failure");
+                            } else {
+                                Arrays.sort(received);
+                                Frames.writeInts(out, Frames.RESULT, new int[0], received, 0, received.length);
+                                ByteBuffer end = ByteBuffer.allocate(Integer.BYTES + Long.BYTES);
+                                end.putInt(jobId).putLong(received.length);
+                                Frames.write(out, Frames.RESULT_END, end);
+                            }
+                            out.flush();
+                            break;
+                        case Frames.SHUTDOWN:
+                            return;
+                        default:
+                            break;
+                    }
+                }
+            } catch (EOFException | SocketException e) {
+                // 协调者已关闭
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
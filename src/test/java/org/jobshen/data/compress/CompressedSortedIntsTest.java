@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.compress;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.sorts.DataSort;
+import org.jobshen.data.sorts.IntCursor;
+import org.junit.Test;
+
+/**
+ * CompressedSortedIntsTest Description:
+ *  位打包、块头字段、差值回绕与重复次数的编解码往返，跳表随机访问和序列化往返
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 14:00
+ * @since JDK 1.8
+ */
+public class CompressedSortedIntsTest {
+
+    private static final int BLOCK_SIZE = CompressedSortedInts.BLOCK_SIZE;
+
+    @Test
+    public void bitPackingRoundTrip() {
+        Random random = new Random(20181102L);
+        for (int round = 0; round < 5000; round++) {
+            int width = random.nextInt(33);
+            int count = random.nextInt(BLOCK_SIZE + 3);
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = width == 0 ? 0 : random.nextInt() >>> (32 - width);
+            }
+            if (count > 0 && width > 0) {
+                // 至少一个值占满位宽
+                values[random.nextInt(count)] |= 1 << (width - 1);
+            }
+            assertEquals(count == 0 ? 0 : width, BitPacking.width(values, count));
+            int words = BitPacking.words(count, width);
+            int[] packed = new int[words + 2];
+            Arrays.fill(packed, 0x5A5A5A5A);
+            BitPacking.pack(values, count, width, packed, 1);
+            // 只写入 [offset, offset + words)
+            assertEquals(0x5A5A5A5A, packed[0]);
+            assertEquals(0x5A5A5A5A, packed[words + 1]);
+            int[] unpacked = new int[count];
+            BitPacking.unpack(packed, 1, width, unpacked, count);
+            assertArrayEquals("width " + width + " count " + count, values, unpacked);
+        }
+    }
+
+    @Test
+    public void headerFieldsDoNotOverlap() {
+        CompressedIntWriter writer = new CompressedIntWriter();
+        // 满块、差值位宽 32（含回绕）、重复次数位宽 17
+        writer.add(Integer.MIN_VALUE);
+        for (int i = 0; i < 100_000; i++) {
+            writer.add(Integer.MIN_VALUE + 1);
+        }
+        for (int i = 2; i < BLOCK_SIZE - 1; i++) {
+            writer.add(Integer.MIN_VALUE + i);
+        }
+        writer.add(Integer.MAX_VALUE);
+        CompressedSortedInts compressed = writer.finish();
+        assertEquals(1, compressed.blockCount());
+        int[] values = new int[BLOCK_SIZE];
+        int[] counts = new int[BLOCK_SIZE];
+        assertEquals(BLOCK_SIZE, compressed.decode(0, values, counts));
+        assertEquals(Integer.MIN_VALUE, values[0]);
+        assertEquals(Integer.MAX_VALUE, values[BLOCK_SIZE - 1]);
+        assertEquals(99_999, counts[1]);
+        for (int runs = 1; runs <= BLOCK_SIZE; runs++) {
+            for (int deltaWidth = 0; deltaWidth <= 32; deltaWidth++) {
+                for (int countWidth = 0; countWidth <= 32; countWidth += 4) {
+                    int header = CompressedSortedInts.header(runs, deltaWidth, countWidth);
+                    assertEquals(runs, header & 0xFF);
+                    assertEquals(deltaWidth, header >>> 8 & 0xFF);
+                    assertEquals(countWidth, header >>> 16 & 0xFF);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fullRangeRoundTrip() throws IOException {
+        Random random = new Random(20181103L);
+        for (int round = 0; round < 200; round++) {
+            boolean duplicates = round % 2 == 1;
+            int[] expected = sortedValues(random, random.nextInt(2000), duplicates);
+            CompressedSortedInts compressed = compress(random, expected);
+            assertRoundTrip("round " + round, expected, compressed);
+            assertRoundTrip("round " + round + " serialized", expected, serialize(compressed));
+        }
+    }
+
+    @Test
+    public void deltasWrapAroundIntRange() throws IOException {
+        int[] expected = {Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 0, 1, Integer.MAX_VALUE - 1,
+            Integer.MAX_VALUE, Integer.MAX_VALUE};
+        CompressedSortedInts compressed = compress(new Random(1L), expected);
+        assertRoundTrip("edges", expected, compressed);
+        assertRoundTrip("edges serialized", expected, serialize(compressed));
+    }
+
+    @Test
+    public void getAtBlockBoundaries() {
+        int[] distinct = new int[3 * BLOCK_SIZE + 5];
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i] = i * 7 - 1000;
+        }
+        CompressedSortedInts compressed = compress(new Random(2L), distinct);
+        assertEquals(4, compressed.blockCount());
+        for (long index : new long[] {0, BLOCK_SIZE - 1, BLOCK_SIZE, 2 * BLOCK_SIZE - 1, 2 * BLOCK_SIZE, distinct.length - 1}) {
+            assertEquals("index " + index, distinct[(int) index], compressed.get(index));
+        }
+        for (long index : new long[] {-1, distinct.length}) {
+            try {
+                compressed.get(index);
+                fail("index " + index);
+            } catch (IndexOutOfBoundsException e) {
+                // 预期
+            }
+        }
+    }
+
+    @Test
+    public void dataSortCompressedMatchesDataSortInt() {
+        DataSort dataSort = new DataSort();
+        long seed = 20181104L;
+        for (MockProfile profile : MockProfile.values()) {
+            List<IntDataPartition> partitions = MockData.generatorIntDatas(seed++, profile, 5, 4, 1000);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                assertArrayEquals(profile + " " + allowDuplicate, dataSort.dataSortInt(partitions, allowDuplicate),
+                    dataSort.dataSortCompressed(partitions, allowDuplicate).toArray());
+            }
+        }
+    }
+
+    @Test
+    public void writerRejectsUnsortedInputAndWritesAfterFinish() {
+        CompressedIntWriter writer = new CompressedIntWriter();
+        writer.add(5);
+        try {
+            writer.add(4);
+            fail("unsorted input accepted");
+        } catch (IllegalArgumentException e) {
+            // 预期
+        }
+        writer.finish();
+        try {
+            writer.add(6);
+            fail("write after finish accepted");
+        } catch (IllegalStateException e) {
+            // 预期
+        }
+        assertEquals(0, new CompressedIntWriter().finish().size());
+    }
+
+    @Test
+    public void readFromRejectsForeignStream() {
+        try {
+            CompressedSortedInts.readFrom(new DataInputStream(new ByteArrayInputStream(new byte[] {0, 0, 0, 1, 0, 0, 0, 0})));
+            fail("foreign stream accepted");
+        } catch (IOException e) {
+            // 预期
+        }
+    }
+
+    /**
+     * @param duplicates 是否夹杂重复，包括跨越多个块宽度的长重复段
+     */
+    private static int[] sortedValues(Random random, int size, boolean duplicates) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+        Arrays.sort(values);
+        if (!duplicates || size == 0) {
+            return Arrays.stream(values).distinct().toArray();
+        }
+        int[] result = new int[size * 2];
+        int length = 0;
+        for (int i = 0; i < size && length < result.length; i++) {
+            int repeat = random.nextInt(10) == 0 ? 1 + random.nextInt(300) : 1 + random.nextInt(2);
+            for (int r = 0; r < repeat && length < result.length; r++) {
+                result[length++] = values[i];
+            }
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    /**
+     * 随机混用 add 和批量 write
+     */
+    private static CompressedSortedInts compress(Random random, int[] values) {
+        CompressedIntWriter writer = new CompressedIntWriter();
+        int from = 0;
+        while (from < values.length) {
+            if (random.nextBoolean()) {
+                writer.add(values[from++]);
+            } else {
+                int length = Math.min(values.length - from, random.nextInt(300));
+                writer.write(values, from, length);
+                from += length;
+            }
+        }
+        return writer.finish();
+    }
+
+    private static CompressedSortedInts serialize(CompressedSortedInts compressed) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            compressed.writeTo(out);
+        }
+        return CompressedSortedInts.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static void assertRoundTrip(String message, int[] expected, CompressedSortedInts compressed) {
+        assertEquals(message, expected.length, compressed.size());
+        assertArrayEquals(message, expected, compressed.toArray());
+        assertArrayEquals(message, expected, compressed.stream().toArray());
+        IntCursor cursor = compressed.cursor();
+        for (int value : expected) {
+            assertEquals(message, value, cursor.next());
+        }
+        assertEquals(message, IntCursor.EXHAUSTED, cursor.next());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(message + " index " + i, expected[i], compressed.get(i));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.junit.Test;
+
+/**
+ * IncrementalSortedIndexTest Description:
+ *  线程池拒绝后台归并任务后索引仍可继续使用
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/20 11:00
+ * @since JDK 1.8
+ */
+public class IncrementalSortedIndexTest {
+
+    @Test
+    public void rejectedCompactionIsRescheduled() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        Executor executor = task -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("pool saturated");
+            }
+            task.run();
+        };
+        IncrementalSortedIndex index = new IncrementalSortedIndex(true, executor, 2);
+        index.add(new IntDataBlock(new int[]{1, 3}));
+        try {
+            index.add(new IntDataBlock(new int[]{2, 4}));
+            fail("executor should reject");
+        } catch (RejectedExecutionException e) {
+            assertEquals("pool saturated", e.getMessage());
+        }
+        assertEquals(2, index.snapshot().runCount());
+        reject.set(false);
+        index.add(new IntDataBlock(new int[]{5, 6}));
+        assertEquals(1, index.snapshot().runCount());
+        assertEquals(6, index.snapshot().size());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.sorts.DataSort;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * MappedPartitionFileTest Description:
+ *  分区文件写出与映射读取的往返，以及截断、损坏文件只抛出 IOException
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 10:20
+ * @since JDK 1.8
+ */
+public class MappedPartitionFileTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void roundTripKeepsBlocks() throws IOException {
+        List<IntDataPartition> partitions = new ArrayList<>(MockData.generatorIntDatas(7L, MockProfile.HEAVY_OVERLAP, 4, 5, 500));
+        partitions.add(new IntDataPartition(new ArrayList<>()));
+        partitions.add(new IntDataPartition(new ArrayList<>(Arrays.asList(
+            new IntDataBlock(new int[0]), new IntDataBlock(new int[] {Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE})))));
+        Path file = temp.newFile().toPath();
+        PartitionFileWriter.write(file, partitions);
+        try (MappedPartitionFile mapped = MappedPartitionFile.open(file)) {
+            List<IntDataPartition> read = mapped.getDataPartitions();
+            assertEquals(partitions.size(), read.size());
+            long elementCount = 0;
+            for (int p = 0; p < partitions.size(); p++) {
+                List<IntDataBlock> expected = partitions.get(p).getDataBlocks();
+                List<IntDataBlock> actual = read.get(p).getDataBlocks();
+                assertEquals(expected.size(), actual.size());
+                for (int b = 0; b < expected.size(); b++) {
+                    assertArrayEquals("partition " + p + " block " + b, toArray(expected.get(b)), toArray(actual.get(b)));
+                    if (expected.get(b).size() > 0) {
+                        assertEquals(expected.get(b).min(), actual.get(b).min());
+                        assertEquals(expected.get(b).max(), actual.get(b).max());
+                    }
+                    elementCount += expected.get(b).size();
+                }
+            }
+            assertEquals(elementCount, mapped.getElementCount());
+            DataSort dataSort = new DataSort();
+            assertArrayEquals(dataSort.dataSortFence(partitions, false), dataSort.dataSortFence(read, false));
+        }
+    }
+
+    @Test
+    public void truncatedFileIsRejected() throws IOException {
+        byte[] bytes = write(MockData.generatorIntDatas(8L, MockProfile.UNIFORM, 3, 3, 100));
+        for (int length : new int[] {0, 4, 19, bytes.length / 2, bytes.length - 1}) {
+            assertRejected("length " + length, Arrays.copyOf(bytes, length));
+        }
+    }
+
+    @Test
+    public void corruptedFooterCountsAreRejected() throws IOException {
+        byte[] bytes = write(MockData.generatorIntDatas(9L, MockProfile.UNIFORM, 3, 3, 100));
+        int footerOffset = (int) ByteBuffer.wrap(bytes, bytes.length - PartitionFileFormat.TRAILER_SIZE, Long.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN).getLong();
+        assertRejected("huge partition count", patchInt(bytes, footerOffset, Integer.MAX_VALUE));
+        assertRejected("negative partition count", patchInt(bytes, footerOffset, -1));
+        assertRejected("extra partition", patchInt(bytes, footerOffset, 4));
+        assertRejected("negative block count", patchInt(bytes, footerOffset + Integer.BYTES, -3));
+        assertRejected("huge block count", patchInt(bytes, footerOffset + Integer.BYTES, Integer.MAX_VALUE));
+        int firstEntry = footerOffset + 4 * Integer.BYTES;
+        assertRejected("block size past footer", patchInt(bytes, firstEntry + Long.BYTES, Integer.MAX_VALUE));
+        assertRejected("negative block size", patchInt(bytes, firstEntry + Long.BYTES, -1));
+        assertRejected("wrong element count", patchInt(bytes, bytes.length - PartitionFileFormat.TRAILER_SIZE - Long.BYTES, 1));
+        ByteBuffer footerPointer = ByteBuffer.wrap(bytes.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        footerPointer.putLong(bytes.length - PartitionFileFormat.TRAILER_SIZE, bytes.length);
+        assertRejected("footer offset past end", footerPointer.array());
+    }
+
+    @Test
+    public void randomFooterCorruptionOnlyThrowsIOException() throws IOException {
+        Random random = new Random(20181027L);
+        byte[] bytes = write(MockData.generatorIntDatas(10L, MockProfile.UNIFORM, 4, 3, 50));
+        int footerOffset = (int) ByteBuffer.wrap(bytes, bytes.length - PartitionFileFormat.TRAILER_SIZE, Long.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN).getLong();
+        Path file = temp.newFile().toPath();
+        for (int round = 0; round < 2000; round++) {
+            byte[] corrupted = bytes.clone();
+            for (int flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                int position = footerOffset + random.nextInt(bytes.length - footerOffset);
+                corrupted[position] = (byte) random.nextInt();
+            }
+            Files.write(file, corrupted);
+            try (MappedPartitionFile mapped = MappedPartitionFile.open(file)) {
+                // 只改动 min、max 等不影响结构的字段时仍能打开
+                mapped.getDataPartitions();
+            } catch (IOException e) {
+                // 预期
+            }
+        }
+    }
+
+    private byte[] write(List<IntDataPartition> partitions) throws IOException {
+        Path file = temp.newFile().toPath();
+        PartitionFileWriter.write(file, partitions);
+        return Files.readAllBytes(file);
+    }
+
+    private void assertRejected(String message, byte[] bytes) throws IOException {
+        Path file = temp.newFile().toPath();
+        Files.write(file, bytes);
+        try (MappedPartitionFile mapped = MappedPartitionFile.open(file)) {
+            fail(message + ": opened " + mapped.getDataPartitions().size() + " partitions");
+        } catch (IOException e) {
+            // 预期
+        }
+    }
+
+    private static byte[] patchInt(byte[] bytes, int offset, int value) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(offset, value);
+        return buffer.array();
+    }
+
+    private static int[] toArray(IntDataBlock block) {
+        int[] values = new int[block.size()];
+        block.copyTo(0, values, 0, values.length);
+        return values;
+    }
+}
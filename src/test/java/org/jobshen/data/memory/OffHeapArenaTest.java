@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.memory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.jobshen.data.sorts.DataSort;
+import org.junit.Test;
+
+/**
+ * OffHeapArenaTest Description:
+ *  堆外内存区的分配互不重叠、reset 复用，堆外分区归并与堆内结果对照，以及 close 后视图仍可安全读取
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 11:00
+ * @since JDK 1.8
+ */
+public class OffHeapArenaTest {
+
+    private static final int CHUNK_SIZE = 1 << 12;
+
+    @Test
+    public void allocationsDoNotOverlap() {
+        Random random = new Random(20181028L);
+        try (OffHeapArena arena = new OffHeapArena(CHUNK_SIZE)) {
+            List<ByteBuffer> buffers = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                // 偶尔超过块大小，单独成块
+                int bytes = random.nextInt(10) == 0 ? CHUNK_SIZE + random.nextInt(CHUNK_SIZE) : random.nextInt(100);
+                ByteBuffer buffer = arena.allocate(bytes);
+                assertTrue(buffer.isDirect());
+                assertEquals(0, buffer.position());
+                assertEquals(bytes, buffer.limit());
+                assertEquals(ByteOrder.nativeOrder(), buffer.order());
+                for (int j = 0; j < bytes; j++) {
+                    buffer.put(j, (byte) i);
+                }
+                buffers.add(buffer);
+            }
+            for (int i = 0; i < buffers.size(); i++) {
+                ByteBuffer buffer = buffers.get(i);
+                for (int j = 0; j < buffer.limit(); j++) {
+                    assertEquals("buffer " + i, (byte) i, buffer.get(j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void resetReusesChunks() {
+        try (OffHeapArena arena = new OffHeapArena(CHUNK_SIZE)) {
+            for (int i = 0; i < 10; i++) {
+                arena.allocate(CHUNK_SIZE / 4);
+            }
+            long reserved = arena.reserved();
+            for (int round = 0; round < 5; round++) {
+                arena.reset();
+                for (int i = 0; i < 10; i++) {
+                    arena.allocate(CHUNK_SIZE / 4);
+                }
+                assertEquals(reserved, arena.reserved());
+            }
+        }
+    }
+
+    @Test
+    public void closedArenaRejectsAllocation() {
+        OffHeapArena arena = new OffHeapArena(CHUNK_SIZE);
+        arena.allocate(16);
+        arena.close();
+        arena.close();
+        assertEquals(0, arena.reserved());
+        try {
+            arena.allocate(16);
+            fail("allocated from a closed arena");
+        } catch (IllegalStateException e) {
+            // 预期
+        }
+    }
+
+    @Test
+    public void offHeapSortMatchesDataSortInt() {
+        DataSort dataSort = new DataSort();
+        long seed = 20181029L;
+        try (OffHeapArena arena = new OffHeapArena()) {
+            for (MockProfile profile : MockProfile.values()) {
+                List<IntDataPartition> partitions = MockData.generatorIntDatas(seed++, profile, 5, 4, 1000);
+                List<IntDataPartition> offHeap = OffHeapPartitions.copyOf(partitions, arena);
+                for (boolean allowDuplicate : new boolean[]{true, false}) {
+                    int[] expected = dataSort.dataSortInt(partitions, allowDuplicate);
+                    assertArrayEquals(profile + " " + allowDuplicate, expected, toArray(dataSort.dataSortOffHeap(offHeap, allowDuplicate, arena)));
+                    assertArrayEquals(profile + " " + allowDuplicate, expected, dataSort.dataSortInt(offHeap, allowDuplicate));
+                }
+                arena.reset();
+            }
+        }
+    }
+
+    /**
+     * close 后仍持有的分区和结果视图可以继续读取，直接内存在它们不可达后才由 GC 回收
+     */
+    @Test
+    public void viewsStayReadableAfterClose() {
+        DataSort dataSort = new DataSort();
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(11L, MockProfile.UNIFORM, 4, 4, 2000);
+        int[] expected = dataSort.dataSortInt(partitions, true);
+        List<IntDataPartition> offHeap;
+        ByteBuffer result;
+        try (OffHeapArena arena = new OffHeapArena(CHUNK_SIZE)) {
+            offHeap = OffHeapPartitions.copyOf(partitions, arena);
+            result = dataSort.dataSortOffHeap(offHeap, true, arena);
+        }
+        System.gc();
+        assertArrayEquals(expected, toArray(result));
+        assertArrayEquals(expected, dataSort.dataSortInt(offHeap, true));
+        for (int p = 0; p < partitions.size(); p++) {
+            List<IntDataBlock> blocks = partitions.get(p).getDataBlocks();
+            for (int b = 0; b < blocks.size(); b++) {
+                IntDataBlock block = offHeap.get(p).getDataBlocks().get(b);
+                assertEquals(blocks.get(b).size(), block.size());
+                for (int i = 0; i < block.size(); i++) {
+                    assertEquals(blocks.get(b).get(i), block.get(i));
+                }
+            }
+        }
+    }
+
+    private static int[] toArray(ByteBuffer buffer) {
+        IntBuffer ints = buffer.asIntBuffer();
+        int[] values = new int[ints.remaining()];
+        ints.get(values);
+        return values;
+    }
+}
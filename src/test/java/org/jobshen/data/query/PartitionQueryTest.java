@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.query;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.Test;
+
+/**
+ * PartitionQueryTest Description:
+ *  计数、第 k 小和区间查询与展平排序后的参考结果对照，覆盖负数键、跨分区大量重复、空分区与空数据块
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 13:10
+ * @since JDK 1.8
+ */
+public class PartitionQueryTest {
+
+    private static final int ROUNDS = 1000;
+
+    /**
+     * select 的收缩循环若出错会不终止，以超时发现
+     */
+    @Test(timeout = 60_000)
+    public void selectMatchesReference() {
+        Random random = new Random(20181030L);
+        for (int round = 0; round < ROUNDS; round++) {
+            List<IntDataPartition> partitions = partitions(random);
+            int[] expected = flatten(partitions);
+            PartitionQuery query = new PartitionQuery(partitions);
+            assertEquals(expected.length, query.size());
+            if (expected.length == 0) {
+                continue;
+            }
+            assertEquals(expected[0], query.select(0));
+            assertEquals(expected[expected.length - 1], query.select(expected.length - 1));
+            for (int k = 0; k < expected.length; k++) {
+                assertEquals("round " + round + " k " + k, expected[k], query.select(k));
+            }
+            assertEquals(expected[0], query.min());
+            assertEquals(expected[expected.length - 1], query.max());
+        }
+    }
+
+    @Test
+    public void selectRejectsOutOfRangeIndex() {
+        PartitionQuery empty = new PartitionQuery(new ArrayList<>());
+        for (long k : new long[] {-1, 0}) {
+            try {
+                empty.select(k);
+                fail("index " + k);
+            } catch (IndexOutOfBoundsException e) {
+                // 预期
+            }
+        }
+        PartitionQuery query = new PartitionQuery(Arrays.asList(partition(1, 2, 3)));
+        try {
+            query.select(3);
+            fail("index 3");
+        } catch (IndexOutOfBoundsException e) {
+            // 预期
+        }
+    }
+
+    @Test
+    public void countsMatchReference() {
+        Random random = new Random(20181031L);
+        for (int round = 0; round < ROUNDS; round++) {
+            List<IntDataPartition> partitions = partitions(random);
+            int[] expected = flatten(partitions);
+            PartitionQuery query = new PartitionQuery(partitions);
+            for (int q = 0; q < 20; q++) {
+                long from = bound(random, expected);
+                long to = bound(random, expected);
+                assertEquals(countBelow(expected, from), query.countBelow(from));
+                assertEquals(Math.max(0, countBelow(expected, to) - countBelow(expected, from)), query.count(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void rangesMatchReference() {
+        Random random = new Random(20181101L);
+        for (int round = 0; round < ROUNDS; round++) {
+            List<IntDataPartition> partitions = partitions(random);
+            int[] all = flatten(partitions);
+            PartitionQuery query = new PartitionQuery(partitions);
+            for (int q = 0; q < 10; q++) {
+                long from = bound(random, all);
+                long to = bound(random, all);
+                for (boolean allowDuplicate : new boolean[]{true, false}) {
+                    int[] expected = Arrays.stream(all).filter(v -> v >= from && v < to).toArray();
+                    if (!allowDuplicate) {
+                        expected = Arrays.stream(expected).distinct().toArray();
+                    }
+                    String message = "round " + round + " [" + from + ", " + to + ") " + allowDuplicate;
+                    assertArrayEquals(message, expected, query.range(from, to, allowDuplicate));
+                    assertArrayEquals(message, expected, query.rangeStream(from, to, allowDuplicate).toArray());
+                    int limit = random.nextInt(expected.length + 1);
+                    assertArrayEquals(message, Arrays.copyOf(expected, limit),
+                        query.rangeStream(from, to, allowDuplicate).limit(limit).toArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * 键在窄范围内取值（跨分区大量重复）、全范围取值或贴近边界取值，分区、数据块可以为空；分区内严格递增
+     */
+    private static List<IntDataPartition> partitions(Random random) {
+        int partitionCount = random.nextInt(7);
+        int mode = random.nextInt(3);
+        List<IntDataPartition> partitions = new ArrayList<>(partitionCount);
+        for (int p = 0; p < partitionCount; p++) {
+            int[] values = new int[random.nextInt(50)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = mode == 0 ? random.nextInt(21) - 10
+                    : mode == 1 ? random.nextInt()
+                    : random.nextBoolean() ? Integer.MIN_VALUE + random.nextInt(5) : Integer.MAX_VALUE - random.nextInt(5);
+            }
+            int[] sorted = Arrays.stream(values).sorted().distinct().toArray();
+            ArrayList<IntDataBlock> blocks = new ArrayList<>();
+            int from = 0;
+            while (from < sorted.length || random.nextInt(3) == 0) {
+                int to = Math.min(sorted.length, from + random.nextInt(6));
+                blocks.add(new IntDataBlock(Arrays.copyOfRange(sorted, from, to)));
+                from = to;
+                if (from == sorted.length && random.nextBoolean()) {
+                    break;
+                }
+            }
+            partitions.add(new IntDataPartition(blocks));
+        }
+        return partitions;
+    }
+
+    private static IntDataPartition partition(int... values) {
+        return new IntDataPartition(new ArrayList<>(Arrays.asList(new IntDataBlock(values))));
+    }
+
+    private static int[] flatten(List<IntDataPartition> partitions) {
+        List<Integer> all = new ArrayList<>();
+        for (IntDataPartition partition : partitions) {
+            for (IntDataBlock block : partition.getDataBlocks()) {
+                for (int i = 0; i < block.size(); i++) {
+                    all.add(block.get(i));
+                }
+            }
+        }
+        return all.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * 查询边界：已有元素、其相邻值，或 int 范围之外的值
+     */
+    private static long bound(Random random, int[] values) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextBoolean() ? Integer.MIN_VALUE - 1L : Integer.MAX_VALUE + 1L;
+            case 1:
+                return random.nextInt();
+            default:
+                if (values.length == 0) {
+                    return random.nextInt(21) - 10;
+                }
+                return values[random.nextInt(values.length)] + (long) random.nextInt(3) - 1;
+        }
+    }
+
+    private static long countBelow(int[] sorted, long value) {
+        long count = 0;
+        for (int v : sorted) {
+            if (v < value) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
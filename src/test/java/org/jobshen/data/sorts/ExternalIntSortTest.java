@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * ExternalIntSortTest Description:
+ *  外部归并的多趟归并结果与失败时临时文件的清理
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/20 10:40
+ * @since JDK 1.8
+ */
+public class ExternalIntSortTest {
+
+    private static final int IO_BUFFER_SIZE = 4096;
+
+    /**
+     * 每组最多 5120 个元素，归并路数为 2
+     */
+    private static final long MEMORY_BUDGET = 6L * IO_BUFFER_SIZE;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void multiPassMergeMatchesReference() throws IOException {
+        Random random = new Random(5L);
+        List<IntDataPartition> partitions = new ArrayList<>();
+        for (int p = 0; p < 10; p++) {
+            int[] values = new int[3000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(20000);
+            }
+            partitions.add(SortTestData.split(random, Arrays.stream(values).sorted().distinct().toArray()));
+        }
+        for (boolean allowDuplicate : new boolean[]{true, false}) {
+            ExternalIntSort sort = new ExternalIntSort(MEMORY_BUDGET, temp.getRoot().toPath(), IO_BUFFER_SIZE);
+            List<Integer> result = new ArrayList<>();
+            long count = sort.sort(partitions.iterator(), allowDuplicate, (buffer, offset, length) -> {
+                for (int i = offset; i < offset + length; i++) {
+                    result.add(buffer[i]);
+                }
+            });
+            int[] expected = SortTestData.reference(partitions, allowDuplicate);
+            assertEquals(expected.length, count);
+            assertArrayEquals(expected, result.stream().mapToInt(Integer::intValue).toArray());
+            assertEquals(0, listTemp().length);
+        }
+    }
+
+    @Test
+    public void failedSpillDeletesAllRuns() throws IOException {
+        List<IntDataPartition> partitions = new ArrayList<>();
+        for (int p = 0; p < 6; p++) {
+            int[] values = new int[3000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = p + i * 7;
+            }
+            partitions.add(new IntDataPartition(new ArrayList<>(Arrays.asList(
+                p == 4 ? new FailingBlock(values) : new IntDataBlock(values)))));
+        }
+        ExternalIntSort sort = new ExternalIntSort(MEMORY_BUDGET, temp.getRoot().toPath(), IO_BUFFER_SIZE);
+        try {
+            sort.sort(partitions.iterator(), true, (buffer, offset, length) -> { });
+            fail("spill should fail");
+        } catch (IllegalStateException e) {
+            assertEquals("block unavailable", e.getMessage());
+        }
+        assertEquals(0, listTemp().length);
+    }
+
+    @Test
+    public void failedSinkDeletesAllRuns() throws IOException {
+        List<IntDataPartition> partitions = new ArrayList<>();
+        for (int p = 0; p < 6; p++) {
+            int[] values = new int[3000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = p + i * 7;
+            }
+            partitions.add(new IntDataPartition(new ArrayList<>(Arrays.asList(new IntDataBlock(values)))));
+        }
+        ExternalIntSort sort = new ExternalIntSort(MEMORY_BUDGET, temp.getRoot().toPath(), IO_BUFFER_SIZE);
+        try {
+            sort.sort(partitions.iterator(), true, (buffer, offset, length) -> {
+                throw new IOException("sink closed");
+            });
+            fail("sink should fail");
+        } catch (IOException e) {
+            assertEquals("sink closed", e.getMessage());
+        }
+        assertEquals(0, listTemp().length);
+    }
+
+    private File[] listTemp() {
+        return temp.getRoot().listFiles();
+    }
+
+    /**
+     * 读取数据时失败的数据块
+     */
+    private static final class FailingBlock extends IntDataBlock {
+
+        FailingBlock(int[] data) {
+            super(data);
+        }
+
+        @Override
+        public int[] getData() {
+            throw new IllegalStateException("block unavailable");
+        }
+    }
+}
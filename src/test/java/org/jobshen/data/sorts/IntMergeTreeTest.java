@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.metrics.SortListener;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * IntMergeTreeTest Description:
+ *  归并树与 Arrays.sort 对照，每对超过一个片段时按 merge path 切分，大量相等元素落在切分点两侧
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 17:30
+ * @since JDK 1.8
+ */
+public class IntMergeTreeTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void segmentedPairsMatchArraysSort() {
+        Random random = new Random(20181116L);
+        for (TwoWayMergeKernel kernel : kernels()) {
+            for (int parallelism : new int[] {1, 4}) {
+                for (int round = 0; round < 12; round++) {
+                    // 窄值域时切分点两侧大量相等元素，宽值域时几乎没有
+                    int range = round % 2 == 0 ? 50 : Integer.MAX_VALUE;
+                    assertSorted(kernel, parallelism, random, 1 + random.nextInt(9), 1 + random.nextInt(150_000), range);
+                }
+                assertSorted(kernel, parallelism, random, 0, 0, 1);
+                assertSorted(kernel, parallelism, random, 1, 100_000, 10);
+                assertSorted(kernel, parallelism, random, 2, 200_000, 1);
+            }
+        }
+    }
+
+    @Test
+    public void dataSortMergeTreeMatchesReference() {
+        Random random = new Random(20181117L);
+        DataSort parallel = new DataSort(executor, 4);
+        for (TwoWayMergeKernel kernel : kernels()) {
+            for (int round = 0; round < 200; round++) {
+                List<IntDataPartition> partitions = SortTestData.partitions(random, 8, round % 20 == 0 ? 20_000 : 64);
+                assertMergeTree(parallel, kernel, partitions);
+            }
+            assertMergeTree(parallel, kernel, MockData.generatorIntDatas(20181118L, MockProfile.HEAVY_DUPLICATE, 10, 4, 8000));
+            assertMergeTree(parallel, kernel, MockData.generatorIntDatas(20181119L, MockProfile.HEAVY_OVERLAP, 5, 3, 30_000));
+        }
+    }
+
+    private static void assertMergeTree(DataSort dataSort, TwoWayMergeKernel kernel, List<IntDataPartition> partitions) {
+        for (boolean allowDuplicate : new boolean[] {true, false}) {
+            assertArrayEquals(kernel.name() + " allowDuplicate " + allowDuplicate,
+                SortTestData.reference(partitions, allowDuplicate),
+                dataSort.dataSortMergeTree(partitions, allowDuplicate, kernel, SortContext.create()));
+        }
+    }
+
+    /**
+     * 随机长度的有序段拼接，其中夹杂空段
+     */
+    private void assertSorted(TwoWayMergeKernel kernel, int parallelism, Random random, int runs, int size, int range) {
+        int[] bounds = new int[runs + 1];
+        for (int i = 1; i < runs; i++) {
+            bounds[i] = random.nextInt(size + 1);
+        }
+        bounds[runs] = size;
+        Arrays.sort(bounds);
+        int[] data = new int[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = range == Integer.MAX_VALUE ? random.nextInt() : random.nextInt(range);
+        }
+        for (int r = 0; r < runs; r++) {
+            Arrays.sort(data, bounds[r], bounds[r + 1]);
+        }
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+        int[] sorted = IntMergeTree.sort(data, bounds, kernel, executor, parallelism, SortContext.create(),
+            SortTrace.start(SortListener.NOOP, "mergeTree", executor, Collections.emptyList()));
+        assertArrayEquals(kernel.name() + " runs " + runs + " size " + size, expected, sorted);
+    }
+
+    private static List<TwoWayMergeKernel> kernels() {
+        List<TwoWayMergeKernel> kernels = new ArrayList<>();
+        kernels.add(MergeKernels.scalar());
+        if (MergeKernels.vectorized()) {
+            kernels.add(MergeKernels.preferred());
+        }
+        return kernels;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.Test;
+
+/**
+ * IntMergerTest Description:
+ *  败者树归并、栅栏整段拷贝和按键值范围切分与参考排序的随机对照
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/20 10:10
+ * @since JDK 1.8
+ */
+public class IntMergerTest {
+
+    private static final int ROUNDS = 2000;
+
+    @Test
+    public void mergerMatchesReference() {
+        Random random = new Random(20180726L);
+        for (int round = 0; round < ROUNDS; round++) {
+            List<IntDataPartition> partitions = SortTestData.partitions(random, 9, 40);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                int[] expected = SortTestData.reference(partitions, allowDuplicate);
+                for (boolean bulkCopy : new boolean[]{false, true}) {
+                    IntMerger merger = new IntMerger(cursors(partitions), allowDuplicate, bulkCopy);
+                    assertArrayEquals("round " + round, expected, drainInChunks(merger, random, expected.length));
+                    assertTrue(merger.isExhausted());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void dataSortMatchesReference() {
+        Random random = new Random(7L);
+        DataSort dataSort = new DataSort();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<IntDataPartition> partitions = SortTestData.partitions(random, 9, 40);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                int[] expected = SortTestData.reference(partitions, allowDuplicate);
+                assertArrayEquals(expected, dataSort.dataSortInt(partitions, allowDuplicate));
+                assertArrayEquals(expected, dataSort.dataSortFence(partitions, allowDuplicate));
+                assertArrayEquals(expected, dataSort.dataSortParallel(partitions, allowDuplicate));
+            }
+        }
+    }
+
+    @Test
+    public void fenceCopiesDisjointPartitionsWhole() {
+        List<IntDataPartition> partitions = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            int[] values = new int[1000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = p * 10000 + i * 3;
+            }
+            partitions.add(new IntDataPartition(new ArrayList<>(Arrays.asList(new IntDataBlock(values)))));
+        }
+        IntMerger merger = new IntMerger(cursors(partitions), false, true);
+        int[] result = new int[4000];
+        assertEquals(4000, merger.drain(result, 0, result.length));
+        assertArrayEquals(SortTestData.reference(partitions, false), result);
+        // 每个分区只有头元素需要比较
+        assertEquals(4, merger.comparedCount());
+        assertEquals(3996, merger.copiedCount());
+    }
+
+    @Test
+    public void cursorCountBelowMatchesLinearScan() {
+        Random random = new Random(3L);
+        for (int round = 0; round < ROUNDS; round++) {
+            List<IntDataPartition> partitions = SortTestData.partitions(random, 1, 60);
+            if (partitions.isEmpty()) {
+                continue;
+            }
+            int[] expected = SortTestData.reference(partitions, true);
+            IntPartitionCursor cursor = new IntPartitionCursor(partitions.get(0));
+            int[] copied = new int[expected.length];
+            int position = 0;
+            long head;
+            while ((head = cursor.next()) != IntCursor.EXHAUSTED) {
+                assertEquals(expected[position], head);
+                copied[position++] = (int) head;
+                long bound = random.nextBoolean() ? head + random.nextInt(64) : random.nextInt();
+                int count = cursor.countBelow(bound);
+                for (int i = 0; i < count; i++) {
+                    assertTrue(expected[position + i] < bound);
+                }
+                assertTrue(position + count <= expected.length);
+                int length = random.nextInt(count + 1);
+                cursor.copyTo(copied, position, length);
+                position += length;
+            }
+            assertArrayEquals(expected, copied);
+        }
+    }
+
+    @Test
+    public void rangeMergeMatchesReference() {
+        Random random = new Random(11L);
+        for (int round = 0; round < ROUNDS; round++) {
+            List<IntDataPartition> partitions = SortTestData.partitions(random, 9, 60);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                int ranges = 1 + random.nextInt(8);
+                IntRangeMerge rangeMerge = new IntRangeMerge(partitions, ranges, allowDuplicate);
+                assertTrue(rangeMerge.ranges() <= ranges);
+                int[] result = new int[(int) rangeMerge.size()];
+                int size = 0;
+                for (int r = 0; r < rangeMerge.ranges(); r++) {
+                    int offset = (int) rangeMerge.offset(r);
+                    int written = rangeMerge.mergeRange(r, result, offset);
+                    assertTrue(written <= rangeMerge.rangeSize(r));
+                    System.arraycopy(result, offset, result, size, written);
+                    size += written;
+                }
+                assertArrayEquals("round " + round, SortTestData.reference(partitions, allowDuplicate),
+                    Arrays.copyOf(result, size));
+            }
+        }
+    }
+
+    @Test
+    public void splittersAreStrictlyIncreasing() {
+        Random random = new Random(13L);
+        for (int round = 0; round < ROUNDS; round++) {
+            List<IntPartitionFences> fences = new ArrayList<>();
+            for (IntDataPartition partition : SortTestData.partitions(random, 9, 60)) {
+                fences.add(new IntPartitionFences(partition));
+            }
+            int ranges = 1 + random.nextInt(16);
+            long[] splitters = IntRangeMerge.splitters(fences, ranges);
+            assertTrue(splitters.length <= ranges - 1);
+            for (int i = 1; i < splitters.length; i++) {
+                assertTrue(splitters[i - 1] < splitters[i]);
+            }
+        }
+    }
+
+    private static IntCursor[] cursors(List<IntDataPartition> partitions) {
+        IntCursor[] cursors = new IntCursor[partitions.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new IntPartitionCursor(partitions.get(i));
+        }
+        return cursors;
+    }
+
+    /**
+     * 以随机长度分多次输出，覆盖 drain 在输出缓冲写满时的续接
+     */
+    private static int[] drainInChunks(IntMerger merger, Random random, int size) {
+        int[] result = new int[size + 1];
+        int position = 0;
+        while (true) {
+            int length = 1 + random.nextInt(9);
+            int written = merger.drain(result, position, Math.min(length, result.length - position));
+            position += written;
+            if (written < length) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, position);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+import org.jobshen.data.metrics.SortListener;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * IntRadixSortTest Description:
+ *  基数排序与 Arrays.sort 对照：符号位所在的最后一趟、只有一个桶而跳过的趟、多段并行以及去重
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 16:20
+ * @since JDK 1.8
+ */
+public class IntRadixSortTest {
+
+    /**
+     * 超过 3 个 MIN_CHUNK_SIZE，并行度 4 时分为 3 段
+     */
+    private static final int MULTI_CHUNK_SIZE = 3 * (1 << 14) + 17;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void emptyAndSingleElement() {
+        assertSorted(new int[0], 1);
+        assertSorted(new int[0], 4);
+        assertSorted(new int[] {Integer.MIN_VALUE}, 1);
+        assertSorted(new int[] {-1}, 4);
+    }
+
+    @Test
+    public void negativeKeysSortBeforePositive() {
+        Random random = new Random(20181110L);
+        assertSorted(new int[] {0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 1, -256, 255, Integer.MIN_VALUE + 1}, 1);
+        for (int parallelism : new int[] {1, 4}) {
+            assertSorted(generate(random, 1000, i -> i), parallelism);
+            assertSorted(generate(random, MULTI_CHUNK_SIZE, i -> i), parallelism);
+            // 只有边界附近的值，最后一趟只落在 0x80、0x7F 两个桶
+            assertSorted(generate(random, MULTI_CHUNK_SIZE,
+                i -> i < 0 ? Integer.MIN_VALUE + (i & 0xFF) : Integer.MAX_VALUE - (i & 0xFF)), parallelism);
+        }
+    }
+
+    @Test
+    public void singleBucketPassesAreSkipped() {
+        Random random = new Random(20181111L);
+        for (int parallelism : new int[] {1, 4}) {
+            for (int size : new int[] {100, MULTI_CHUNK_SIZE}) {
+                // 高 16 位相同，后两趟跳过
+                assertSorted(generate(random, size, i -> 0x12340000 | i & 0xFFFF), parallelism);
+                // 全为负数且高 24 位相同，符号位所在的最后一趟跳过
+                assertSorted(generate(random, size, i -> -1 - (i & 0xFF)), parallelism);
+                // 低 16 位相同，前两趟跳过
+                assertSorted(generate(random, size, i -> i & 0xFFFF0000 | 0xAB), parallelism);
+                // 只有中间一个字节不同
+                assertSorted(generate(random, size, i -> 0x80000001 | (i & 0xFF) << 16), parallelism);
+            }
+        }
+        // 所有趟都跳过时原样返回输入数组
+        int[] equal = new int[MULTI_CHUNK_SIZE];
+        Arrays.fill(equal, -7);
+        assertSame(equal, IntRadixSort.sort(equal, executor, 4, SortContext.create(), trace()));
+        assertEquals(-7, equal[0]);
+    }
+
+    @Test
+    public void dataSortRadixMatchesReference() {
+        Random random = new Random(20181112L);
+        DataSort serial = new DataSort(executor, 1);
+        DataSort parallel = new DataSort(executor, 4);
+        for (int round = 0; round < 200; round++) {
+            List<IntDataPartition> partitions = SortTestData.partitions(random, 8, round % 20 == 0 ? 20000 : 64);
+            for (boolean allowDuplicate : new boolean[] {true, false}) {
+                int[] expected = SortTestData.reference(partitions, allowDuplicate);
+                assertArrayEquals("round " + round, expected, serial.dataSortRadix(partitions, allowDuplicate));
+                assertArrayEquals("round " + round, expected, parallel.dataSortRadix(partitions, allowDuplicate));
+            }
+        }
+        assertArrayEquals(new int[0], serial.dataSortRadix(Collections.emptyList(), false));
+    }
+
+    private void assertSorted(int[] data, int parallelism) {
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+        int[] sorted = IntRadixSort.sort(data, executor, parallelism, SortContext.create(), trace());
+        assertArrayEquals("parallelism " + parallelism, expected, sorted);
+    }
+
+    private static int[] generate(Random random, int size, IntUnaryOperator shape) {
+        int[] data = new int[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = shape.applyAsInt(random.nextInt());
+        }
+        return data;
+    }
+
+    private SortTrace trace() {
+        return SortTrace.start(SortListener.NOOP, "radix", executor, Collections.emptyList());
+    }
+}
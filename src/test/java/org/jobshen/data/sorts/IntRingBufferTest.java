@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+/**
+ * IntRingBufferTest Description:
+ *  环形缓冲在最小容量下的回绕、跨线程传递、游标归并，以及等待期间的截止时间
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/20 17:10
+ * @since JDK 1.8
+ */
+public class IntRingBufferTest {
+
+    private static final int[] CAPACITIES = {2, 4};
+
+    @Test
+    public void rejectsCapacityThatIsNotPowerOfTwo() {
+        for (int capacity : new int[]{-2, 0, 1, 3, 6}) {
+            try {
+                new IntRingBuffer(capacity);
+                fail("capacity " + capacity);
+            } catch (IllegalArgumentException e) {
+                // 预期
+            }
+        }
+    }
+
+    @Test
+    public void offerAndPollWrapAround() {
+        Random random = new Random(20181019L);
+        for (int capacity : CAPACITIES) {
+            IntRingBuffer ring = new IntRingBuffer(capacity);
+            ArrayDeque<Integer> expected = new ArrayDeque<>();
+            int next = 0;
+            int[] buffer = new int[capacity + 2];
+            // 位置远超容量，每个下标都回绕多次
+            for (int round = 0; round < 5000; round++) {
+                int length = random.nextInt(capacity + 2);
+                if (random.nextBoolean()) {
+                    for (int i = 0; i < length; i++) {
+                        buffer[1 + i] = next + i;
+                    }
+                    int n = ring.offer(buffer, 1, length);
+                    assertEquals(Math.min(length, capacity - expected.size()), n);
+                    for (int i = 0; i < n; i++) {
+                        expected.add(next++);
+                    }
+                } else {
+                    int n = ring.poll(buffer, 1, length);
+                    assertEquals(Math.min(length, expected.size()), n);
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(expected.poll().intValue(), buffer[1 + i]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void putAndTakeAcrossThreads() throws InterruptedException {
+        for (int capacity : CAPACITIES) {
+            IntRingBuffer ring = new IntRingBuffer(capacity);
+            int count = 20000;
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread producer = new Thread(() -> {
+                try {
+                    Random random = new Random(capacity);
+                    int[] chunk = new int[7];
+                    int next = 0;
+                    while (next < count) {
+                        int length = Math.min(count - next, 1 + random.nextInt(chunk.length));
+                        for (int i = 0; i < length; i++) {
+                            chunk[i] = next++;
+                        }
+                        ring.put(chunk, 0, length, SortContext.create());
+                    }
+                    ring.close();
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            producer.start();
+            int[] chunk = new int[3];
+            int expected = 0;
+            int n;
+            while ((n = ring.take(chunk, 0, chunk.length, SortContext.withTimeout(30, TimeUnit.SECONDS))) >= 0) {
+                assertTrue(n > 0);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(expected++, chunk[i]);
+                }
+            }
+            producer.join();
+            assertNull(String.valueOf(failure.get()), failure.get());
+            assertEquals(count, expected);
+            assertEquals(-1, ring.take(chunk, 0, chunk.length, SortContext.create()));
+        }
+    }
+
+    @Test
+    public void ringCursorsMergeLikeReference() throws InterruptedException {
+        Random random = new Random(20181020L);
+        for (int capacity : CAPACITIES) {
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                int[][] inputs = new int[3][];
+                IntRingBuffer[] rings = new IntRingBuffer[inputs.length];
+                IntCursor[] cursors = new IntCursor[inputs.length];
+                Thread[] producers = new Thread[inputs.length];
+                for (int s = 0; s < inputs.length; s++) {
+                    int[] values = new int[500 + random.nextInt(500)];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = random.nextInt(2000) - 1000;
+                    }
+                    Arrays.sort(values);
+                    int[] input = allowDuplicate ? values : Arrays.stream(values).distinct().toArray();
+                    IntRingBuffer ring = new IntRingBuffer(capacity);
+                    inputs[s] = input;
+                    rings[s] = ring;
+                    // 批量大于容量时每次最多取出 capacity 个
+                    cursors[s] = new IntRingCursor(ring, capacity + 1, SortContext.create());
+                    producers[s] = new Thread(() -> {
+                        ring.put(input, 0, input.length, SortContext.create());
+                        ring.close();
+                    });
+                    producers[s].start();
+                }
+                IntMerger merger = new IntMerger(cursors, allowDuplicate, allowDuplicate);
+                int[] actual = new int[Arrays.stream(inputs).mapToInt(input -> input.length).sum()];
+                int size = merger.drain(actual, 0, actual.length);
+                for (Thread producer : producers) {
+                    producer.join();
+                }
+                int[] expected = Arrays.stream(inputs).flatMapToInt(Arrays::stream).sorted().toArray();
+                if (!allowDuplicate) {
+                    expected = Arrays.stream(expected).distinct().toArray();
+                }
+                assertArrayEquals(expected, Arrays.copyOf(actual, size));
+                assertTrue(merger.isExhausted());
+            }
+        }
+    }
+
+    @Test
+    public void deadlineFiresWhileWaiting() {
+        for (int capacity : CAPACITIES) {
+            IntRingBuffer ring = new IntRingBuffer(capacity);
+            int[] values = new int[capacity + 1];
+            try {
+                ring.put(values, 0, values.length, SortContext.withTimeout(20, TimeUnit.MILLISECONDS));
+                fail("put on a full ring returned");
+            } catch (CancellationException e) {
+                assertEquals(capacity, ring.poll(values, 0, values.length));
+            }
+            try {
+                ring.take(values, 0, values.length, SortContext.withTimeout(20, TimeUnit.MILLISECONDS));
+                fail("take on an empty ring returned");
+            } catch (CancellationException e) {
+                // 预期
+            }
+        }
+    }
+}
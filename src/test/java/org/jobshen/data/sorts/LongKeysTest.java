@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * LongKeysTest Description:
+ *  复合键打包后按 long 比较的顺序与 (high, low) 字典序一致，并能还原
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 18:30
+ * @since JDK 1.8
+ */
+public class LongKeysTest {
+
+    private static final int[] EDGES = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+
+    @Test
+    public void packRoundTrips() {
+        Random random = new Random(20181122L);
+        for (int high : EDGES) {
+            for (int low : EDGES) {
+                assertRoundTrip(high, low);
+            }
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertRoundTrip(random.nextInt(), random.nextInt());
+        }
+    }
+
+    @Test
+    public void packPreservesLexicographicOrder() {
+        Random random = new Random(20181123L);
+        for (int h1 : EDGES) {
+            for (int l1 : EDGES) {
+                for (int h2 : EDGES) {
+                    for (int l2 : EDGES) {
+                        assertOrder(h1, l1, h2, l2);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < 100_000; i++) {
+            int high = random.nextInt();
+            // 一半的样本第一关键字相同，比较落在 low 上
+            assertOrder(high, random.nextInt(), random.nextBoolean() ? high : random.nextInt(), random.nextInt());
+        }
+    }
+
+    private static void assertRoundTrip(int high, int low) {
+        long key = LongKeys.pack(high, low);
+        assertEquals(high, LongKeys.high(key));
+        assertEquals(low, LongKeys.low(key));
+    }
+
+    private static void assertOrder(int h1, int l1, int h2, int l2) {
+        int expected = h1 != h2 ? Integer.compare(h1, h2) : Integer.compare(l1, l2);
+        assertEquals("(" + h1 + ", " + l1 + ") vs (" + h2 + ", " + l2 + ")",
+            Integer.signum(expected), Integer.signum(Long.compare(LongKeys.pack(h1, l1), LongKeys.pack(h2, l2))));
+    }
+}
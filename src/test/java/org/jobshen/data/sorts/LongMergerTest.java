@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jobshen.data.module.LongDataBlock;
+import org.jobshen.data.module.LongDataPartition;
+import org.junit.Test;
+
+/**
+ * LongMergerTest Description:
+ *  64 位键归并与排序后的参考结果对照：真实的 Long.MAX_VALUE 键与已耗尽游标同值、Long.MIN_VALUE 键、
+ *  分批输出时的整段拷贝，以及整段拷贝后键与载荷仍然一一对应
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 18:10
+ * @since JDK 1.8
+ */
+public class LongMergerTest {
+
+    private final DataSort dataSort = new DataSort();
+
+    @Test
+    public void maxValueKeysAreNotMistakenForExhaustedCursors() {
+        List<LongDataPartition> partitions = new ArrayList<>();
+        partitions.add(partition(new long[] {1, Long.MAX_VALUE}));
+        partitions.add(partition(new long[] {Long.MAX_VALUE}));
+        partitions.add(partition(new long[] {2}));
+        partitions.add(partition());
+        partitions.add(partition(new long[] {Long.MIN_VALUE, 0}, new long[] {Long.MAX_VALUE - 1, Long.MAX_VALUE}));
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 0, 1, 2, Long.MAX_VALUE - 1, Long.MAX_VALUE, Long.MAX_VALUE,
+            Long.MAX_VALUE}, dataSort.dataSortLong(partitions, true));
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 0, 1, 2, Long.MAX_VALUE - 1, Long.MAX_VALUE},
+            dataSort.dataSortLong(partitions, false));
+
+        // 只有 Long.MAX_VALUE 或只有 Long.MIN_VALUE 的分区
+        List<LongDataPartition> onlyMax = new ArrayList<>();
+        List<LongDataPartition> onlyMin = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            onlyMax.add(partition(new long[] {Long.MAX_VALUE}));
+            onlyMin.add(partition(new long[] {Long.MIN_VALUE}));
+        }
+        assertArrayEquals(new long[] {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE}, dataSort.dataSortLong(onlyMax, true));
+        assertArrayEquals(new long[] {Long.MAX_VALUE}, dataSort.dataSortLong(onlyMax, false));
+        assertArrayEquals(new long[] {Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE}, dataSort.dataSortLong(onlyMin, true));
+        assertArrayEquals(new long[] {Long.MIN_VALUE}, dataSort.dataSortLong(onlyMin, false));
+    }
+
+    @Test
+    public void mergesRandomPartitionsInBatches() {
+        Random random = new Random(20181120L);
+        for (int round = 0; round < 500; round++) {
+            List<LongDataPartition> partitions = partitions(random, 1 + random.nextInt(6));
+            for (boolean allowDuplicate : new boolean[] {true, false}) {
+                long[] expected = reference(partitions, allowDuplicate);
+                String message = "round " + round + " allowDuplicate " + allowDuplicate;
+                assertArrayEquals(message, expected, dataSort.dataSortLong(partitions, allowDuplicate));
+                for (boolean bulkCopy : new boolean[] {true, false}) {
+                    // 每批只取几个，整段拷贝经常被容量截断
+                    LongMerger merger = new LongMerger(cursors(partitions), allowDuplicate, bulkCopy);
+                    long[] result = new long[expected.length];
+                    int size = 0;
+                    while (size < result.length) {
+                        int written = merger.drain(result, size, Math.min(1 + random.nextInt(5), result.length - size));
+                        assertTrue(message, written > 0);
+                        size += written;
+                    }
+                    assertEquals(message, 0, merger.drain(new long[1], 0, 1));
+                    assertTrue(message, merger.isExhausted());
+                    assertArrayEquals(message + " bulkCopy " + bulkCopy, expected, result);
+                    // 每个输入元素要么经败者树比较，要么被整段拷贝
+                    assertEquals(message, reference(partitions, true).length, merger.comparedCount() + merger.copiedCount());
+                    if (!bulkCopy) {
+                        assertEquals(message, 0, merger.copiedCount());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void recordsKeepPayloadsAfterBulkCopy() {
+        Random random = new Random(20181121L);
+        long copied = 0;
+        for (int round = 0; round < 300; round++) {
+            int partitionCount = 1 + random.nextInt(6);
+            List<LongDataPartition> partitions = partitions(random, partitionCount);
+            // 载荷为记录编号，keyOf 记录每条记录的键
+            List<LongDataPartition> records = new ArrayList<>();
+            List<Long> keyOf = new ArrayList<>();
+            for (LongDataPartition partition : partitions) {
+                ArrayList<LongDataBlock> blocks = new ArrayList<>();
+                for (LongDataBlock block : partition.getDataBlocks()) {
+                    long[] payloads = new long[block.size()];
+                    for (int i = 0; i < payloads.length; i++) {
+                        payloads[i] = keyOf.size();
+                        keyOf.add(block.getKey(i));
+                    }
+                    blocks.add(new LongDataBlock(block.getKeys(), payloads));
+                }
+                records.add(new LongDataPartition(blocks));
+            }
+            for (boolean allowDuplicate : new boolean[] {true, false}) {
+                LongDataBlock result = dataSort.dataSortRecords(records, allowDuplicate);
+                String message = "round " + round + " allowDuplicate " + allowDuplicate;
+                long[] expected = reference(partitions, allowDuplicate);
+                assertArrayEquals(message, expected, Arrays.copyOf(result.getKeys(), result.size()));
+                boolean[] seen = new boolean[keyOf.size()];
+                for (int i = 0; i < result.size(); i++) {
+                    int record = (int) result.getPayload(i);
+                    assertEquals(message + " at " + i, (long) keyOf.get(record), result.getKey(i));
+                    assertTrue(message + " record output twice", !seen[record]);
+                    seen[record] = true;
+                }
+            }
+            LongMerger merger = new LongMerger(cursors(records), true, true);
+            merger.drain(new long[keyOf.size()], new long[keyOf.size()], 0, keyOf.size());
+            copied += merger.copiedCount();
+        }
+        assertTrue("bulk copy never happened", copied > 0);
+    }
+
+    /**
+     * 分区内键严格递增，数据块长度随机并夹杂空数据块；值域在窄范围、全范围和 long 边界附近之间随机选择
+     */
+    private static List<LongDataPartition> partitions(Random random, int partitionCount) {
+        int mode = random.nextInt(3);
+        List<LongDataPartition> partitions = new ArrayList<>(partitionCount);
+        for (int p = 0; p < partitionCount; p++) {
+            long[] keys = new long[random.nextInt(40)];
+            for (int i = 0; i < keys.length; i++) {
+                switch (mode) {
+                    case 0:
+                        keys[i] = random.nextInt(60) - 30;
+                        break;
+                    case 1:
+                        keys[i] = random.nextLong();
+                        break;
+                    default:
+                        int edge = random.nextInt(3);
+                        keys[i] = edge == 0 ? Long.MIN_VALUE + random.nextInt(3)
+                            : edge == 1 ? Long.MAX_VALUE - random.nextInt(3) : random.nextInt(5) - 2;
+                        break;
+                }
+            }
+            keys = Arrays.stream(keys).sorted().distinct().toArray();
+            ArrayList<LongDataBlock> blocks = new ArrayList<>();
+            int from = 0;
+            while (from < keys.length) {
+                int to = Math.min(keys.length, from + random.nextInt(10));
+                blocks.add(new LongDataBlock(Arrays.copyOfRange(keys, from, to)));
+                from = to;
+            }
+            partitions.add(new LongDataPartition(blocks));
+        }
+        return partitions;
+    }
+
+    private static long[] reference(List<LongDataPartition> partitions, boolean allowDuplicate) {
+        long[] all = partitions.stream().flatMap(p -> p.getDataBlocks().stream())
+            .flatMapToLong(b -> Arrays.stream(b.getKeys(), 0, b.size())).sorted().toArray();
+        return allowDuplicate ? all : Arrays.stream(all).distinct().toArray();
+    }
+
+    private static LongCursor[] cursors(List<LongDataPartition> partitions) {
+        LongCursor[] cursors = new LongCursor[partitions.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new LongPartitionCursor(partitions.get(i));
+        }
+        return cursors;
+    }
+
+    private static LongDataPartition partition(long[]... blocks) {
+        ArrayList<LongDataBlock> list = new ArrayList<>();
+        for (long[] block : blocks) {
+            list.add(new LongDataBlock(block));
+        }
+        return new LongDataPartition(list);
+    }
+}
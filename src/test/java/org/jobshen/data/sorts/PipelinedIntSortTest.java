@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * PipelinedIntSortTest Description:
+ *  流水线归并与 dataSortInt 对照，以及输入、输出失败和截止时间到达时的异常传递与线程回收
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/20 17:40
+ * @since JDK 1.8
+ */
+public class PipelinedIntSortTest {
+
+    private final DataSort dataSort = new DataSort();
+
+    @After
+    public void noPipelineThreadLeft() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            assertTrue(thread.getName(), !thread.getName().startsWith("data-sort-pipeline-") || !thread.isAlive());
+        }
+    }
+
+    @Test
+    public void randomPartitionsMatchDataSortInt() throws IOException {
+        Random random = new Random(20181021L);
+        for (int round = 0; round < 200; round++) {
+            List<IntDataPartition> partitions = SortTestData.partitions(random, 6, 40);
+            int capacity = 2 << random.nextInt(4);
+            PipelinedIntSort sort = new PipelinedIntSort(1 + random.nextInt(3), capacity);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                assertArrayEquals("round " + round, dataSort.dataSortInt(partitions, allowDuplicate),
+                    sort(sort, partitions, allowDuplicate));
+            }
+        }
+    }
+
+    @Test
+    public void mockProfilesMatchDataSortInt() throws IOException {
+        long seed = 20181022L;
+        for (MockProfile profile : MockProfile.values()) {
+            List<IntDataPartition> partitions = MockData.generatorIntDatas(seed++, profile, 6, 4, 2000);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                int[] expected = dataSort.dataSortInt(partitions, allowDuplicate);
+                assertArrayEquals(profile + " " + allowDuplicate, expected, sort(new PipelinedIntSort(2, 256), partitions, allowDuplicate));
+                Collector collector = new Collector();
+                assertEquals(expected.length, dataSort.dataSortPipelined(partitions, allowDuplicate, collector));
+                assertArrayEquals(profile + " " + allowDuplicate, expected, collector.toArray());
+            }
+        }
+    }
+
+    @Test
+    public void failingSinkIsRethrownOnCaller() throws IOException {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(1L, MockProfile.UNIFORM, 4, 4, 2000);
+        AtomicInteger writes = new AtomicInteger();
+        SortContext shared = SortContext.create();
+        try {
+            new PipelinedIntSort(2, 64).sort(sources(partitions), true, (buffer, offset, length) -> {
+                if (writes.incrementAndGet() == 3) {
+                    throw new IOException("sink failed");
+                }
+            }, shared);
+            fail("sink failure was swallowed");
+        } catch (IOException e) {
+            assertEquals("sink failed", e.getMessage());
+        }
+        // 失败只停止本次排序的各级，共享的上下文仍可用于其它排序
+        assertFalse(shared.isCancelled());
+        assertArrayEquals(dataSort.dataSortInt(partitions, true), sort(new PipelinedIntSort(2, 64), partitions, true, shared));
+    }
+
+    @Test
+    public void cancelledCallerContextStopsPipeline() throws IOException {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(4L, MockProfile.UNIFORM, 4, 4, 2000);
+        SortContext context = SortContext.create();
+        context.cancel();
+        try {
+            new PipelinedIntSort(2, 64).sort(sources(partitions), true, new Collector(), context);
+            fail("cancelled pipeline completed");
+        } catch (CancellationException e) {
+            // 预期
+        }
+    }
+
+    @Test
+    public void failingSourceIsRethrownOnCaller() {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(2L, MockProfile.UNIFORM, 4, 4, 2000);
+        AtomicInteger closed = new AtomicInteger();
+        List<IntSource> sources = new ArrayList<>();
+        for (IntSource source : sources(partitions)) {
+            sources.add(new IntSource() {
+                @Override
+                public int read(int[] dst, int offset, int length) throws IOException {
+                    return source.read(dst, offset, length);
+                }
+
+                @Override
+                public void close() {
+                    closed.incrementAndGet();
+                }
+            });
+        }
+        sources.set(2, new IntSource() {
+            private int reads;
+
+            @Override
+            public int read(int[] dst, int offset, int length) throws IOException {
+                if (++reads == 2) {
+                    throw new IOException("source failed");
+                }
+                dst[offset] = reads;
+                return 1;
+            }
+
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+            }
+        });
+        try {
+            new PipelinedIntSort(2, 64).sort(sources, true, new Collector(), SortContext.create());
+            fail("source failure was swallowed");
+        } catch (IOException e) {
+            assertEquals("source failed", e.getMessage());
+        }
+        assertEquals(sources.size(), closed.get());
+    }
+
+    @Test
+    public void deadlineFiresWhileMergeBlockedOnFullRing() throws IOException {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(3L, MockProfile.UNIFORM, 4, 4, 2000);
+        AtomicInteger written = new AtomicInteger();
+        // 输出方第一次写入时停住，归并线程写满输出环形缓冲后只能等待，直到截止时间到达
+        IntSink slowSink = (buffer, offset, length) -> {
+            if (written.getAndAdd(length) == 0) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        long start = System.nanoTime();
+        try {
+            new PipelinedIntSort(2, 64).sort(sources(partitions), true, slowSink, SortContext.withTimeout(50, TimeUnit.MILLISECONDS));
+            fail("deadline did not fire");
+        } catch (CancellationException e) {
+            assertTrue(written.get() < dataSort.dataSortInt(partitions, true).length);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    }
+
+    private static int[] sort(PipelinedIntSort sort, List<IntDataPartition> partitions, boolean allowDuplicate) throws IOException {
+        return sort(sort, partitions, allowDuplicate, SortContext.create());
+    }
+
+    private static int[] sort(PipelinedIntSort sort, List<IntDataPartition> partitions, boolean allowDuplicate,
+                              SortContext context) throws IOException {
+        Collector collector = new Collector();
+        long count = sort.sort(sources(partitions), allowDuplicate, collector, context);
+        int[] result = collector.toArray();
+        assertEquals(result.length, count);
+        return result;
+    }
+
+    private static List<IntSource> sources(List<IntDataPartition> partitions) {
+        List<IntSource> sources = new ArrayList<>(partitions.size());
+        for (IntDataPartition partition : partitions) {
+            sources.add(IntSource.of(partition));
+        }
+        return sources;
+    }
+
+    private static final class Collector implements IntSink {
+
+        private int[] values = new int[16];
+
+        private int size;
+
+        @Override
+        public void write(int[] buffer, int offset, int length) {
+            if (size + length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + length));
+            }
+            System.arraycopy(buffer, offset, values, size, length);
+            size += length;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
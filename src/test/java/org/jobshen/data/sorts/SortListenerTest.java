@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jobshen.data.metrics.SortListener;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.Test;
+
+/**
+ * SortListenerTest Description:
+ *  sortStarted 之后 sortCompleted 与 sortFailed 恰好回调其一
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/20 15:40
+ * @since JDK 1.8
+ */
+public class SortListenerTest {
+
+    @Test
+    public void completedSortIsReported() {
+        RecordingListener listener = new RecordingListener();
+        DataSort dataSort = new DataSort(ForkJoinPool.commonPool(), 2, listener);
+        List<IntDataPartition> partitions = SortTestData.partitions(new Random(20181018L), 6, 200);
+        dataSort.dataSortParallel(partitions, true);
+        assertEquals(1, listener.started);
+        assertEquals(1, listener.completed);
+        assertTrue(listener.failures.isEmpty());
+    }
+
+    @Test
+    public void cancelledSortIsReportedAsFailed() {
+        RecordingListener listener = new RecordingListener();
+        DataSort dataSort = new DataSort(ForkJoinPool.commonPool(), 2, listener);
+        List<IntDataPartition> partitions = SortTestData.partitions(new Random(20181018L), 6, 200);
+        SortContext context = SortContext.create();
+        context.cancel();
+        try {
+            dataSort.dataSortParallel(partitions, true, context);
+            fail("cancelled sort returned");
+        } catch (CancellationException e) {
+            assertEquals(1, listener.started);
+            assertEquals(0, listener.completed);
+            assertEquals(1, listener.failures.size());
+            assertTrue(listener.failures.get(0) == e);
+        }
+    }
+
+    private static final class RecordingListener implements SortListener {
+
+        private int started;
+
+        private int completed;
+
+        private final List<Throwable> failures = new ArrayList<>();
+
+        @Override
+        public void sortStarted(String strategy, int partitionCount, long elementCount, long maxPartitionSize, int queuedTasks) {
+            started++;
+        }
+
+        @Override
+        public void sortCompleted(String strategy, long nanos, long elementCount, long busyNanos, int parallelism) {
+            completed++;
+        }
+
+        @Override
+        public void sortFailed(String strategy, long nanos, Throwable cause) {
+            failures.add(cause);
+        }
+    }
+}
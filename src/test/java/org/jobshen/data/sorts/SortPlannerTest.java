@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.Test;
+
+/**
+ * SortPlannerTest Description:
+ *  各类分区形态下 explain 选出的执行方式，以及 dataSortAdaptive 与 dataSortInt 的对照
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 15:10
+ * @since JDK 1.8
+ */
+public class SortPlannerTest {
+
+    private final DataSort dataSort = new DataSort(ForkJoinPool.commonPool(), 1);
+
+    /**
+     * 拼接不做去重，依赖分区互不相交且分区内严格递增
+     */
+    @Test
+    public void disjointPartitionsAreConcatenated() {
+        List<IntDataPartition> partitions = new ArrayList<>();
+        partitions.add(partition(new int[] {300, 301}, new int[0], new int[] {350, Integer.MAX_VALUE}));
+        partitions.add(partition());
+        partitions.add(partition(new int[] {Integer.MIN_VALUE, -5}, new int[] {-4, 0, 99}));
+        partitions.add(partition(new int[] {100, 200}));
+        assertPlan(partitions, SortStrategy.CONCAT);
+        assertPlan(partitions.subList(0, 1), SortStrategy.CONCAT);
+        assertPlan(new ArrayList<>(), SortStrategy.CONCAT);
+    }
+
+    @Test
+    public void touchingPartitionsAreNotConcatenated() {
+        // 两个分区只共享键 10，拼接会漏掉去重，相交的数据块很少
+        int[] head = new int[100];
+        int[] tail = new int[100];
+        for (int i = 0; i < head.length; i++) {
+            head[i] = i - 100;
+            tail[i] = i + 30;
+        }
+        List<IntDataPartition> partitions = Arrays.asList(partition(head, new int[] {1, 10}),
+            partition(new int[] {10, 20}, tail));
+        assertPlan(partitions, SortStrategy.FENCE_MERGE);
+    }
+
+    @Test
+    public void heavyOverlapUsesRadixOrMergeTree() {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(20181105L, MockProfile.HEAVY_OVERLAP, 12, 4, 2000);
+        SortPlan plan = dataSort.explain(partitions, false);
+        assertEquals(MergeKernels.vectorized() ? SortStrategy.MERGE_TREE : SortStrategy.RADIX, plan.getStrategy());
+        assertAdaptiveMatches(partitions);
+    }
+
+    @Test
+    public void moderateOverlapUsesLoserTree() {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(20181106L, 4, 4, 500, 0.7, 0.0);
+        assertPlan(partitions, SortStrategy.LOSER_TREE_MERGE);
+    }
+
+    @Test
+    public void lowOverlapUsesFenceMerge() {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(20181107L, MockProfile.MOSTLY_DISJOINT, 6, 4, 500);
+        assertPlan(partitions, SortStrategy.FENCE_MERGE);
+    }
+
+    @Test
+    public void largeInputWithThreadsUsesParallelRangeMerge() {
+        DataSort parallel = new DataSort(ForkJoinPool.commonPool(), 4);
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(20181108L, 4, 8, 40_000, 0.5, 0.0);
+        assertEquals(SortStrategy.PARALLEL_RANGE_MERGE, parallel.explain(partitions, true).getStrategy());
+        for (boolean allowDuplicate : new boolean[]{true, false}) {
+            assertArrayEquals(dataSort.dataSortInt(partitions, allowDuplicate), parallel.dataSortAdaptive(partitions, allowDuplicate));
+        }
+    }
+
+    @Test
+    public void explainReportsStatistics() {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(20181109L, MockProfile.HEAVY_DUPLICATE, 6, 4, 1000);
+        SortPlan plan = dataSort.explain(partitions, false);
+        String text = plan.explain();
+        assertTrue(text, text.startsWith(plan.getStrategy().name()));
+        assertTrue(text, text.contains("reason: " + plan.getReason()));
+        assertTrue(text, text.contains("partitions=6"));
+        assertTrue(text, text.contains("allowDuplicate=false"));
+        // 采样估计与实际去重比例相近
+        double actual = 1 - (double) dataSort.dataSortInt(partitions, false).length / plan.getStatistics().getTotalSize();
+        assertEquals(actual, plan.getStatistics().getDuplicateRatio(), 0.15);
+        assertEquals(0, dataSort.explain(MockData.generatorIntDatas(1L, MockProfile.MOSTLY_DISJOINT, 1, 4, 100), false)
+            .getStatistics().getDuplicateRatio(), 0);
+    }
+
+    private void assertPlan(List<IntDataPartition> partitions, SortStrategy strategy) {
+        for (boolean allowDuplicate : new boolean[]{true, false}) {
+            assertEquals(strategy, dataSort.explain(partitions, allowDuplicate).getStrategy());
+        }
+        assertAdaptiveMatches(partitions);
+    }
+
+    private void assertAdaptiveMatches(List<IntDataPartition> partitions) {
+        for (boolean allowDuplicate : new boolean[]{true, false}) {
+            assertArrayEquals("allowDuplicate " + allowDuplicate, dataSort.dataSortInt(partitions, allowDuplicate),
+                dataSort.dataSortAdaptive(partitions, allowDuplicate));
+        }
+    }
+
+    private static IntDataPartition partition(int[]... blocks) {
+        ArrayList<IntDataBlock> list = new ArrayList<>();
+        for (int[] block : blocks) {
+            list.add(new IntDataBlock(block));
+        }
+        return new IntDataPartition(list);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.jobshen.data.module.IntDataBlock;
+import org.jobshen.data.module.IntDataPartition;
+
+/**
+ * SortTestData Description:
+ *  排序测试的随机分区与参考结果
+ *  分区内严格递增，分区之间可以重复；包含空分区、空数据块以及 Integer.MIN_VALUE/MAX_VALUE 键
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/20 10:00
+ * @since JDK 1.8
+ */
+final class SortTestData {
+
+    private SortTestData() {
+    }
+
+    /**
+     * @param random 随机数
+     * @param maxPartitions 最多分区个数
+     * @param maxElements 每个分区最多元素个数
+     * @return 随机分区，值域在窄范围、宽范围和边界值之间随机选择
+     */
+    static List<IntDataPartition> partitions(Random random, int maxPartitions, int maxElements) {
+        int partitionCount = random.nextInt(maxPartitions + 1);
+        int mode = random.nextInt(3);
+        List<IntDataPartition> partitions = new ArrayList<>(partitionCount);
+        for (int p = 0; p < partitionCount; p++) {
+            int[] values = new int[random.nextInt(maxElements + 1)];
+            for (int i = 0; i < values.length; i++) {
+                switch (mode) {
+                    case 0:
+                        // 窄值域，分区之间大量重复
+                        values[i] = random.nextInt(maxElements + 1) - maxElements / 2;
+                        break;
+                    case 1:
+                        values[i] = random.nextInt();
+                        break;
+                    default:
+                        int edge = random.nextInt(4);
+                        values[i] = edge == 0 ? Integer.MIN_VALUE + random.nextInt(3)
+                            : edge == 1 ? Integer.MAX_VALUE - random.nextInt(3) : random.nextInt(7) - 3;
+                        break;
+                }
+            }
+            partitions.add(split(random, distinct(values)));
+        }
+        return partitions;
+    }
+
+    /**
+     * 有序数组随机切分为数据块，其中夹杂空数据块
+     */
+    static IntDataPartition split(Random random, int[] sorted) {
+        ArrayList<IntDataBlock> blocks = new ArrayList<>();
+        int from = 0;
+        while (from < sorted.length || random.nextInt(4) == 0) {
+            int to = Math.min(sorted.length, from + random.nextInt(8));
+            blocks.add(new IntDataBlock(Arrays.copyOfRange(sorted, from, to)));
+            from = to;
+            if (from == sorted.length && random.nextBoolean()) {
+                break;
+            }
+        }
+        return new IntDataPartition(blocks);
+    }
+
+    /**
+     * @return 所有分区元素排序后的结果，不允许重复时去重
+     */
+    static int[] reference(List<IntDataPartition> partitions, boolean allowDuplicate) {
+        int size = 0;
+        for (IntDataPartition partition : partitions) {
+            size += (int) partition.size();
+        }
+        int[] all = new int[size];
+        int position = 0;
+        for (IntDataPartition partition : partitions) {
+            for (IntDataBlock block : partition.getDataBlocks()) {
+                block.copyTo(0, all, position, block.size());
+                position += block.size();
+            }
+        }
+        Arrays.sort(all);
+        return allowDuplicate ? all : distinct(all);
+    }
+
+    private static int[] distinct(int[] values) {
+        return Arrays.stream(values).sorted().distinct().toArray();
+    }
+}
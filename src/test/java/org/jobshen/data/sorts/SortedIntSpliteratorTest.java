@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.jobshen.data.data.MockData;
+import org.jobshen.data.data.MockProfile;
+import org.jobshen.data.module.IntDataPartition;
+import org.junit.Test;
+
+/**
+ * SortedIntSpliteratorTest Description:
+ *  惰性迭代器、Spliterator 切分以及并行流与串行归并的对照
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 09:30
+ * @since JDK 1.8
+ */
+public class SortedIntSpliteratorTest {
+
+    private final DataSort dataSort = new DataSort();
+
+    @Test
+    public void iteratorMatchesDataSortInt() {
+        Random random = new Random(20181023L);
+        for (int round = 0; round < 500; round++) {
+            List<IntDataPartition> partitions = SortTestData.partitions(random, 7, 60);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                PrimitiveIterator.OfInt iterator = dataSort.dataSortIterator(partitions, allowDuplicate);
+                int[] actual = StreamSupport.intStream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false).toArray();
+                assertArrayEquals("round " + round, dataSort.dataSortInt(partitions, allowDuplicate), actual);
+            }
+        }
+    }
+
+    @Test
+    public void splitsAreNonEmptyAndOrdered() {
+        long seed = 20181024L;
+        for (MockProfile profile : MockProfile.values()) {
+            List<IntDataPartition> partitions = MockData.generatorIntDatas(seed++, profile, 5, 6, 3000);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                List<Spliterator.OfInt> leaves = new ArrayList<>();
+                split(dataSort.dataSortSpliterator(partitions, allowDuplicate), allowDuplicate, 0, leaves);
+                assertTrue(profile + " was not split", leaves.size() > 1);
+                int[] joined = new int[0];
+                for (Spliterator.OfInt leaf : leaves) {
+                    long estimate = leaf.estimateSize();
+                    int[] values = StreamSupport.intStream(leaf, false).toArray();
+                    assertTrue(profile + " empty split", values.length > 0);
+                    if (allowDuplicate) {
+                        assertEquals(estimate, values.length);
+                    } else {
+                        assertTrue(estimate >= values.length);
+                    }
+                    // 相等元素总落在同一侧，前后两段首尾不会重复
+                    if (joined.length > 0) {
+                        assertTrue(joined[joined.length - 1] < values[0]);
+                    }
+                    int size = joined.length;
+                    joined = Arrays.copyOf(joined, size + values.length);
+                    System.arraycopy(values, 0, joined, size, values.length);
+                }
+                assertArrayEquals(profile + " " + allowDuplicate, dataSort.dataSortInt(partitions, allowDuplicate), joined);
+            }
+        }
+    }
+
+    @Test
+    public void characteristicsFollowAllowDuplicate() {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(1L, MockProfile.HEAVY_DUPLICATE, 3, 2, 100);
+        Spliterator.OfInt withDuplicates = dataSort.dataSortSpliterator(partitions, true);
+        assertTrue(withDuplicates.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED));
+        assertTrue(!withDuplicates.hasCharacteristics(Spliterator.DISTINCT));
+        Spliterator.OfInt distinct = dataSort.dataSortSpliterator(partitions, false);
+        assertTrue(distinct.hasCharacteristics(Spliterator.DISTINCT | Spliterator.SORTED));
+        assertTrue(!distinct.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(!distinct.hasCharacteristics(Spliterator.SUBSIZED));
+    }
+
+    @Test
+    public void noSplitAfterTraversalStarts() {
+        List<IntDataPartition> partitions = MockData.generatorIntDatas(2L, MockProfile.UNIFORM, 4, 4, 3000);
+        Spliterator.OfInt spliterator = dataSort.dataSortSpliterator(partitions, true);
+        assertNotNull(spliterator.trySplit());
+        assertTrue(spliterator.tryAdvance((int value) -> { }));
+        assertNull(spliterator.trySplit());
+    }
+
+    @Test
+    public void parallelStreamMatchesSerialMerge() {
+        Random random = new Random(20181025L);
+        long seed = 20181026L;
+        for (MockProfile profile : MockProfile.values()) {
+            List<IntDataPartition> partitions = MockData.generatorIntDatas(seed++, profile, 6, 5, 4000);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                int[] expected = dataSort.dataSortInt(partitions, allowDuplicate);
+                assertArrayEquals(profile + " " + allowDuplicate, expected,
+                    dataSort.dataSortStream(partitions, allowDuplicate).parallel().toArray());
+                assertEquals(expected.length, dataSort.dataSortStream(partitions, allowDuplicate).parallel().count());
+            }
+        }
+        for (int round = 0; round < 200; round++) {
+            List<IntDataPartition> partitions = SortTestData.partitions(random, 6, 40);
+            for (boolean allowDuplicate : new boolean[]{true, false}) {
+                IntStream stream = dataSort.dataSortStream(partitions, allowDuplicate).parallel();
+                assertArrayEquals("round " + round, SortTestData.reference(partitions, allowDuplicate), stream.toArray());
+            }
+        }
+    }
+
+    private static void split(Spliterator.OfInt spliterator, boolean allowDuplicate, int depth, List<Spliterator.OfInt> leaves) {
+        Spliterator.OfInt prefix = depth < 6 ? spliterator.trySplit() : null;
+        if (prefix == null) {
+            leaves.add(spliterator);
+            return;
+        }
+        if (allowDuplicate) {
+            assertTrue(prefix.hasCharacteristics(Spliterator.SIZED));
+        }
+        split(prefix, allowDuplicate, depth + 1, leaves);
+        split(spliterator, allowDuplicate, depth + 1, leaves);
+    }
+}
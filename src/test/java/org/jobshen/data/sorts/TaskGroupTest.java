@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * TaskGroupTest Description:
+ *  任务失败只影响本组任务，不取消调用方共享的 SortContext
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 11:40
+ * @since JDK 1.8
+ */
+public class TaskGroupTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void runsEveryTaskOnce() {
+        int[] runs = new int[1000];
+        TaskGroup.run(executor, 4, runs.length, i -> runs[i]++, SortContext.create());
+        for (int run : runs) {
+            assertEquals(1, run);
+        }
+    }
+
+    @Test
+    public void failureSkipsRemainingTasksWithoutCancellingSharedContext() {
+        SortContext shared = SortContext.create();
+        AtomicInteger executed = new AtomicInteger();
+        try {
+            // 只有调用线程执行，失败之后的任务都应跳过
+            TaskGroup.run(executor, 1, 100, i -> {
+                executed.incrementAndGet();
+                if (i == 10) {
+                    throw new IllegalStateException("task failed");
+                }
+            }, shared);
+            fail("task failure was swallowed");
+        } catch (IllegalStateException e) {
+            assertEquals("task failed", e.getMessage());
+        }
+        assertEquals(11, executed.get());
+        assertFalse(shared.isCancelled());
+        // 同一个 context 上的下一次排序不受影响
+        TaskGroup.run(executor, 3, 100, i -> executed.incrementAndGet(), shared);
+        assertEquals(111, executed.get());
+    }
+
+    @Test
+    public void cancelledContextStopsTasks() {
+        SortContext context = SortContext.create();
+        context.cancel();
+        AtomicInteger executed = new AtomicInteger();
+        try {
+            TaskGroup.run(executor, 3, 100, i -> executed.incrementAndGet(), context);
+            fail("cancelled group completed");
+        } catch (CancellationException e) {
+            assertEquals(0, executed.get());
+        }
+    }
+
+    @Test
+    public void interruptedCallerDoesNotCancelSharedContext() throws InterruptedException {
+        SortContext shared = SortContext.create();
+        Thread caller = Thread.currentThread();
+        // 帮手线程执行的任务阻塞到调用线程被中断，调用线程做完其余任务后在等待中收到中断
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            TaskGroup.run(single, 2, 2, i -> {
+                if (Thread.currentThread() != caller) {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                } else {
+                    caller.interrupt();
+                }
+            }, shared);
+            fail("interrupted group completed");
+        } catch (CancellationException e) {
+            assertEquals("sort interrupted", e.getMessage());
+            assertFalse(shared.isCancelled());
+        } finally {
+            Thread.interrupted();
+            single.shutdownNow();
+            single.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018 the original author or authors.
+ *   National Electronics and Computer Technology Center, Thailand
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jobshen.data.sorts;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * TwoWayMergeKernelTest Description:
+ *  标量内核与当前可用的向量内核（以 vector profile 运行测试时）对照 Arrays.sort：
+ *  奇数长度、空输入、不足一个向量的输入、Integer.MIN_VALUE/MAX_VALUE，以及目标区间之外不被写入
+ *
+ * @author <a href="mailto:kitdnie@gmail.com">Job Shen</a>
+ * @version 1.0
+ * @date 2026/10/21 17:05
+ * @since JDK 1.8
+ */
+public class TwoWayMergeKernelTest {
+
+    private static final int SENTINEL = 0x5EEDBEEF;
+
+    private static final int[] LENGTHS = {0, 1, 2, 3, 7, 8, 9, 15, 16, 17, 31, 33, 63, 64, 65, 127, 1000, 1001};
+
+    @Test
+    public void mergesAllLengthCombinations() {
+        Random random = new Random(20181113L);
+        for (TwoWayMergeKernel kernel : kernels()) {
+            for (int aLength : LENGTHS) {
+                for (int bLength : LENGTHS) {
+                    for (int mode = 0; mode < 3; mode++) {
+                        assertMerge(kernel, random, sorted(random, aLength, mode), sorted(random, bLength, mode));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void mergesRandomLengths() {
+        Random random = new Random(20181114L);
+        for (TwoWayMergeKernel kernel : kernels()) {
+            for (int round = 0; round < 2000; round++) {
+                int mode = random.nextInt(3);
+                assertMerge(kernel, random, sorted(random, random.nextInt(200), mode), sorted(random, random.nextInt(200), mode));
+            }
+        }
+    }
+
+    @Test
+    public void mergesAdjacentRangesOfOneArray() {
+        // 归并树中两段输入来自同一个数组
+        Random random = new Random(20181115L);
+        for (TwoWayMergeKernel kernel : kernels()) {
+            for (int round = 0; round < 500; round++) {
+                int[] a = sorted(random, random.nextInt(100), round % 3);
+                int[] b = sorted(random, random.nextInt(100), round % 3);
+                int[] data = new int[a.length + b.length + 2];
+                data[0] = SENTINEL;
+                System.arraycopy(a, 0, data, 1, a.length);
+                System.arraycopy(b, 0, data, 1 + a.length, b.length);
+                data[data.length - 1] = SENTINEL;
+                int[] dst = new int[data.length];
+                Arrays.fill(dst, SENTINEL);
+                kernel.merge(data, 1, 1 + a.length, data, 1 + a.length, data.length - 1, dst, 1);
+                int[] expected = Arrays.copyOfRange(data, 1, data.length - 1);
+                Arrays.sort(expected);
+                assertArrayEquals(kernel.name(), expected, Arrays.copyOfRange(dst, 1, dst.length - 1));
+                assertEquals(kernel.name(), SENTINEL, dst[0]);
+                assertEquals(kernel.name(), SENTINEL, dst[dst.length - 1]);
+            }
+        }
+    }
+
+    private static void assertMerge(TwoWayMergeKernel kernel, Random random, int[] a, int[] b) {
+        int aFrom = random.nextInt(3);
+        int bFrom = random.nextInt(3);
+        int dstFrom = random.nextInt(3);
+        int[] aPadded = pad(a, aFrom, random.nextInt(3));
+        int[] bPadded = pad(b, bFrom, random.nextInt(3));
+        int n = a.length + b.length;
+        int[] dst = new int[dstFrom + n + random.nextInt(3)];
+        Arrays.fill(dst, SENTINEL);
+        kernel.merge(aPadded, aFrom, aFrom + a.length, bPadded, bFrom, bFrom + b.length, dst, dstFrom);
+
+        int[] expected = Arrays.copyOf(a, n);
+        System.arraycopy(b, 0, expected, a.length, b.length);
+        Arrays.sort(expected);
+        String message = kernel.name() + " " + a.length + "+" + b.length;
+        assertArrayEquals(message, expected, Arrays.copyOfRange(dst, dstFrom, dstFrom + n));
+        for (int i = 0; i < dst.length; i++) {
+            if (i < dstFrom || i >= dstFrom + n) {
+                assertEquals(message + " wrote outside at " + i, SENTINEL, dst[i]);
+            }
+        }
+    }
+
+    /**
+     * 前后填充与输入交错的值，越界读取会破坏结果
+     */
+    private static int[] pad(int[] values, int before, int after) {
+        int[] padded = new int[before + values.length + after];
+        Arrays.fill(padded, Integer.MIN_VALUE);
+        System.arraycopy(values, 0, padded, before, values.length);
+        return padded;
+    }
+
+    /**
+     * @param mode 0 窄值域大量重复，1 全值域，2 只有边界附近的值
+     */
+    private static int[] sorted(Random random, int length, int mode) {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            switch (mode) {
+                case 0:
+                    values[i] = random.nextInt(16) - 8;
+                    break;
+                case 1:
+                    values[i] = random.nextInt();
+                    break;
+                default:
+                    int edge = random.nextInt(3);
+                    values[i] = edge == 0 ? Integer.MIN_VALUE + random.nextInt(2)
+                        : edge == 1 ? Integer.MAX_VALUE - random.nextInt(2) : random.nextInt(3) - 1;
+                    break;
+            }
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static List<TwoWayMergeKernel> kernels() {
+        List<TwoWayMergeKernel> kernels = new ArrayList<>();
+        kernels.add(MergeKernels.scalar());
+        if (MergeKernels.vectorized()) {
+            kernels.add(MergeKernels.preferred());
+        }
+        return kernels;
+    }
+}